@@ -0,0 +1,38 @@
+package com.impressiveinteractive.synapse.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the regular JMH command line options, but always adds the
+ * {@link GCProfiler}, so every result comes with allocation rates and GC counts. Example:
+ * <pre>
+ * mvn -pl synapse-benchmarks -am package
+ * java -jar synapse-benchmarks/target/benchmarks.jar ExceptionalMessageBenchmark
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Run the benchmarks selected by the given JMH command line options.
+     *
+     * @param args JMH command line options.
+     * @throws CommandLineOptionException When the given options could not be parsed.
+     * @throws RunnerException            When the benchmarks could not be run.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.impressiveinteractive.synapse.benchmark;
+
+import com.impressiveinteractive.synapse.test.ChainableMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.impressiveinteractive.synapse.test.ChainableMatcher.ofType;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Measures {@link ChainableMatcher#matches(Object)} for a matching and a mismatching object, as well as building the
+ * matcher itself (which describes the given method references).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChainableMatcherBenchmark {
+
+    private final Person steve = new Person("Steve", "Jones", 43);
+    private final Person stella = new Person("Stella", "Jones", 43);
+    private final ChainableMatcher<Person> matcher = create();
+
+    @Benchmark
+    public ChainableMatcher<Person> create() {
+        return ofType(Person.class)
+                .where(Person::getFirstName, is("Steve"))
+                .where(Person::getSurName, is("Jones"))
+                .where(Person::getAge, is(43));
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return matcher.matches(steve);
+    }
+
+    @Benchmark
+    public boolean matches_mismatch() {
+        return matcher.matches(stella);
+    }
+
+    public static final class Person {
+        private final String firstName;
+        private final String surName;
+        private final int age;
+
+        private Person(String firstName, String surName, int age) {
+            this.firstName = firstName;
+            this.surName = surName;
+            this.age = age;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getSurName() {
+            return surName;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.impressiveinteractive.synapse.benchmark;
+
+import com.impressiveinteractive.synapse.exception.ExceptionalMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ExceptionalMessage#parse(String, Object...)} for short and long formats with a varying amount of
+ * arguments, with and without a trailing {@link Throwable}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionalMessageBenchmark {
+
+    private static final String SHORT_LITERAL = "Value ";
+    private static final String LONG_LITERAL = "Location for consumer could not be updated, because the value ";
+
+    @Param({"short", "long"})
+    public String size;
+
+    @Param({"0", "1", "3", "6"})
+    public int argCount;
+
+    private String format;
+    private Object[] args;
+    private Object[] argsWithCause;
+
+    @Setup
+    public void setUp() {
+        String literal = "short".equals(size) ? SHORT_LITERAL : LONG_LITERAL;
+        StringBuilder formatBuilder = new StringBuilder(literal);
+        args = new Object[argCount];
+        for (int i = 0; i < argCount; i++) {
+            formatBuilder.append("{} ").append(literal);
+            args[i] = "argument" + i;
+        }
+        format = formatBuilder.toString();
+        argsWithCause = new Object[argCount + 1];
+        System.arraycopy(args, 0, argsWithCause, 0, argCount);
+        argsWithCause[argCount] = new IllegalStateException("cause");
+    }
+
+    @Benchmark
+    public ExceptionalMessage parse() {
+        return ExceptionalMessage.parse(format, args);
+    }
+
+    @Benchmark
+    public ExceptionalMessage parse_withThrowable() {
+        return ExceptionalMessage.parse(format, argsWithCause);
+    }
+}
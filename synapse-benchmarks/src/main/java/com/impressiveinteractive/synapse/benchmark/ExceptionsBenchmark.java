@@ -0,0 +1,404 @@
+package com.impressiveinteractive.synapse.benchmark;
+
+import com.impressiveinteractive.synapse.exception.BreakerSpec;
+import com.impressiveinteractive.synapse.exception.CacheSpec;
+import com.impressiveinteractive.synapse.exception.CircuitBreaker;
+import com.impressiveinteractive.synapse.exception.CircuitOpenException;
+import com.impressiveinteractive.synapse.exception.ExceptionalCache;
+import com.impressiveinteractive.synapse.exception.ExceptionalFunction;
+import com.impressiveinteractive.synapse.exception.ExceptionalStream;
+import com.impressiveinteractive.synapse.exception.ExceptionalSupplier;
+import com.impressiveinteractive.synapse.exception.Exceptions;
+import com.impressiveinteractive.synapse.exception.Result;
+import com.impressiveinteractive.synapse.exception.runtime.RuntimeIOException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedIOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Measures exception formatting through {@link Exceptions#format} and {@link Exceptions#formatMessage} and the cost of
+ * the {@code Exceptions.wrapExceptional*} wrappers inside streams, both when nothing fails and when every element
+ * fails. Failures are wrapped in new exceptions, in {@link Exceptions#sharedWrapper shared} exceptions and in the
+ * {@link Exceptions#unchecked registered} wrapper for their type. The primitive specializations are compared against
+ * their boxed equivalent, and failing elements are captured in a {@link Result} instead of aborting the stream.
+ * Wrapping and unwrapping is compared against an {@link ExceptionalStream} and against rethrowing the original
+ * exception through {@link Exceptions#sneakyFunction}. Failing parallel streams are compared against
+ * {@link Exceptions#parallelForEach}. Blocking calls on a parallel stream are compared against
+ * {@link Exceptions#parallelMap}. A failing {@link CompletableFuture} chain with nested wrappers is compared against
+ * {@link Exceptions#thenApplyExceptional}. Reading a {@link Exceptions#memoize memoized} value is compared against a
+ * synchronized lazy initialization, and a bounded {@link Exceptions#cached cache} is compared against an unbounded
+ * {@link ConcurrentHashMap}. Calls through a closed {@link Exceptions#circuitBreaker circuit breaker} are compared
+ * against direct calls, and failing fast on an open breaker against calls that fail. So are calls through a
+ * {@link Exceptions#bulkhead bulkhead}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionsBenchmark {
+
+    private static final int STREAM_SIZE = 100;
+    private static final long BLOCKING_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final IOException cause = new IOException("Disk on fire.");
+    private final ExceptionalSupplier<String, IOException> memoized = Exceptions.memoize(() -> transform("value"));
+    private String synchronizedValue;
+    private final ExceptionalCache<String, String, IOException> cache =
+            Exceptions.cached(ExceptionsBenchmark::transform, CacheSpec.defaults().maximumSize(STREAM_SIZE * 2));
+    private final Map<String, String> map = new ConcurrentHashMap<>();
+    private final CircuitBreaker<String, String, IOException> closedBreaker =
+            Exceptions.circuitBreaker(ExceptionsBenchmark::transform, BreakerSpec.defaults());
+    private final CircuitBreaker<String, String, IOException> openBreaker =
+            Exceptions.circuitBreaker(ExceptionsBenchmark::fail, BreakerSpec.defaults().openFor(Duration.ofDays(1)));
+    private final ExceptionalFunction<String, String, IOException> bulkhead =
+            Exceptions.bulkhead(ExceptionsBenchmark::transform, 64, Duration.ZERO);
+    private final List<String> values = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < STREAM_SIZE; i++) {
+            values.add("value" + i);
+        }
+        for (String value : values) {
+            try {
+                openBreaker.apply(value);
+            } catch (IOException | CircuitOpenException e) {
+                // Opening the breaker.
+            }
+        }
+    }
+
+    @Benchmark
+    public IOException format_withoutCause() {
+        return Exceptions.format(IOException::new, "Could not read {} from {}.", "file.txt", "/tmp");
+    }
+
+    @Benchmark
+    public IOException format_withCause() {
+        return Exceptions.format(IOException::new, "Could not read {} from {}.", "file.txt", "/tmp", cause);
+    }
+
+    @Benchmark
+    public IOException formatMessage() {
+        return Exceptions.formatMessage(IOException::new, "Could not read {} from {}.", "file.txt", "/tmp");
+    }
+
+    @Benchmark
+    public void baseline_stream(Blackhole blackhole) {
+        values.stream()
+                .map(ExceptionsBenchmark::transformUnchecked)
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void wrapExceptionalFunction_stream(Blackhole blackhole) {
+        values.stream()
+                .map(Exceptions.wrapExceptionalFunction(ExceptionsBenchmark::transform, RuntimeIOException::new))
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void wrapExceptionalFunction_streamAndUnwrapped(Blackhole blackhole) throws IOException {
+        try {
+            values.stream()
+                    .map(Exceptions.wrapExceptionalFunction(ExceptionsBenchmark::transform, WrappedIOException::new))
+                    .filter(Exceptions.wrapExceptionalPredicate(ExceptionsBenchmark::accept, WrappedIOException::new))
+                    .forEach(blackhole::consume);
+        } catch (WrappedIOException e) {
+            e.unwrap();
+        }
+    }
+
+    @Benchmark
+    public void exceptionalStream(Blackhole blackhole) throws IOException {
+        ExceptionalStream.of(values, IOException.class)
+                .map(ExceptionsBenchmark::transform)
+                .filter(ExceptionsBenchmark::accept)
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void wrapExceptionalConsumer_stream(Blackhole blackhole) {
+        values.stream()
+                .forEach(Exceptions.wrapExceptionalConsumer(blackhole::consume, RuntimeIOException::new));
+    }
+
+    @Benchmark
+    public void wrapExceptionalSupplier_stream(Blackhole blackhole) {
+        Stream.generate(Exceptions.wrapExceptionalSupplier(() -> "value", RuntimeIOException::new))
+                .limit(STREAM_SIZE)
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public long wrapExceptionalFunction_boxedIntStream() {
+        return IntStream.range(0, STREAM_SIZE)
+                .boxed()
+                .map(Exceptions.wrapExceptionalFunction(ExceptionsBenchmark::increment, RuntimeIOException::new))
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    @Benchmark
+    public long wrapExceptionalIntUnaryOperator_intStream() {
+        return IntStream.range(0, STREAM_SIZE)
+                .map(Exceptions.wrapExceptionalIntUnaryOperator(ExceptionsBenchmark::increment,
+                        RuntimeIOException::new))
+                .asLongStream()
+                .sum();
+    }
+
+    @Benchmark
+    public void wrapExceptionalFunction_failing(Blackhole blackhole) {
+        for (String value : values) {
+            try {
+                blackhole.consume(Exceptions.wrapExceptionalFunction(ExceptionsBenchmark::fail, RuntimeIOException::new)
+                        .apply(value));
+            } catch (RuntimeIOException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void wrapExceptionalFunction_failingShared(Blackhole blackhole) {
+        for (String value : values) {
+            try {
+                blackhole.consume(Exceptions.wrapExceptionalFunction(ExceptionsBenchmark::fail,
+                        Exceptions.sharedWrapper(RuntimeIOException.class, "No match.")).apply(value));
+            } catch (RuntimeIOException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void unchecked_failing(Blackhole blackhole) {
+        for (String value : values) {
+            try {
+                blackhole.consume(Exceptions.unchecked(ExceptionsBenchmark::fail).apply(value));
+            } catch (WrappedIOException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void sneakyFunction_failing(Blackhole blackhole) {
+        for (String value : values) {
+            try {
+                Exceptions.rethrowAs(IOException.class);
+                blackhole.consume(Exceptions.sneakyFunction(ExceptionsBenchmark::fail).apply(value));
+            } catch (IOException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object parallelStream_failingAndUnwrapped() {
+        try {
+            values.parallelStream().forEach(Exceptions.wrapExceptionalConsumer(ExceptionsBenchmark::failConsumer,
+                    WrappedIOException::new));
+            return null;
+        } catch (WrappedIOException e) {
+            return e.getCause();
+        }
+    }
+
+    @Benchmark
+    public Object parallelForEach_failing() {
+        try {
+            Exceptions.parallelForEach(values.stream(), ExceptionsBenchmark::failConsumer);
+            return null;
+        } catch (IOException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object parallelStream_blocking() {
+        return values.parallelStream()
+                .map(Exceptions.wrapExceptionalFunction(ExceptionsBenchmark::block, WrappedIOException::new))
+                .collect(toList());
+    }
+
+    @Benchmark
+    public Object parallelMap_blocking() throws IOException, InterruptedException {
+        return Exceptions.parallelMap(values, ExceptionsBenchmark::block, 32);
+    }
+
+    @Benchmark
+    public Object completableFuture_failingAndUnwrapped() {
+        try {
+            return CompletableFuture.completedFuture("value")
+                    .thenApply(Exceptions.wrapExceptionalFunction(ExceptionsBenchmark::fail, WrappedIOException::new))
+                    .thenApply(Exceptions.wrapExceptionalFunction(ExceptionsBenchmark::transform,
+                            WrappedIOException::new))
+                    .join();
+        } catch (CompletionException e) {
+            return e.getCause().getCause();
+        }
+    }
+
+    @Benchmark
+    public Object thenApplyExceptional_failing() {
+        try {
+            CompletableFuture<String> failed = Exceptions.thenApplyExceptional(
+                    CompletableFuture.completedFuture("value"), ExceptionsBenchmark::fail);
+            return Exceptions.join(Exceptions.thenApplyExceptional(failed, ExceptionsBenchmark::transform),
+                    IOException.class);
+        } catch (IOException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public synchronized String synchronizedLazy_get() throws IOException {
+        if (synchronizedValue == null) {
+            synchronizedValue = transform("value");
+        }
+        return synchronizedValue;
+    }
+
+    @Benchmark
+    public String memoize_get() throws IOException {
+        return memoized.get();
+    }
+
+    @Benchmark
+    public void concurrentHashMap_hits(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(map.computeIfAbsent(value, ExceptionsBenchmark::transformUnchecked));
+        }
+    }
+
+    @Benchmark
+    public void cached_hits(Blackhole blackhole) throws IOException {
+        for (String value : values) {
+            blackhole.consume(cache.apply(value));
+        }
+    }
+
+    @Benchmark
+    public void direct_calls(Blackhole blackhole) throws IOException {
+        for (String value : values) {
+            blackhole.consume(transform(value));
+        }
+    }
+
+    @Benchmark
+    public void circuitBreaker_closed(Blackhole blackhole) throws IOException {
+        for (String value : values) {
+            blackhole.consume(closedBreaker.apply(value));
+        }
+    }
+
+    @Benchmark
+    public void bulkhead_calls(Blackhole blackhole) throws IOException {
+        for (String value : values) {
+            blackhole.consume(bulkhead.apply(value));
+        }
+    }
+
+    @Benchmark
+    public void direct_failing(Blackhole blackhole) {
+        for (String value : values) {
+            try {
+                fail(value);
+            } catch (IOException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void circuitBreaker_open(Blackhole blackhole) throws IOException {
+        for (String value : values) {
+            try {
+                openBreaker.apply(value);
+            } catch (CircuitOpenException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object attempt_failing() {
+        return values.stream()
+                .map(Exceptions.attempt(ExceptionsBenchmark::fail))
+                .collect(Result.partitioning(counting(), counting()));
+    }
+
+    @Benchmark
+    public void wrapExceptionalFunction_failingAndUnwrapped(Blackhole blackhole) {
+        for (String value : values) {
+            try {
+                try {
+                    blackhole.consume(Exceptions.wrapExceptionalFunction(ExceptionsBenchmark::fail,
+                            WrappedIOException::new).apply(value));
+                } catch (WrappedIOException e) {
+                    e.unwrap();
+                }
+            } catch (IOException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    private static String transform(String value) throws IOException {
+        return value;
+    }
+
+    private static boolean accept(String value) throws IOException {
+        return !value.isEmpty();
+    }
+
+    private static int increment(int value) throws IOException {
+        return value + 1;
+    }
+
+    private static String block(String value) throws IOException {
+        LockSupport.parkNanos(BLOCKING_NANOS);
+        return value;
+    }
+
+    private static String transformUnchecked(String value) {
+        return value;
+    }
+
+    private static void failConsumer(String value) throws IOException {
+        throw new IOException(value);
+    }
+
+    private static String fail(String value) throws IOException {
+        throw new IOException(value);
+    }
+}
@@ -0,0 +1,92 @@
+package com.impressiveinteractive.synapse.benchmark;
+
+import com.impressiveinteractive.synapse.lambda.Lambdas;
+import com.impressiveinteractive.synapse.lambda.SerializableFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures lambda introspection: {@link com.impressiveinteractive.synapse.lambda.SerializableLambda#serialized()},
+ * the {@code Lambdas.getRaw*Type} methods and the {@code getInputClass()}/{@code getResultClass()} conveniences built
+ * on top of them. The {@code serialized_reflective} benchmark is the original reflective implementation of
+ * {@code serialized()}, kept as a baseline for {@code serialized_capturingLambda}, which can not use the shared
+ * {@link SerializedLambda} of non capturing lambdas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LambdasBenchmark {
+
+    private final SerializableFunction<Integer, String> methodReference =
+            Lambdas.serializableFunction(LambdasBenchmark::describe);
+    private final String prefix = "prefix";
+    private final SerializableFunction<Integer, String> capturingLambda =
+            Lambdas.serializableFunction((Integer i) -> prefix + i);
+    private final SerializedLambda serialized = methodReference.serialized();
+
+    @Benchmark
+    public SerializedLambda serialized_methodReference() {
+        return methodReference.serialized();
+    }
+
+    @Benchmark
+    public SerializedLambda serialized_capturingLambda() {
+        return capturingLambda.serialized();
+    }
+
+    @Benchmark
+    public SerializedLambda serialized_reflective() {
+        try {
+            Method replaceMethod = capturingLambda.getClass().getDeclaredMethod("writeReplace");
+            replaceMethod.setAccessible(true);
+            return (SerializedLambda) replaceMethod.invoke(capturingLambda);
+        } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Could not serialize Lambda.", e);
+        }
+    }
+
+    @Benchmark
+    public Class<?> getRawReturnType() {
+        return Lambdas.getRawReturnType(serialized);
+    }
+
+    @Benchmark
+    public List<Class<?>> getRawParameterTypes() {
+        return Lambdas.getRawParameterTypes(serialized);
+    }
+
+    @Benchmark
+    public Class<?> getRawParameterType() {
+        return Lambdas.getRawParameterType(serialized, 0);
+    }
+
+    @Benchmark
+    public Class<Integer> getInputClass() {
+        return methodReference.getInputClass();
+    }
+
+    @Benchmark
+    public Class<String> getResultClass() {
+        return capturingLambda.getResultClass();
+    }
+
+    private static String describe(Integer value) {
+        return "value " + value;
+    }
+}
@@ -0,0 +1,49 @@
+package com.impressiveinteractive.synapse.benchmark;
+
+import com.impressiveinteractive.synapse.reflect.Typed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of {@link Typed} instances, both from a class and from an anonymous subclass capturing a
+ * parameterized type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypedBenchmark {
+
+    @Benchmark
+    public Typed<String> of() {
+        return Typed.of(String.class);
+    }
+
+    @Benchmark
+    public Typed<String> anonymous_simple() {
+        return new Typed<String>() {};
+    }
+
+    @Benchmark
+    public Typed<Map<String, List<Integer>>> anonymous_parameterized() {
+        return new Typed<Map<String, List<Integer>>>() {};
+    }
+
+    @Benchmark
+    public Class<?> getRawType() {
+        return new Typed<Map<String, List<Integer>>>() {}.getRawType();
+    }
+}
@@ -0,0 +1,256 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces single key lookups from any amount of threads into batched calls of an {@link ExceptionalFunction}. Keys
+ * are collected until either {@code maxBatchSize} distinct keys are pending or {@code maxDelay} has passed since the
+ * first one, after which the whole batch is loaded in a single call. Duplicate keys within a batch share the same
+ * result. Example:
+ * <pre>
+ * Batcher&lt;Long, Customer, IOException&gt; customers =
+ *         Batcher.of(client::fetchCustomers, 100, 5, TimeUnit.MILLISECONDS, executor);
+ *
+ * Customer customer = customers.apply(customerId); // Throws IOException
+ * </pre>
+ * <p>
+ * When the batch function throws, every key of that batch fails with the same exception instance. To fail keys
+ * individually, use {@link #ofResults} with a batch function that returns a {@link Result} per key.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ * @param <E> The type of the checked exception thrown by the batch function.
+ */
+public final class Batcher<K, V, E extends Exception> implements ExceptionalFunction<K, V, E> {
+
+    private final ExceptionalFunction<? super List<K>, ? extends Map<? extends K, ?>, ? extends E> loader;
+    private final boolean results;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduled;
+
+    private Batcher(
+            ExceptionalFunction<? super List<K>, ? extends Map<? extends K, ?>, ? extends E> loader,
+            boolean results,
+            int maxBatchSize,
+            long maxDelay,
+            TimeUnit unit,
+            Executor executor) {
+        if (maxBatchSize < 1) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Max batch size must be positive, but was {}.", maxBatchSize);
+        }
+        if (maxDelay < 0) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Max delay must not be negative, but was {}.", maxDelay);
+        }
+        this.loader = loader;
+        this.results = results;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.executor = executor;
+    }
+
+    /**
+     * Create a {@link Batcher} for a batch function that returns a {@link Map} with the value of each key. Keys that
+     * are missing from the map get null as their value.
+     *
+     * @param loader       The batch function, which receives the distinct keys of a batch in the order they were
+     *                     requested.
+     * @param maxBatchSize The maximum amount of distinct keys in a batch.
+     * @param maxDelay     The maximum time to wait for more keys after the first key of a batch is requested.
+     * @param unit         The unit of {@code maxDelay}.
+     * @param executor     The executor to call the batch function on. Use {@code Runnable::run} to call it on the
+     *                     thread that completes the batch, which is either the thread requesting the last key or a
+     *                     shared timer thread.
+     * @param <K>          The type of the keys.
+     * @param <V>          The type of the values.
+     * @param <E>          The type of the checked exception thrown by the batch function.
+     * @return The {@link Batcher}.
+     */
+    public static <K, V, E extends Exception> Batcher<K, V, E> of(
+            ExceptionalFunction<? super List<K>, ? extends Map<? extends K, ? extends V>, ? extends E> loader,
+            int maxBatchSize,
+            long maxDelay,
+            TimeUnit unit,
+            Executor executor) {
+        return new Batcher<>(loader, false, maxBatchSize, maxDelay, unit, executor);
+    }
+
+    /**
+     * Like {@link #of}, but the batch function returns a {@link Result} per key, so each key can fail with its own
+     * exception.
+     *
+     * @param loader       The batch function, which receives the distinct keys of a batch in the order they were
+     *                     requested.
+     * @param maxBatchSize The maximum amount of distinct keys in a batch.
+     * @param maxDelay     The maximum time to wait for more keys after the first key of a batch is requested.
+     * @param unit         The unit of {@code maxDelay}.
+     * @param executor     The executor to call the batch function on.
+     * @param <K>          The type of the keys.
+     * @param <V>          The type of the values.
+     * @param <E>          The type of the checked exception thrown by the batch function.
+     * @return The {@link Batcher}.
+     */
+    public static <K, V, E extends Exception> Batcher<K, V, E> ofResults(
+            ExceptionalFunction<
+                    ? super List<K>,
+                    ? extends Map<? extends K, ? extends Result<? extends V, ? extends E>>,
+                    ? extends E> loader,
+            int maxBatchSize,
+            long maxDelay,
+            TimeUnit unit,
+            Executor executor) {
+        return new Batcher<>(loader, true, maxBatchSize, maxDelay, unit, executor);
+    }
+
+    /**
+     * Request the value of the given key. The key is added to the pending batch, or shares the future of that batch
+     * when it is already pending. A failure completes the future with the original exception.
+     *
+     * @param key The key.
+     * @return The future value.
+     */
+    public CompletableFuture<V> load(K key) {
+        Map<K, CompletableFuture<V>> batch = null;
+        CompletableFuture<V> future;
+        synchronized (lock) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                batch = takePending();
+            } else if (pending.size() == 1) {
+                Map<K, CompletableFuture<V>> started = pending;
+                scheduled = Scheduler.INSTANCE.schedule(() -> flush(started), maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return future;
+    }
+
+    /**
+     * Request the value of the given key and wait for it.
+     *
+     * @param key The key.
+     * @return The value.
+     * @throws E When the batch function failed for this key.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V apply(K key) throws E {
+        try {
+            return load(key).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (E) cause;
+        }
+    }
+
+    /**
+     * Dispatch the pending batch right away, without waiting for it to fill up or for its delay to pass.
+     */
+    public void flush() {
+        flush(null);
+    }
+
+    /**
+     * @param expected The pending batch to flush, or null to flush any pending batch. A timer passes the batch it was
+     *                 started for, so it does not flush a later batch when its own batch was already dispatched.
+     */
+    private void flush(Map<K, CompletableFuture<V>> expected) {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty() || expected != null && pending != expected) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            executor.execute(() -> loadBatch(batch));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadBatch(Map<K, CompletableFuture<V>> batch) {
+        Map<? extends K, ?> values;
+        try {
+            values = loader.apply(Collections.unmodifiableList(new ArrayList<>(batch.keySet())));
+        } catch (Throwable e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        for (Map.Entry<K, CompletableFuture<V>> entry : batch.entrySet()) {
+            Object value = values == null ? null : values.get(entry.getKey());
+            if (!results) {
+                entry.getValue().complete((V) value);
+            } else if (value == null) {
+                entry.getValue().complete(null);
+            } else {
+                Result<? extends V, ? extends E> result = (Result<? extends V, ? extends E>) value;
+                if (result.isSuccess()) {
+                    entry.getValue().complete(result.orElse(null));
+                } else {
+                    entry.getValue().completeExceptionally(result.getFailure());
+                }
+            }
+        }
+    }
+
+    /**
+     * Triggers the delayed dispatch of batches. A single daemon thread is shared by all {@link Batcher Batchers}.
+     */
+    private static final class Scheduler {
+        private static final ScheduledThreadPoolExecutor INSTANCE = createInstance();
+
+        private static ScheduledThreadPoolExecutor createInstance() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "synapse-batcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Configures when a {@link CircuitBreaker} opens and how it recovers. Instances are immutable, each setting returns a
+ * copy. Example:
+ * <pre>
+ * BreakerSpec spec = BreakerSpec.defaults()
+ *         .failureRateThreshold(0.25)
+ *         .window(Duration.ofSeconds(30), 30)
+ *         .openFor(Duration.ofSeconds(10))
+ *         .recordOn(IOException.class);
+ * </pre>
+ * <p>
+ * By default the breaker opens when at least half of at least 20 calls in the last 10 seconds failed with any
+ * {@link Exception}. It then fails fast for 30 seconds, after which 3 probe calls decide whether it closes again.
+ */
+public final class BreakerSpec {
+
+    /**
+     * The maximum amount of probe calls.
+     */
+    public static final int MAX_PROBES = (1 << 20) - 1;
+
+    private static final BreakerSpec DEFAULTS = new BreakerSpec(
+            0.5, 20, Duration.ofSeconds(10), 10, Duration.ofSeconds(30), 3, e -> true);
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final Duration window;
+    private final int buckets;
+    private final Duration openFor;
+    private final int probes;
+    private final Predicate<? super Exception> recordIf;
+
+    private BreakerSpec(
+            double failureRateThreshold,
+            int minimumCalls,
+            Duration window,
+            int buckets,
+            Duration openFor,
+            int probes,
+            Predicate<? super Exception> recordIf) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.window = window;
+        this.buckets = buckets;
+        this.openFor = openFor;
+        this.probes = probes;
+        this.recordIf = recordIf;
+    }
+
+    /**
+     * @return The default spec: open when at least half of at least 20 calls in the last 10 seconds failed, stay open
+     * for 30 seconds and probe with 3 calls.
+     */
+    public static BreakerSpec defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @param threshold The ratio of failed calls in the window at which the breaker opens, above 0 and at most 1.
+     * @return A copy of this spec with the given threshold.
+     */
+    public BreakerSpec failureRateThreshold(double threshold) {
+        if (!(threshold > 0 && threshold <= 1)) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Failure rate threshold must be above 0 and at most 1, but was {}.", threshold);
+        }
+        return new BreakerSpec(threshold, minimumCalls, window, buckets, openFor, probes, recordIf);
+    }
+
+    /**
+     * @param calls The minimum amount of calls in the window before the failure rate is considered. Must be positive.
+     * @return A copy of this spec with the given minimum amount of calls.
+     */
+    public BreakerSpec minimumCalls(int calls) {
+        if (calls < 1) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Minimum calls must be positive, but was {}.", calls);
+        }
+        return new BreakerSpec(failureRateThreshold, calls, window, buckets, openFor, probes, recordIf);
+    }
+
+    /**
+     * @param duration The duration of the sliding window over which the failure rate is measured. Must be positive.
+     * @param bucketCount The amount of buckets the window is divided in. The window slides one bucket at a time, so
+     *                    more buckets forget old calls more gradually. Must be between 1 and 1000.
+     * @return A copy of this spec with the given window.
+     */
+    public BreakerSpec window(Duration duration, int bucketCount) {
+        Durations.requirePositive(duration, "Window");
+        if (bucketCount < 1 || bucketCount > 1000) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Bucket count must be between 1 and 1000, but was {}.", bucketCount);
+        }
+        if (duration.toNanos() < bucketCount) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Window must be at least a nanosecond per bucket, but was {} for {} buckets.",
+                    duration, bucketCount);
+        }
+        return new BreakerSpec(failureRateThreshold, minimumCalls, duration, bucketCount, openFor, probes, recordIf);
+    }
+
+    /**
+     * @param duration How long the breaker fails fast after opening, before probing. Must be positive.
+     * @return A copy of this spec with the given open duration.
+     */
+    public BreakerSpec openFor(Duration duration) {
+        return new BreakerSpec(failureRateThreshold, minimumCalls, window, buckets,
+                Durations.requirePositive(duration, "Open duration"), probes, recordIf);
+    }
+
+    /**
+     * @param calls The amount of probe calls let through after the open duration. The breaker closes when all of them
+     *              succeed and opens again as soon as one of them fails. Must be between 1 and
+     *              {@value #MAX_PROBES}.
+     * @return A copy of this spec with the given amount of probe calls.
+     */
+    public BreakerSpec probes(int calls) {
+        if (calls < 1 || calls > MAX_PROBES) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Probes must be between 1 and {}, but was {}.", MAX_PROBES, calls);
+        }
+        return new BreakerSpec(failureRateThreshold, minimumCalls, window, buckets, openFor, calls, recordIf);
+    }
+
+    /**
+     * Only count failures of the given types, or subtypes thereof, as failures. Other failures are thrown as is, but
+     * count as successful calls: they say something about the call, not about the health of what is called.
+     *
+     * @param types The exception types that count as failures.
+     * @return A copy of this spec recording only the given types.
+     */
+    @SafeVarargs
+    public final BreakerSpec recordOn(Class<? extends Exception>... types) {
+        List<Class<? extends Exception>> recorded = new ArrayList<>(types.length);
+        for (Class<? extends Exception> type : types) {
+            recorded.add(type);
+        }
+        return recordIf(e -> recorded.stream().anyMatch(type -> type.isInstance(e)));
+    }
+
+    /**
+     * Only count failures that match the given predicate as failures. Other failures are thrown as is, but count as
+     * successful calls.
+     *
+     * @param predicate Decides whether a failure counts.
+     * @return A copy of this spec using the given predicate.
+     */
+    public BreakerSpec recordIf(Predicate<? super Exception> predicate) {
+        return new BreakerSpec(failureRateThreshold, minimumCalls, window, buckets, openFor, probes,
+                Objects.requireNonNull(predicate, "predicate"));
+    }
+
+    /**
+     * @return The ratio of failed calls in the window at which the breaker opens.
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * @return The minimum amount of calls in the window before the failure rate is considered.
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * @return The duration of the sliding window.
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * @return The amount of buckets the window is divided in.
+     */
+    public int getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * @return How long the breaker fails fast after opening.
+     */
+    public Duration getOpenFor() {
+        return openFor;
+    }
+
+    /**
+     * @return The amount of probe calls let through after the open duration.
+     */
+    public int getProbes() {
+        return probes;
+    }
+
+    /**
+     * @param failure A failure.
+     * @return True if the failure counts as a failure.
+     */
+    boolean shouldRecord(Exception failure) {
+        return recordIf.test(failure);
+    }
+
+    @Override
+    public String toString() {
+        return "BreakerSpec[failureRateThreshold=" + failureRateThreshold + ", minimumCalls=" + minimumCalls
+                + ", window=" + window + ", buckets=" + buckets + ", openFor=" + openFor + ", probes=" + probes + "]";
+    }
+}
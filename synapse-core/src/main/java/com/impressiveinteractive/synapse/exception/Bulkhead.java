@@ -0,0 +1,79 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the amount of concurrent calls to an {@link ExceptionalFunction}. A call waits at most the maximum wait for a
+ * permit and is rejected with a shared {@link BulkheadFullException} when none became available. Permits are counted
+ * in a {@link Semaphore}, which takes and returns a permit with a single compare-and-set when there is no contention,
+ * and queues waiting calls either fairly, first come first served, or unfairly, letting new calls barge ahead.
+ *
+ * @param <I> The input type of the function.
+ * @param <O> The output type of the function.
+ * @param <E> The type of the checked exception thrown by the function.
+ * @see Exceptions#bulkhead(ExceptionalFunction, int, Duration, boolean)
+ */
+final class Bulkhead<I, O, E extends Exception> implements ExceptionalFunction<I, O, E> {
+
+    static final BulkheadFullException FULL = new BulkheadFullException("Bulkhead is full.", null, false, false);
+
+    private final ExceptionalFunction<? super I, ? extends O, ? extends E> function;
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+
+    /**
+     * @param function      The function to limit.
+     * @param maxConcurrent The maximum amount of concurrent calls.
+     * @param maxWaitNanos  The maximum time to wait for a permit in nanoseconds.
+     * @param fair          Whether waiting calls get a permit in the order they arrived.
+     */
+    Bulkhead(
+            ExceptionalFunction<? super I, ? extends O, ? extends E> function,
+            int maxConcurrent,
+            long maxWaitNanos,
+            boolean fair) {
+        this.function = function;
+        this.permits = new Semaphore(maxConcurrent, fair);
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * Call the function once a permit is available.
+     *
+     * @param input The input.
+     * @return The output of the function.
+     * @throws E                     When the function failed.
+     * @throws BulkheadFullException When no permit became available within the maximum wait.
+     * @throws CancellationException When interrupted while waiting. The interrupt flag is restored.
+     */
+    @Override
+    public O apply(I input) throws E {
+        acquire();
+        try {
+            return function.apply(input);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return The amount of calls that can start right away.
+     */
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw FULL;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Exceptions.formatMessage(CancellationException::new, "Interrupted while waiting for a permit.");
+        }
+    }
+}
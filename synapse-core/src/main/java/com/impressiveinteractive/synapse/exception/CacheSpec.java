@@ -0,0 +1,98 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.time.Duration;
+
+/**
+ * Configures the size, expiry and failure caching of an {@link ExceptionalCache}. Instances are immutable, each setting
+ * returns a copy. Example:
+ * <pre>
+ * CacheSpec spec = CacheSpec.defaults()
+ *         .maximumSize(10_000)
+ *         .expireAfterWrite(Duration.ofMinutes(10))
+ *         .cacheFailuresFor(Duration.ofSeconds(5));
+ * </pre>
+ * <p>
+ * By default the cache is unbounded, values never expire and failures are not cached.
+ */
+public final class CacheSpec {
+
+    private static final CacheSpec DEFAULTS = new CacheSpec(Long.MAX_VALUE, null, Duration.ZERO);
+
+    private final long maximumSize;
+    private final Duration expireAfterWrite;
+    private final Duration failureTtl;
+
+    private CacheSpec(long maximumSize, Duration expireAfterWrite, Duration failureTtl) {
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        this.failureTtl = failureTtl;
+    }
+
+    /**
+     * @return The default spec: unbounded, values never expire and failures are not cached.
+     */
+    public static CacheSpec defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Bound the amount of entries. When the cache is full, a new entry is only kept when it is requested more often
+     * than the least recently used entry, which is then evicted. This way a burst of keys that are requested once
+     * does not evict the entries that are requested all the time.
+     *
+     * @param size The maximum amount of entries. Must be positive.
+     * @return A copy of this spec with the given maximum size.
+     */
+    public CacheSpec maximumSize(long size) {
+        if (size < 1) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Maximum size must be positive, but was {}.", size);
+        }
+        return new CacheSpec(size, expireAfterWrite, failureTtl);
+    }
+
+    /**
+     * @param duration How long a value is used after it was loaded. Must be positive.
+     * @return A copy of this spec with the given expiry.
+     */
+    public CacheSpec expireAfterWrite(Duration duration) {
+        return new CacheSpec(maximumSize, Durations.requirePositive(duration, "Expiry"), failureTtl);
+    }
+
+    /**
+     * @param duration How long a failure is thrown again without calling the function for its key. Zero, the default,
+     *                 means the next call tries again.
+     * @return A copy of this spec with the given failure caching duration.
+     */
+    public CacheSpec cacheFailuresFor(Duration duration) {
+        return new CacheSpec(
+                maximumSize, expireAfterWrite, Durations.requireNotNegative(duration, "Failure caching duration"));
+    }
+
+    /**
+     * @return The maximum amount of entries, {@link Long#MAX_VALUE} if unbounded.
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return How long a value is used after it was loaded, or null if values never expire.
+     */
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    /**
+     * @return How long a failure is cached, zero if failures are not cached.
+     */
+    public Duration getFailureTtl() {
+        return failureTtl;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheSpec[maximumSize=" + maximumSize + ", expireAfterWrite=" + expireAfterWrite
+                + ", failureTtl=" + failureTtl + "]";
+    }
+}
@@ -0,0 +1,67 @@
+package com.impressiveinteractive.synapse.exception;
+
+/**
+ * A snapshot of the statistics of an {@link ExceptionalCache}.
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadFailureCount;
+    private final long evictionCount;
+
+    /**
+     * @param hitCount         The amount of requests that were answered from the cache.
+     * @param missCount        The amount of requests that had to wait for a load.
+     * @param loadFailureCount The amount of loads that failed.
+     * @param evictionCount    The amount of entries that were evicted because of the size bound.
+     */
+    CacheStats(long hitCount, long missCount, long loadFailureCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadFailureCount = loadFailureCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * @return The amount of requests that were answered from the cache, including cached failures.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The amount of requests that had to wait for a load.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The amount of loads that failed.
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return The amount of entries that were evicted or not admitted because of the size bound.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return The ratio of requests that were answered from the cache, or 1 if there were no requests.
+     */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats[hits=" + hitCount + ", misses=" + missCount + ", loadFailures=" + loadFailureCount
+                + ", evictions=" + evictionCount + "]";
+    }
+}
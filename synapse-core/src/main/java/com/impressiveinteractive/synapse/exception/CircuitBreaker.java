@@ -0,0 +1,322 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Wraps an {@link ExceptionalFunction} and stops calling it while it fails too often, as configured by a
+ * {@link BreakerSpec}. The breaker is an {@link ExceptionalFunction} itself. Example:
+ * <pre>
+ * CircuitBreaker&lt;String, Customer, IOException&gt; customers = Exceptions.circuitBreaker(client::fetchCustomer,
+ *         BreakerSpec.defaults().recordOn(IOException.class));
+ *
+ * Customer customer = customers.apply(customerId); // Throws IOException or CircuitOpenException
+ * </pre>
+ * <p>
+ * While {@link State#CLOSED closed}, every call is counted in a sliding window. When the ratio of failed calls in the
+ * window reaches the threshold, the breaker {@link State#OPEN opens} and throws a shared {@link CircuitOpenException}
+ * without calling the function. After the open duration the breaker is {@link State#HALF_OPEN half-open}: a few probe
+ * calls are let through, while other calls still fail fast. When all probes succeed the breaker closes with an empty
+ * window, as soon as one fails it opens again.
+ * <p>
+ * The window is a ring of time buckets, each a single atomic long holding the bucket's epoch, call count and failure
+ * count. Counting a call is a single compare-and-set, without locks or allocation, and a stale bucket is reset by the
+ * first call that lands in it. A closed breaker checks its state with a single volatile read.
+ * <p>
+ * The state, the probe counts and a generation are packed in another atomic long, so every transition is a single
+ * compare-and-set. Each time the breaker opens the generation changes, so a slow probe of an earlier half-open period
+ * that completes late does not count for the current one.
+ *
+ * @param <I> The input type of the function.
+ * @param <O> The output type of the function.
+ * @param <E> The type of the checked exception thrown by the function.
+ * @see Exceptions#circuitBreaker(ExceptionalFunction, BreakerSpec)
+ */
+public final class CircuitBreaker<I, O, E extends Exception> implements ExceptionalFunction<I, O, E> {
+
+    /**
+     * The state of a {@link CircuitBreaker}.
+     */
+    public enum State {
+        /**
+         * Calls are let through and counted.
+         */
+        CLOSED,
+        /**
+         * Calls fail fast.
+         */
+        OPEN,
+        /**
+         * A limited amount of probe calls are let through, others fail fast.
+         */
+        HALF_OPEN
+    }
+
+    static final CircuitOpenException OPEN =
+            new CircuitOpenException("Circuit breaker is open.", null, false, false);
+    static final CircuitOpenException PROBING = new CircuitOpenException(
+            "Circuit breaker is half-open and all probe calls are in flight.", null, false, false);
+
+    private static final long NOT_A_PROBE = -1;
+
+    private final ExceptionalFunction<? super I, ? extends O, ? extends E> function;
+    private final BreakerSpec spec;
+    private final double threshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int probes;
+    private final LongSupplier ticker;
+    private final long origin;
+    private final Window window;
+
+    private final AtomicLong control = new AtomicLong(Control.pack(State.CLOSED, 0, 0, 0));
+    private volatile long openedAt;
+
+    /**
+     * @param function The function to protect.
+     * @param spec     When the breaker opens and how it recovers.
+     * @param ticker   The source of {@link System#nanoTime()} like timestamps.
+     */
+    CircuitBreaker(
+            ExceptionalFunction<? super I, ? extends O, ? extends E> function, BreakerSpec spec, LongSupplier ticker) {
+        this.function = function;
+        this.spec = spec;
+        this.threshold = spec.getFailureRateThreshold();
+        this.minimumCalls = spec.getMinimumCalls();
+        this.openNanos = Durations.toNanos(spec.getOpenFor());
+        this.probes = spec.getProbes();
+        this.ticker = ticker;
+        this.origin = ticker.getAsLong();
+        this.window = new Window(Durations.toNanos(spec.getWindow()), spec.getBuckets());
+    }
+
+    /**
+     * Call the function, unless the breaker is open.
+     *
+     * @param input The input.
+     * @return The output of the function.
+     * @throws E                   When the function failed.
+     * @throws CircuitOpenException When the breaker is open, or half-open with all probe calls in flight.
+     */
+    @Override
+    public O apply(I input) throws E {
+        long probe = acquire();
+        O output;
+        try {
+            output = function.apply(input);
+        } catch (Exception e) {
+            complete(probe, spec.shouldRecord(e));
+            throw e;
+        } catch (Error e) {
+            complete(probe, true);
+            throw e;
+        }
+        complete(probe, false);
+        return output;
+    }
+
+    /**
+     * @return The current state. An open breaker reports {@link State#OPEN} until the first call after the open
+     * duration moves it to {@link State#HALF_OPEN}.
+     */
+    public State getState() {
+        return Control.state(control.get());
+    }
+
+    /**
+     * @return The ratio of failed calls in the current window, or 0 if there were no calls.
+     */
+    public double getFailureRate() {
+        return Math.max(0, window.failureRate(now(), 1));
+    }
+
+    /**
+     * @return The generation of the half-open period if the call is a probe, or -1 if it is not.
+     */
+    private long acquire() {
+        long current = control.get();
+        if (Control.state(current) == State.CLOSED) {
+            return NOT_A_PROBE;
+        }
+        while (true) {
+            long next;
+            switch (Control.state(current)) {
+                case CLOSED:
+                    return NOT_A_PROBE;
+                case OPEN:
+                    if (now() - openedAt < openNanos) {
+                        throw OPEN;
+                    }
+                    next = Control.pack(State.HALF_OPEN, Control.generation(current), 1, 0);
+                    break;
+                default:
+                    if (Control.started(current) >= probes) {
+                        throw PROBING;
+                    }
+                    next = current + Control.STARTED;
+            }
+            if (control.compareAndSet(current, next)) {
+                return Control.generation(current);
+            }
+            current = control.get();
+        }
+    }
+
+    private void complete(long probe, boolean failed) {
+        if (probe != NOT_A_PROBE) {
+            if (failed) {
+                trip(State.HALF_OPEN, probe);
+            } else {
+                succeed(probe);
+            }
+            return;
+        }
+        long now = now();
+        window.record(now, failed);
+        if (failed && getState() == State.CLOSED && window.failureRate(now, minimumCalls) >= threshold) {
+            trip(State.CLOSED, NOT_A_PROBE);
+        }
+    }
+
+    private void succeed(long generation) {
+        long current;
+        long next;
+        do {
+            current = control.get();
+            if (Control.state(current) != State.HALF_OPEN || Control.generation(current) != generation) {
+                return;
+            }
+            next = current + 1;
+            if (Control.succeeded(next) == probes) {
+                window.clear();
+                next = Control.pack(State.CLOSED, generation, 0, 0);
+            }
+        } while (!control.compareAndSet(current, next));
+    }
+
+    /**
+     * @param from       The state to open from.
+     * @param generation The generation of the failed probe, ignored when opening from {@link State#CLOSED}.
+     */
+    private void trip(State from, long generation) {
+        long current;
+        do {
+            current = control.get();
+            if (Control.state(current) != from
+                    || from == State.HALF_OPEN && Control.generation(current) != generation) {
+                return;
+            }
+            openedAt = now();
+        } while (!control.compareAndSet(current, Control.pack(State.OPEN, Control.generation(current) + 1, 0, 0)));
+    }
+
+    private long now() {
+        return ticker.getAsLong() - origin;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker[state=" + getState() + ", failureRate=" + getFailureRate() + "]";
+    }
+
+    /**
+     * Packs the state, the generation, and the started and succeeded probe counts of the current half-open period in a
+     * single long, from the high to the low bits. The counts hold up to {@link BreakerSpec#MAX_PROBES}.
+     */
+    private static final class Control {
+        private static final int COUNT_BITS = 20;
+        private static final int GENERATION_BITS = 62 - 2 * COUNT_BITS;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+        private static final long GENERATION_MASK = (1L << GENERATION_BITS) - 1;
+        private static final long STARTED = 1L << COUNT_BITS;
+        private static final State[] STATES = State.values();
+
+        private static long pack(State state, long generation, long started, long succeeded) {
+            return (long) state.ordinal() << 62 | (generation & GENERATION_MASK) << 2 * COUNT_BITS
+                    | started << COUNT_BITS | succeeded;
+        }
+
+        private static State state(long control) {
+            return STATES[(int) (control >>> 62)];
+        }
+
+        private static long generation(long control) {
+            return control >>> 2 * COUNT_BITS & GENERATION_MASK;
+        }
+
+        private static long started(long control) {
+            return control >>> COUNT_BITS & COUNT_MASK;
+        }
+
+        private static long succeeded(long control) {
+            return control & COUNT_MASK;
+        }
+    }
+
+    /**
+     * A ring of time buckets. Each bucket packs the low {@value #EPOCH_BITS} bits of its epoch, its call count and its
+     * failure count in a single long. Counts saturate at {@value #COUNT_MASK} per bucket.
+     */
+    private static final class Window {
+        private static final int COUNT_BITS = 22;
+        private static final int EPOCH_BITS = 64 - 2 * COUNT_BITS;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+        private static final long EPOCH_MASK = (1L << EPOCH_BITS) - 1;
+        private static final long CALL = 1L << COUNT_BITS;
+
+        private final AtomicLongArray buckets;
+        private final long bucketNanos;
+        private final int size;
+
+        private Window(long windowNanos, int size) {
+            this.buckets = new AtomicLongArray(size);
+            this.bucketNanos = windowNanos / size;
+            this.size = size;
+        }
+
+        private void record(long now, boolean failed) {
+            long epoch = now / bucketNanos;
+            int index = (int) (epoch % size);
+            long tag = epoch & EPOCH_MASK;
+            long current;
+            long next;
+            do {
+                current = buckets.get(index);
+                if (current >>> 2 * COUNT_BITS == tag) {
+                    if ((current >>> COUNT_BITS & COUNT_MASK) == COUNT_MASK) {
+                        return;
+                    }
+                    next = current + CALL + (failed ? 1 : 0);
+                } else {
+                    next = tag << 2 * COUNT_BITS | CALL | (failed ? 1 : 0);
+                }
+            } while (!buckets.compareAndSet(index, current, next));
+        }
+
+        /**
+         * @param now          The current time.
+         * @param minimumCalls The minimum amount of calls.
+         * @return The ratio of failed calls, or -1 if there were fewer calls than the minimum.
+         */
+        private double failureRate(long now, int minimumCalls) {
+            long epoch = now / bucketNanos;
+            long calls = 0;
+            long failures = 0;
+            for (long e = epoch; e >= 0 && e > epoch - size; e--) {
+                long bucket = buckets.get((int) (e % size));
+                if (bucket >>> 2 * COUNT_BITS == (e & EPOCH_MASK)) {
+                    calls += bucket >>> COUNT_BITS & COUNT_MASK;
+                    failures += bucket & COUNT_MASK;
+                }
+            }
+            return calls < minimumCalls ? -1 : (double) failures / calls;
+        }
+
+        private void clear() {
+            for (int i = 0; i < size; i++) {
+                buckets.set(i, 0);
+            }
+        }
+    }
+}
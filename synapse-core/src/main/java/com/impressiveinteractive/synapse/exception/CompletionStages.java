@@ -0,0 +1,125 @@
+package com.impressiveinteractive.synapse.exception;
+
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs exception throwing lambdas as stages of a {@link CompletionStage}. Failures are stored in the resulting
+ * {@link CompletableFuture} as they are thrown, instead of being wrapped in a runtime exception first, and a
+ * {@link CompletionException} coming from the previous stage is unwrapped before it is passed on. This way a chain of
+ * stages carries the original exception without allocating a wrapper per stage.
+ *
+ * @see Exceptions#async(ExceptionalSupplier, Executor)
+ * @see Exceptions#thenApplyExceptional(CompletionStage, ExceptionalFunction)
+ * @see Exceptions#thenAcceptExceptional(CompletionStage, ExceptionalConsumer)
+ * @see Exceptions#join(CompletionStage, Class)
+ */
+final class CompletionStages {
+
+    private CompletionStages() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Get a value from the given supplier on the given executor.
+     *
+     * @param supplier The supplier.
+     * @param executor The executor.
+     * @param <T>      The type of the value.
+     * @return The future value.
+     */
+    static <T> CompletableFuture<T> supply(ExceptionalSupplier<? extends T, ?> supplier, Executor executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Transform the value of the given stage once it completes normally.
+     *
+     * @param stage    The stage.
+     * @param function The transformation.
+     * @param <T>      The type of the value of the stage.
+     * @param <R>      The type of the transformed value.
+     * @return The future transformed value.
+     */
+    static <T, R> CompletableFuture<R> apply(
+            CompletionStage<? extends T> stage, ExceptionalFunction<? super T, ? extends R, ?> function) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        stage.handle((value, failure) -> {
+            if (failure != null) {
+                future.completeExceptionally(unwrap(failure));
+            } else {
+                try {
+                    future.complete(function.apply(value));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }
+            return null;
+        });
+        return future;
+    }
+
+    /**
+     * Consume the value of the given stage once it completes normally.
+     *
+     * @param stage  The stage.
+     * @param action The action.
+     * @param <T>    The type of the value of the stage.
+     * @return A future that completes once the action is done.
+     */
+    static <T> CompletableFuture<Void> accept(
+            CompletionStage<? extends T> stage, ExceptionalConsumer<? super T, ?> action) {
+        return apply(stage, value -> {
+            action.accept(value);
+            return null;
+        });
+    }
+
+    /**
+     * Wait for the given stage and return its value.
+     *
+     * @param stage         The stage.
+     * @param exceptionType The checked exception type to throw as is.
+     * @param <T>           The type of the value.
+     * @param <E>           The checked exception type to throw as is.
+     * @return The value.
+     * @throws E When the stage failed with this exception type, or with a {@link WrappedException} of it.
+     */
+    static <T, E extends Exception> T join(CompletionStage<T> stage, Class<E> exceptionType) throws E {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (exceptionType.isInstance(WrappedException.originalOf(cause))) {
+                throw exceptionType.cast(WrappedException.originalOf(cause));
+            } else if (exceptionType.isInstance(cause)) {
+                throw exceptionType.cast(cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable unwrapped = failure;
+        while (unwrapped instanceof CompletionException && unwrapped.getCause() != null) {
+            unwrapped = unwrapped.getCause();
+        }
+        return unwrapped;
+    }
+}
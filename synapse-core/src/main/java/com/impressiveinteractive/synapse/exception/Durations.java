@@ -0,0 +1,59 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Validation and conversion of the {@link Duration Durations} used by the specs in this package.
+ */
+final class Durations {
+
+    private Durations() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * @param duration A duration, or null.
+     * @return The duration in nanoseconds, saturated at {@link Long#MAX_VALUE}, or -1 if the duration is null.
+     */
+    static long toNanos(Duration duration) {
+        if (duration == null) {
+            return -1;
+        }
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @param duration The duration.
+     * @param name     The name of the duration, used in the exception message.
+     * @return The given duration.
+     * @throws IllegalArgumentException When the duration is zero or negative.
+     */
+    static Duration requirePositive(Duration duration, String name) {
+        Objects.requireNonNull(duration, "duration");
+        if (duration.isNegative() || duration.isZero()) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "{} must be positive, but was {}.", name, duration);
+        }
+        return duration;
+    }
+
+    /**
+     * @param duration The duration.
+     * @param name     The name of the duration, used in the exception message.
+     * @return The given duration.
+     * @throws IllegalArgumentException When the duration is negative.
+     */
+    static Duration requireNotNegative(Duration duration, String name) {
+        Objects.requireNonNull(duration, "duration");
+        if (duration.isNegative()) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "{} must not be negative, but was {}.", name, duration);
+        }
+        return duration;
+    }
+}
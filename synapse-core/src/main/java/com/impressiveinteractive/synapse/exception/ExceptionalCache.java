@@ -0,0 +1,285 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrent cache of the results of an {@link ExceptionalFunction}, as configured by a {@link CacheSpec}. The cache
+ * is an {@link ExceptionalFunction} itself: a cached value is returned as is, a cached failure is thrown as is.
+ * Example:
+ * <pre>
+ * ExceptionalCache&lt;String, Customer, IOException&gt; customers = Exceptions.cached(client::fetchCustomer,
+ *         CacheSpec.defaults().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(5)));
+ *
+ * Customer customer = customers.apply(customerId); // Throws IOException
+ * </pre>
+ * <p>
+ * Loading is single-flight per key: while one thread calls the function for a key, other threads requesting that key
+ * wait for and share its outcome, even when that outcome is a failure that is not cached. Reading a cached entry does
+ * not block. When the cache is bounded, each request is counted in a {@link FrequencySketch} and a new entry is only
+ * kept when the cache is full if it was requested more often than the least recently used entry. This keeps popular
+ * entries in the cache when many keys are requested only once. Expired entries are replaced when their key is
+ * requested again, or evicted when the cache is full.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ * @param <E> The type of the checked exception thrown by the function.
+ * @see Exceptions#cached(ExceptionalFunction, CacheSpec)
+ */
+public final class ExceptionalCache<K, V, E extends Exception> implements ExceptionalFunction<K, V, E> {
+
+    private final ExceptionalFunction<? super K, ? extends V, ? extends E> function;
+    private final long maximumSize;
+    private final long expireNanos;
+    private final long failureNanos;
+    private final LongSupplier ticker;
+
+    private final ConcurrentHashMap<K, Node<K, V>> nodes = new ConcurrentHashMap<>();
+    private final FrequencySketch sketch;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Node<K, V> order = new Node<>(null, null);
+    private long linked;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param function The function to cache.
+     * @param spec     The size, expiry and failure caching of the cache.
+     * @param ticker   The source of {@link System#nanoTime()} like timestamps.
+     */
+    ExceptionalCache(
+            ExceptionalFunction<? super K, ? extends V, ? extends E> function, CacheSpec spec, LongSupplier ticker) {
+        this.function = function;
+        this.maximumSize = spec.getMaximumSize();
+        this.expireNanos = Durations.toNanos(spec.getExpireAfterWrite());
+        this.failureNanos = Durations.toNanos(spec.getFailureTtl());
+        this.ticker = ticker;
+        this.sketch = maximumSize == Long.MAX_VALUE ? null : new FrequencySketch(maximumSize);
+        order.previous = order;
+        order.next = order;
+    }
+
+    /**
+     * Get the cached outcome for the given key, or call the function when there is none.
+     *
+     * @param key The key.
+     * @return The value for the key.
+     * @throws E When the function failed for the key, now or within the failure caching duration.
+     */
+    @Override
+    public V apply(K key) throws E {
+        Node<K, V> node = nodes.get(key);
+        if (node != null) {
+            Outcome<V> outcome = node.outcome;
+            if (outcome != null && outcome.isValid(ticker)) {
+                hits.increment();
+                recordAccess(node);
+                return outcome.<E>get();
+            }
+        }
+        misses.increment();
+        return load(key).<E>get();
+    }
+
+    /**
+     * Remove the entry for the given key. A load in progress for the key is not cancelled, but its outcome is not
+     * cached.
+     *
+     * @param key The key.
+     */
+    public void invalidate(K key) {
+        Node<K, V> node = nodes.remove(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void invalidateAll() {
+        for (K key : nodes.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * @return The amount of entries, including those that are being loaded or have expired but were not removed yet.
+     */
+    public long size() {
+        return nodes.mappingCount();
+    }
+
+    /**
+     * @return A snapshot of the statistics of this cache.
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), loadFailures.sum(), evictions.sum());
+    }
+
+    private Outcome<V> load(K key) {
+        Node<K, V> created = new Node<>(key, new CompletableFuture<>());
+        while (true) {
+            Node<K, V> existing = nodes.putIfAbsent(key, created);
+            if (existing == null) {
+                return compute(created);
+            }
+            Outcome<V> outcome = existing.outcome;
+            if (outcome == null) {
+                return existing.flight.join();
+            } else if (outcome.isValid(ticker)) {
+                return outcome;
+            } else if (nodes.replace(key, existing, created)) {
+                unlink(existing);
+                return compute(created);
+            }
+        }
+    }
+
+    private Outcome<V> compute(Node<K, V> node) {
+        Outcome<V> outcome;
+        try {
+            outcome = new Outcome<>(function.apply(node.key), null, ticker.getAsLong(), expireNanos);
+        } catch (Throwable e) {
+            loadFailures.increment();
+            outcome = new Outcome<>(null, e, ticker.getAsLong(), e instanceof Exception ? failureNanos : 0);
+        }
+        node.outcome = outcome;
+        if (outcome.failure != null && outcome.ttl == 0) {
+            nodes.remove(node.key, node);
+        } else if (sketch != null) {
+            admit(node);
+        }
+        node.flight.complete(outcome);
+        return outcome;
+    }
+
+    private void recordAccess(Node<K, V> node) {
+        if (sketch == null) {
+            return;
+        }
+        sketch.increment(node.key.hashCode());
+        if (evictionLock.tryLock()) {
+            try {
+                if (node.next != null) {
+                    remove(node);
+                    append(node);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void admit(Node<K, V> candidate) {
+        evictionLock.lock();
+        try {
+            sketch.increment(candidate.key.hashCode());
+            if (nodes.get(candidate.key) != candidate) {
+                return;
+            }
+            append(candidate);
+            while (linked > maximumSize) {
+                Node<K, V> victim = order.next;
+                if (victim == candidate
+                        || sketch.frequency(candidate.key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+                    victim = candidate;
+                }
+                remove(victim);
+                nodes.remove(victim.key, victim);
+                evictions.increment();
+                if (victim == candidate) {
+                    return;
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (sketch == null) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            if (node.next != null) {
+                remove(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void append(Node<K, V> node) {
+        node.previous = order.previous;
+        node.next = order;
+        order.previous.next = node;
+        order.previous = node;
+        linked++;
+    }
+
+    private void remove(Node<K, V> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+        linked--;
+    }
+
+    /**
+     * An entry of the cache. The links to the previous and next entries in access order are guarded by the eviction
+     * lock and are null when the entry is not linked.
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private final CompletableFuture<Outcome<V>> flight;
+        private volatile Outcome<V> outcome;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(K key, CompletableFuture<Outcome<V>> flight) {
+            this.key = key;
+            this.flight = flight;
+        }
+    }
+
+    /**
+     * A loaded value or failure.
+     */
+    private static final class Outcome<V> {
+        private final V value;
+        private final Throwable failure;
+        private final long loadedAt;
+        private final long ttl;
+
+        private Outcome(V value, Throwable failure, long loadedAt, long ttl) {
+            this.value = value;
+            this.failure = failure;
+            this.loadedAt = loadedAt;
+            this.ttl = ttl;
+        }
+
+        private boolean isValid(LongSupplier ticker) {
+            return ttl < 0 || ticker.getAsLong() - loadedAt < ttl;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <E extends Exception> V get() throws E {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw (E) failure;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.function.Function;
+
+/**
+ * Like a regular {@link java.util.function.DoubleSupplier DoubleSupplier}, but can throw checked exceptions. It was
+ * designed to work with {@link Exceptions#wrapExceptionalDoubleSupplier(ExceptionalDoubleSupplier, Function)} to
+ * convert checked exceptions into their wrapped equivalent, without boxing.
+ *
+ * @param <E> the type of exception that can be thrown
+ * @see Exceptions#wrapExceptionalDoubleSupplier(ExceptionalDoubleSupplier, Function)
+ */
+@FunctionalInterface
+public interface ExceptionalDoubleSupplier<E extends Exception> {
+
+    /**
+     * Gets a result.
+     *
+     * @return a result
+     * @throws E thrown in exceptional circumstances
+     */
+    double getAsDouble() throws E;
+}
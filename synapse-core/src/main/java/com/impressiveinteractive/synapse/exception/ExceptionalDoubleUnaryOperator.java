@@ -0,0 +1,24 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.function.Function;
+
+/**
+ * Like a regular {@link java.util.function.DoubleUnaryOperator DoubleUnaryOperator}, but can throw checked exceptions.
+ * It was designed to work with {@link Exceptions#wrapExceptionalDoubleUnaryOperator(ExceptionalDoubleUnaryOperator,
+ * Function)} to convert checked exceptions into their wrapped equivalent, without boxing.
+ *
+ * @param <E> the type of exception that can be thrown
+ * @see Exceptions#wrapExceptionalDoubleUnaryOperator(ExceptionalDoubleUnaryOperator, Function)
+ */
+@FunctionalInterface
+public interface ExceptionalDoubleUnaryOperator<E extends Exception> {
+
+    /**
+     * Applies this operator to the given operand.
+     *
+     * @param operand the operand
+     * @return the operator result
+     * @throws E thrown in exceptional circumstances
+     */
+    double applyAsDouble(double operand) throws E;
+}
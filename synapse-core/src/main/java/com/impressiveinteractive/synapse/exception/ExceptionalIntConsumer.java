@@ -0,0 +1,23 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.function.Function;
+
+/**
+ * Like a regular {@link java.util.function.IntConsumer IntConsumer}, but can throw checked exceptions. It was designed
+ * to work with {@link Exceptions#wrapExceptionalIntConsumer(ExceptionalIntConsumer, Function)} to convert checked
+ * exceptions into their wrapped equivalent, without boxing.
+ *
+ * @param <E> the type of exception that can be thrown
+ * @see Exceptions#wrapExceptionalIntConsumer(ExceptionalIntConsumer, Function)
+ */
+@FunctionalInterface
+public interface ExceptionalIntConsumer<E extends Exception> {
+
+    /**
+     * Performs this operation on the given argument.
+     *
+     * @param value the input argument
+     * @throws E thrown in exceptional circumstances
+     */
+    void accept(int value) throws E;
+}
@@ -0,0 +1,23 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.function.Function;
+
+/**
+ * Like a regular {@link java.util.function.IntSupplier IntSupplier}, but can throw checked exceptions. It was designed
+ * to work with {@link Exceptions#wrapExceptionalIntSupplier(ExceptionalIntSupplier, Function)} to convert checked
+ * exceptions into their wrapped equivalent, without boxing.
+ *
+ * @param <E> the type of exception that can be thrown
+ * @see Exceptions#wrapExceptionalIntSupplier(ExceptionalIntSupplier, Function)
+ */
+@FunctionalInterface
+public interface ExceptionalIntSupplier<E extends Exception> {
+
+    /**
+     * Gets a result.
+     *
+     * @return a result
+     * @throws E thrown in exceptional circumstances
+     */
+    int getAsInt() throws E;
+}
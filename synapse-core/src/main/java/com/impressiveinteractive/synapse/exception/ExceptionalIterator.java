@@ -0,0 +1,37 @@
+package com.impressiveinteractive.synapse.exception;
+
+/**
+ * Like a regular {@link java.util.Iterator Iterator}, but can throw checked exceptions and has to be closed when it is
+ * not iterated until the end. It is returned by operations that produce their elements in the background, like
+ * {@link Exceptions#parallelMap(java.util.Iterator, ExceptionalFunction, int)}.
+ *
+ * @param <T> the type of elements returned by this iterator
+ * @param <E> the type of exception that can be thrown
+ */
+public interface ExceptionalIterator<T, E extends Exception> extends AutoCloseable {
+
+    /**
+     * Returns {@code true} if the iteration has more elements, waiting for the next element when necessary.
+     *
+     * @return {@code true} if the iteration has more elements
+     * @throws E                    thrown in exceptional circumstances
+     * @throws InterruptedException when interrupted while waiting
+     */
+    boolean hasNext() throws E, InterruptedException;
+
+    /**
+     * Returns the next element in the iteration, waiting for it when necessary.
+     *
+     * @return the next element in the iteration
+     * @throws E                                 thrown in exceptional circumstances
+     * @throws InterruptedException              when interrupted while waiting
+     * @throws java.util.NoSuchElementException if the iteration has no more elements
+     */
+    T next() throws E, InterruptedException;
+
+    /**
+     * Stops producing elements and releases the resources used to produce them.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,25 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.function.Function;
+
+/**
+ * Like a regular {@link java.util.function.LongFunction LongFunction}, but can throw checked exceptions. It was
+ * designed to work with {@link Exceptions#wrapExceptionalLongFunction(ExceptionalLongFunction, Function)} to convert
+ * checked exceptions into their wrapped equivalent, without boxing.
+ *
+ * @param <R> the type of the result of the function
+ * @param <E> the type of exception that can be thrown
+ * @see Exceptions#wrapExceptionalLongFunction(ExceptionalLongFunction, Function)
+ */
+@FunctionalInterface
+public interface ExceptionalLongFunction<R, E extends Exception> {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value the function argument
+     * @return the function result
+     * @throws E thrown in exceptional circumstances
+     */
+    R apply(long value) throws E;
+}
@@ -0,0 +1,23 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.function.Function;
+
+/**
+ * Like a regular {@link java.util.function.LongSupplier LongSupplier}, but can throw checked exceptions. It was
+ * designed to work with {@link Exceptions#wrapExceptionalLongSupplier(ExceptionalLongSupplier, Function)} to convert
+ * checked exceptions into their wrapped equivalent, without boxing.
+ *
+ * @param <E> the type of exception that can be thrown
+ * @see Exceptions#wrapExceptionalLongSupplier(ExceptionalLongSupplier, Function)
+ */
+@FunctionalInterface
+public interface ExceptionalLongSupplier<E extends Exception> {
+
+    /**
+     * Gets a result.
+     *
+     * @return a result
+     * @throws E thrown in exceptional circumstances
+     */
+    long getAsLong() throws E;
+}
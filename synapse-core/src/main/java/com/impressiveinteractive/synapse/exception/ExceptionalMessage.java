@@ -1,7 +1,5 @@
 package com.impressiveinteractive.synapse.exception;
 
-import java.util.Arrays;
-
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -9,10 +7,6 @@ import static java.util.Objects.requireNonNull;
  * create an ExceptionalMessage in the SLF4J format.
  */
 public class ExceptionalMessage {
-    private static final int ESCAPE = '\\';
-    private static final int VAR_OPEN = '{';
-    private static final int VAR_CLOSE = '}';
-
     private final String message;
     private final Throwable throwable;
 
@@ -38,59 +32,10 @@ public class ExceptionalMessage {
      * @param args   Used to fill {@code {}} inside the format message.
      * @return An {@link ExceptionalMessage} with a message generated from {@code format} and {@code args} and
      * optionally a throwable, if this was the last element in the {@code args} array.
+     * @see MessageTemplate
      */
     public static ExceptionalMessage parse(String format, Object... args) {
-        StringBuilder messageBuilder = new StringBuilder();
-
-        Object[] values;
-        int valuesIndex = 0;
-        Throwable throwable;
-        if (args.length > 0 && args[args.length - 1] instanceof Throwable) {
-            values = Arrays.copyOfRange(args, 0, args.length - 1);
-            throwable = (Throwable) args[args.length - 1];
-        } else {
-            values = args;
-            throwable = null;
-        }
-
-        boolean escaped = false;
-        boolean open = false;
-
-        int index = 0;
-        while (index < format.length()) {
-            int codePoint = format.codePointAt(index);
-            if (open) {
-                if (codePoint == VAR_CLOSE) {
-                    if (escaped) {
-                        messageBuilder.appendCodePoint(VAR_OPEN).appendCodePoint(VAR_CLOSE);
-                        escaped = false;
-                    } else if (valuesIndex < values.length) {
-                        messageBuilder.append(values[valuesIndex++]);
-                    } else {
-                        messageBuilder.appendCodePoint(VAR_OPEN).appendCodePoint(VAR_CLOSE);
-                    }
-                } else {
-                    messageBuilder.appendCodePoint(VAR_OPEN).appendCodePoint(codePoint);
-                }
-                open = false;
-            } else if (codePoint == VAR_OPEN) {
-                open = true;
-            } else if (codePoint == ESCAPE) {
-                if (escaped) {
-                    messageBuilder.appendCodePoint(ESCAPE);
-                } else {
-                    escaped = true;
-                }
-            } else {
-                if (escaped) {
-                    messageBuilder.appendCodePoint(ESCAPE);
-                    escaped = false;
-                }
-                messageBuilder.appendCodePoint(codePoint);
-            }
-            index += Character.charCount(codePoint);
-        }
-        return new ExceptionalMessage(messageBuilder.toString(), throwable);
+        return MessageTemplate.of(format).parse(args);
     }
 
     /**
@@ -0,0 +1,25 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.function.Function;
+
+/**
+ * Like a regular {@link java.util.function.Predicate Predicate}, but can throw checked exceptions. It was designed to
+ * work with {@link Exceptions#wrapExceptionalPredicate(ExceptionalPredicate, Function)} to convert checked exceptions
+ * into their wrapped equivalent, and with {@link ExceptionalStream#filter(ExceptionalPredicate)}.
+ *
+ * @param <T> the type of the input to the predicate
+ * @param <E> the type of exception that can be thrown
+ * @see Exceptions#wrapExceptionalPredicate(ExceptionalPredicate, Function)
+ */
+@FunctionalInterface
+public interface ExceptionalPredicate<T, E extends Exception> {
+
+    /**
+     * Evaluates this predicate on the given argument.
+     *
+     * @param t the input argument
+     * @return {@code true} if the input argument matches the predicate, otherwise {@code false}
+     * @throws E thrown in exceptional circumstances
+     */
+    boolean test(T t) throws E;
+}
@@ -0,0 +1,327 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A sequential stream whose operations accept lambdas that throw the checked exception {@code E}. The exception is not
+ * wrapped, but thrown as is by the terminal operation. Example:
+ * <pre>
+ * List&lt;String&gt; types = ExceptionalStream.of(paths, IOException.class)
+ *         .filter(Files::isReadable)
+ *         .map(Files::probeContentType)
+ *         .toList(); // Throws IOException
+ * </pre>
+ * <p>
+ * Like a regular {@link Stream}, the operations are lazy and fused: the terminal operation pushes each element through
+ * all stages in a single pass, without intermediate collections or per stage exception handling. Also like a regular
+ * {@link Stream}, an {@link ExceptionalStream} can only be operated upon once.
+ *
+ * @param <T> The type of the elements.
+ * @param <E> The type of the checked exception that can be thrown.
+ */
+public final class ExceptionalStream<T, E extends Exception> implements AutoCloseable {
+
+    private final Stream<?> source;
+    private final Stage<T, E> stage;
+    private boolean linked;
+
+    private ExceptionalStream(Stream<?> source, Stage<T, E> stage) {
+        this.source = source;
+        this.stage = stage;
+    }
+
+    /**
+     * Create an {@link ExceptionalStream} from the given {@link Stream}. Closing the result closes the given stream.
+     *
+     * @param stream        The elements.
+     * @param exceptionType The type of the checked exception that can be thrown by the operations.
+     * @param <T>           The type of the elements.
+     * @param <E>           The type of the checked exception that can be thrown.
+     * @return The {@link ExceptionalStream}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> ExceptionalStream<T, E> of(Stream<T> stream, Class<E> exceptionType) {
+        return new ExceptionalStream<>(stream, downstream -> (Sink<Object, E>) downstream);
+    }
+
+    /**
+     * Create an {@link ExceptionalStream} from the given {@link Iterable}.
+     *
+     * @param iterable      The elements.
+     * @param exceptionType The type of the checked exception that can be thrown by the operations.
+     * @param <T>           The type of the elements.
+     * @param <E>           The type of the checked exception that can be thrown.
+     * @return The {@link ExceptionalStream}.
+     */
+    public static <T, E extends Exception> ExceptionalStream<T, E> of(Iterable<T> iterable, Class<E> exceptionType) {
+        return of(StreamSupport.stream(iterable.spliterator(), false), exceptionType);
+    }
+
+    /**
+     * Transform each element with the given function.
+     *
+     * @param mapper The function.
+     * @param <R>    The type of the transformed elements.
+     * @return The new stream.
+     */
+    public <R> ExceptionalStream<R, E> map(ExceptionalFunction<? super T, ? extends R, ? extends E> mapper) {
+        return link(downstream -> new Chained<T, R, E>(downstream) {
+            @Override
+            public void accept(T t) throws E {
+                downstream.accept(mapper.apply(t));
+            }
+        });
+    }
+
+    /**
+     * Keep only the elements that match the given predicate.
+     *
+     * @param predicate The predicate.
+     * @return The new stream.
+     */
+    public ExceptionalStream<T, E> filter(ExceptionalPredicate<? super T, ? extends E> predicate) {
+        return link(downstream -> new Chained<T, T, E>(downstream) {
+            @Override
+            public void accept(T t) throws E {
+                if (predicate.test(t)) {
+                    downstream.accept(t);
+                }
+            }
+        });
+    }
+
+    /**
+     * Replace each element with the elements of the {@link Stream} produced by the given function. Each produced
+     * stream is closed after its elements have been processed.
+     *
+     * @param mapper The function, which may return null for no elements.
+     * @param <R>    The type of the resulting elements.
+     * @return The new stream.
+     */
+    public <R> ExceptionalStream<R, E> flatMap(
+            ExceptionalFunction<? super T, ? extends Stream<? extends R>, ? extends E> mapper) {
+        return link(downstream -> new Chained<T, R, E>(downstream) {
+            @Override
+            public void accept(T t) throws E {
+                try (Stream<? extends R> stream = mapper.apply(t)) {
+                    if (stream != null) {
+                        Iterator<? extends R> iterator = stream.iterator();
+                        while (!downstream.isDone() && iterator.hasNext()) {
+                            downstream.accept(iterator.next());
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Perform the given action on each element as it passes through.
+     *
+     * @param action The action.
+     * @return The new stream.
+     */
+    public ExceptionalStream<T, E> peek(ExceptionalConsumer<? super T, ? extends E> action) {
+        return link(downstream -> new Chained<T, T, E>(downstream) {
+            @Override
+            public void accept(T t) throws E {
+                action.accept(t);
+                downstream.accept(t);
+            }
+        });
+    }
+
+    /**
+     * Truncate the stream to at most the given amount of elements. No more elements are taken from the source once
+     * the limit is reached.
+     *
+     * @param maxSize The maximum amount of elements.
+     * @return The new stream.
+     */
+    public ExceptionalStream<T, E> limit(long maxSize) {
+        if (maxSize < 0) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Max size must not be negative, but was {}.", maxSize);
+        }
+        return link(downstream -> new Chained<T, T, E>(downstream) {
+            private long remaining = maxSize;
+
+            @Override
+            public void accept(T t) throws E {
+                if (remaining > 0) {
+                    remaining--;
+                    downstream.accept(t);
+                }
+            }
+
+            @Override
+            public boolean isDone() {
+                return remaining == 0 || super.isDone();
+            }
+        });
+    }
+
+    /**
+     * Perform the given action on each element.
+     *
+     * @param action The action.
+     * @throws E When an operation failed.
+     */
+    public void forEach(ExceptionalConsumer<? super T, ? extends E> action) throws E {
+        evaluate(action::accept);
+    }
+
+    /**
+     * Collect the elements with the given {@link Collector}.
+     *
+     * @param collector The collector.
+     * @param <A>       The intermediate accumulation type of the collector.
+     * @param <R>       The result type of the collector.
+     * @return The collected result.
+     * @throws E When an operation failed.
+     */
+    public <A, R> R collect(Collector<? super T, A, R> collector) throws E {
+        A container = collector.supplier().get();
+        BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        evaluate(t -> accumulator.accept(container, t));
+        return collector.finisher().apply(container);
+    }
+
+    /**
+     * @return The elements in a {@link List}.
+     * @throws E When an operation failed.
+     */
+    public List<T> toList() throws E {
+        return collect(Collectors.toList());
+    }
+
+    /**
+     * @return The amount of elements.
+     * @throws E When an operation failed.
+     */
+    public long count() throws E {
+        long[] count = {0};
+        evaluate(t -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Get the first element. No more elements are taken from the source once it is found.
+     *
+     * @return The first element, or empty if there are none.
+     * @throws E                    When an operation failed.
+     * @throws NullPointerException When the first element is null.
+     */
+    public Optional<T> findFirst() throws E {
+        First<T, E> first = new First<>();
+        evaluate(first);
+        return first.found ? Optional.of(first.value) : Optional.empty();
+    }
+
+    /**
+     * Check whether any element matches the given predicate. No more elements are taken from the source once a match
+     * is found.
+     *
+     * @param predicate The predicate.
+     * @return True if any element matches.
+     * @throws E When an operation failed.
+     */
+    public boolean anyMatch(ExceptionalPredicate<? super T, ? extends E> predicate) throws E {
+        return filter(predicate).findFirstPresent();
+    }
+
+    /**
+     * Closes the source of this stream.
+     */
+    @Override
+    public void close() {
+        source.close();
+    }
+
+    private boolean findFirstPresent() throws E {
+        First<T, E> first = new First<>();
+        evaluate(first);
+        return first.found;
+    }
+
+    private <R> ExceptionalStream<R, E> link(Function<Sink<? super R, E>, Sink<T, E>> operation) {
+        markLinked();
+        Stage<T, E> upstream = stage;
+        return new ExceptionalStream<>(source, downstream -> upstream.wrap(operation.apply(downstream)));
+    }
+
+    private void evaluate(Sink<? super T, E> sink) throws E {
+        markLinked();
+        Sink<Object, E> head = stage.wrap(sink);
+        Iterator<?> iterator = source.iterator();
+        while (!head.isDone() && iterator.hasNext()) {
+            head.accept(iterator.next());
+        }
+    }
+
+    private void markLinked() {
+        if (linked) {
+            throw new IllegalStateException("Stream has already been operated upon or closed.");
+        }
+        linked = true;
+    }
+
+    /**
+     * Receives the elements of one stage.
+     */
+    @FunctionalInterface
+    private interface Sink<T, E extends Exception> {
+        void accept(T t) throws E;
+
+        default boolean isDone() {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the sink that receives the source elements, given the sink of the last stage.
+     */
+    @FunctionalInterface
+    private interface Stage<T, E extends Exception> {
+        Sink<Object, E> wrap(Sink<? super T, E> downstream);
+    }
+
+    private abstract static class Chained<T, R, E extends Exception> implements Sink<T, E> {
+        final Sink<? super R, E> downstream;
+
+        Chained(Sink<? super R, E> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public boolean isDone() {
+            return downstream.isDone();
+        }
+    }
+
+    private static final class First<T, E extends Exception> implements Sink<T, E> {
+        private boolean found;
+        private T value;
+
+        @Override
+        public void accept(T t) {
+            if (!found) {
+                found = true;
+                value = t;
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            return found;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.function.Function;
+
+/**
+ * Like a regular {@link java.util.function.ToLongFunction ToLongFunction}, but can throw checked exceptions. It was
+ * designed to work with {@link Exceptions#wrapExceptionalToLongFunction(ExceptionalToLongFunction, Function)} to
+ * convert checked exceptions into their wrapped equivalent, without boxing.
+ *
+ * @param <T> the type of the input to the function
+ * @param <E> the type of exception that can be thrown
+ * @see Exceptions#wrapExceptionalToLongFunction(ExceptionalToLongFunction, Function)
+ */
+@FunctionalInterface
+public interface ExceptionalToLongFunction<T, E extends Exception> {
+
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value the function argument
+     * @return the function result
+     * @throws E thrown in exceptional circumstances
+     */
+    long applyAsLong(T value) throws E;
+}
@@ -1,17 +1,55 @@
 package com.impressiveinteractive.synapse.exception;
 
-import java.util.Arrays;
+import com.impressiveinteractive.synapse.exception.runtime.RuntimeTimeoutException;
+import com.impressiveinteractive.synapse.exception.runtime.SharedExceptions;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 /**
  * Provides utility methods to deal with {@link Throwable} instances. Called {@link Exceptions} (mostly) to avoid
  * collisions with existing libraries.
+ * <p>
+ * The {@code wrapExceptional} methods only wrap checked exceptions. Unchecked exceptions are thrown as is, including
+ * those already wrapped by a nested wrapper, so an exception is wrapped at most once however many wrapped lambdas it
+ * passes.
  */
 public final class Exceptions {
 
+    private static final StackTraceElement[] NO_STACK_TRACE = new StackTraceElement[0];
+
     private Exceptions() {
         throw new AssertionError("Illegal private constructor call.");
     }
@@ -38,8 +76,93 @@ public final class Exceptions {
      */
     public static <T extends Throwable> T format(
             BiFunction<String, Throwable, T> constructor, String message, Object... args) {
-        ExceptionalMessage exceptionalMessage = ExceptionalMessage.parse(message, args);
-        return reduceStackTrace(constructor.apply(exceptionalMessage.getMessage(), exceptionalMessage.getThrowable()));
+        Throwable cause = MessageTemplate.getThrowable(args);
+        String formatted = MessageTemplate.of(message).render(args, 0, cause == null ? args.length : args.length - 1);
+        return reduceStackTrace(constructor.apply(formatted, cause));
+    }
+
+    /**
+     * Like {@link #format(BiFunction, String, Object...)}, but the resulting {@link Throwable} has no stack trace. Use
+     * this for exceptions that are used for flow control, where the stack trace is never looked at. Example:
+     * <pre>
+     * IOException formatted = Exceptions.formatLight(IOException::new, "Testing {}.", "one", cause);
+     *
+     * assertThat(formatted.getStackTrace().length, is(0));
+     * </pre>
+     * <p>
+     * The constructor itself still fills in the stack trace. To avoid that as well, pass a lambda that calls the
+     * {@link Throwable#Throwable(String, Throwable, boolean, boolean)} constructor (or its equivalent on the given
+     * type) with {@code writableStackTrace} set to false.
+     *
+     * @param constructor A lambda that should be a method reference to a {@link Throwable} constructor like
+     *                    {@link Throwable#Throwable(String, Throwable)}.
+     * @param message     The message of the exception.
+     * @param args        Arguments that will replace {} tokens in the given message. Optionally the final object can
+     *                    be a {@link Throwable} that will be used as the result's {@link Throwable#getCause() cause}.
+     * @param <T>         The type of {@link Throwable} created from this message.
+     * @return The {@link Throwable} with the formatted message, an optional cause and no stack trace.
+     * @see #formatLight(int, BiFunction, String, Object...)
+     */
+    public static <T extends Throwable> T formatLight(
+            BiFunction<String, Throwable, T> constructor, String message, Object... args) {
+        return formatLight(0, constructor, message, args);
+    }
+
+    /**
+     * Like {@link #format(BiFunction, String, Object...)}, but the stack trace of the resulting {@link Throwable} is
+     * truncated to the given depth. On Java 9 and later only the frames that are kept are walked. Example:
+     * <pre>
+     * IOException formatted = Exceptions.formatLight(3, IOException::new, "Testing {}.", "one", cause);
+     *
+     * assertThat(formatted.getStackTrace().length, is(3));
+     * </pre>
+     *
+     * @param depth       The maximum amount of stack frames to keep, starting at the caller of this method.
+     * @param constructor A lambda that should be a method reference to a {@link Throwable} constructor like
+     *                    {@link Throwable#Throwable(String, Throwable)}.
+     * @param message     The message of the exception.
+     * @param args        Arguments that will replace {} tokens in the given message. Optionally the final object can
+     *                    be a {@link Throwable} that will be used as the result's {@link Throwable#getCause() cause}.
+     * @param <T>         The type of {@link Throwable} created from this message.
+     * @return The {@link Throwable} with the formatted message, an optional cause and a truncated stack trace.
+     */
+    public static <T extends Throwable> T formatLight(
+            int depth, BiFunction<String, Throwable, T> constructor, String message, Object... args) {
+        if (depth < 0) {
+            throw formatMessage(IllegalArgumentException::new, "Depth must not be negative, but was {}.", depth);
+        }
+        Throwable cause = MessageTemplate.getThrowable(args);
+        String formatted = MessageTemplate.of(message).render(args, 0, cause == null ? args.length : args.length - 1);
+        return reduceStackTrace(constructor.apply(formatted, cause), depth);
+    }
+
+    /**
+     * Like {@link #format(BiFunction, String, Object...)}, but the message is only rendered when it is first requested
+     * through {@link Throwable#getMessage()} or {@link Throwable#toString()}. Use this for exceptions that are often
+     * caught without looking at their message, like in retry loops. The exceptions in the {@code runtime} package
+     * have a suitable {@code lazy} factory method. Example:
+     * <pre>
+     * RuntimeIOException formatted = Exceptions.formatLazy(RuntimeIOException::lazy,
+     *         "Testing {}, {}, {}.", "one", "two", "three", cause);
+     *
+     * assertThat(formatted.getMessage(), is(equalTo("Testing one, two, three."))); // Rendered here
+     * </pre>
+     *
+     * @param constructor A lambda that should be a method reference to a {@link Throwable} constructor or factory
+     *                    method accepting a {@link LazyMessage} and a cause.
+     * @param message     The message of the exception.
+     * @param args        Arguments that will replace {} tokens in the given message. Optionally the final object can
+     *                    be a {@link Throwable} that will be used as the result's {@link Throwable#getCause() cause}.
+     * @param <T>         The type of {@link Throwable} created from this message.
+     * @return The {@link Throwable} with the lazily formatted message and an optional cause.
+     * @see LazyMessage
+     */
+    public static <T extends Throwable> T formatLazy(
+            BiFunction<LazyMessage, Throwable, T> constructor, String message, Object... args) {
+        Throwable cause = MessageTemplate.getThrowable(args);
+        LazyMessage lazy = new LazyMessage(MessageTemplate.of(message), args,
+                cause == null ? args.length : args.length - 1);
+        return reduceStackTrace(constructor.apply(lazy, cause));
     }
 
     /**
@@ -67,15 +190,15 @@ public final class Exceptions {
      */
     public static <T extends Throwable> T formatMessage(
             Function<String, T> constructor, String message, Object... args) {
-        ExceptionalMessage exceptionalMessage = ExceptionalMessage.parse(message, args);
-        Throwable throwable = exceptionalMessage.getThrowable();
+        Throwable throwable = MessageTemplate.getThrowable(args);
+        MessageTemplate template = MessageTemplate.of(message);
         if (throwable != null) {
             IllegalArgumentException iae = new IllegalArgumentException(
                     "Unexpected throwable when formatting message.", throwable);
-            iae.addSuppressed(reduceStackTrace(constructor.apply(exceptionalMessage.getMessage())));
+            iae.addSuppressed(reduceStackTrace(constructor.apply(template.render(args, 0, args.length - 1))));
             throw iae;
         }
-        return reduceStackTrace(constructor.apply(exceptionalMessage.getMessage()));
+        return reduceStackTrace(constructor.apply(template.render(args)));
     }
 
     /**
@@ -217,6 +340,40 @@ public final class Exceptions {
         };
     }
 
+    /**
+     * Wrap the given {@link ExceptionalFunction} in a regular {@link Function}. A checked exception thrown by the
+     * function is wrapped in the unchecked exception {@link UncheckedWrappers registered} for its type, like a
+     * {@link com.impressiveinteractive.synapse.exception.wrapped.WrappedIOException} for an {@link java.io.IOException}
+     * or any of its subclasses, so no wrapper has to be passed. Example:
+     * <pre>
+     * try {
+     *     Stream.of("Apple", "Orange")
+     *             .map(Exceptions.unchecked(this::transform))
+     *             .forEach(LOGGER::info);
+     * } catch (WrappedIOException e) {
+     *     e.unwrap(); // Throws original IOException
+     * }
+     * </pre>
+     *
+     * @param function The function throwing checked exceptions.
+     * @param <I>      The input argument type for the function.
+     * @param <O>      The return type for the function.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalFunction}.
+     * @return A regular {@link Function}.
+     * @see UncheckedWrappers#wrap(Exception)
+     */
+    public static <I, O, E extends Exception> Function<I, O> unchecked(ExceptionalFunction<I, O, E> function) {
+        return i -> {
+            try {
+                return function.apply(i);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw UncheckedWrappers.wrap(e);
+            }
+        };
+    }
+
     /**
      * Short for {@link #wrapExceptionalConsumer(ExceptionalConsumer, Function)}.
      * <p>
@@ -335,9 +492,1170 @@ public final class Exceptions {
         return wrapExceptionalFunction(function, wrapper);
     }
 
-    private static <T extends Throwable> T reduceStackTrace(T exception) {
-        StackTraceElement[] originalStackTrace = exception.getStackTrace();
-        exception.setStackTrace(Arrays.copyOfRange(originalStackTrace, 1, originalStackTrace.length));
+    /**
+     * Wrap the given {@link ExceptionalPredicate} in a regular {@link Predicate}. When the exceptional predicate throws
+     * the checked exception type, it will be wrapped and thrown as the {@link RuntimeException} produced by the given
+     * wrapper. Example:
+     * <pre>
+     * Stream.of("/does/not/exist/text.txt", "/does/not/exist/image.jpg")
+     *         .map(Paths::get)
+     *         .filter(Exceptions.wrapExceptionalPredicate(Files::isHidden, RuntimeIOException::new))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param predicate The predicate throwing checked exceptions.
+     * @param wrapper   Transforms the checked exception to an unchecked exception.
+     * @param <T>       The type of the input to the predicate.
+     * @param <E>       The checked exception type thrown by the {@link ExceptionalPredicate}.
+     * @return A regular {@link Predicate}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> Predicate<T> wrapExceptionalPredicate(
+            ExceptionalPredicate<T, E> predicate,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return t -> {
+            try {
+                return predicate.test(t);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalIntFunction} in a regular {@link IntFunction}, so it can be used in primitive
+     * streams without boxing. When the exceptional function throws the checked exception type, it will be wrapped and
+     * thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * IntStream.range(0, 10)
+     *         .mapToObj(Exceptions.wrapExceptionalIntFunction(this::read, RuntimeIOException::new))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param function The function throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <R>      The return type for the function.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalIntFunction}.
+     * @return A regular {@link IntFunction}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R, E extends Exception> IntFunction<R> wrapExceptionalIntFunction(
+            ExceptionalIntFunction<R, E> function,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return value -> {
+            try {
+                return function.apply(value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalToIntFunction} in a regular {@link ToIntFunction}, so it can be used in
+     * primitive streams without boxing. When the exceptional function throws the checked exception type, it will be
+     * wrapped and thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * Stream.of("Apple", "Orange")
+     *         .mapToInt(Exceptions.wrapExceptionalToIntFunction(this::measure, RuntimeIOException::new))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param function The function throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <T>      The input argument type for the function.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalToIntFunction}.
+     * @return A regular {@link ToIntFunction}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> ToIntFunction<T> wrapExceptionalToIntFunction(
+            ExceptionalToIntFunction<T, E> function,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return value -> {
+            try {
+                return function.applyAsInt(value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalIntConsumer} in a regular {@link IntConsumer}, so it can be used in primitive
+     * streams without boxing. When the exceptional consumer throws the checked exception type, it will be wrapped and
+     * thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * IntStream.range(0, 10)
+     *         .forEach(Exceptions.wrapExceptionalIntConsumer(this::write, RuntimeIOException::new));
+     * </pre>
+     *
+     * @param consumer The consumer throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalIntConsumer}.
+     * @return A regular {@link IntConsumer}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Exception> IntConsumer wrapExceptionalIntConsumer(
+            ExceptionalIntConsumer<E> consumer,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return value -> {
+            try {
+                consumer.accept(value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalIntSupplier} in a regular {@link IntSupplier}, so it can be used in primitive
+     * streams without boxing. When the exceptional supplier throws the checked exception type, it will be wrapped and
+     * thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * IntStream.generate(Exceptions.wrapExceptionalIntSupplier(this::read, RuntimeIOException::new))
+     *         .limit(10)
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalIntSupplier}.
+     * @return A regular {@link IntSupplier}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Exception> IntSupplier wrapExceptionalIntSupplier(
+            ExceptionalIntSupplier<E> supplier,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return () -> {
+            try {
+                return supplier.getAsInt();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalIntUnaryOperator} in a regular {@link IntUnaryOperator}, so it can be used in
+     * primitive streams without boxing. When the exceptional operator throws the checked exception type, it will be
+     * wrapped and thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * IntStream.range(0, 10)
+     *         .map(Exceptions.wrapExceptionalIntUnaryOperator(this::transform, RuntimeIOException::new))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param operator The operator throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalIntUnaryOperator}.
+     * @return A regular {@link IntUnaryOperator}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Exception> IntUnaryOperator wrapExceptionalIntUnaryOperator(
+            ExceptionalIntUnaryOperator<E> operator,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return operand -> {
+            try {
+                return operator.applyAsInt(operand);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalLongFunction} in a regular {@link LongFunction}, so it can be used in primitive
+     * streams without boxing. When the exceptional function throws the checked exception type, it will be wrapped and
+     * thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * LongStream.range(0, 10)
+     *         .mapToObj(Exceptions.wrapExceptionalLongFunction(this::read, RuntimeIOException::new))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param function The function throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <R>      The return type for the function.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalLongFunction}.
+     * @return A regular {@link LongFunction}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R, E extends Exception> LongFunction<R> wrapExceptionalLongFunction(
+            ExceptionalLongFunction<R, E> function,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return value -> {
+            try {
+                return function.apply(value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalToLongFunction} in a regular {@link ToLongFunction}, so it can be used in
+     * primitive streams without boxing. When the exceptional function throws the checked exception type, it will be
+     * wrapped and thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * Stream.of("Apple", "Orange")
+     *         .mapToLong(Exceptions.wrapExceptionalToLongFunction(this::measure, RuntimeIOException::new))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param function The function throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <T>      The input argument type for the function.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalToLongFunction}.
+     * @return A regular {@link ToLongFunction}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> ToLongFunction<T> wrapExceptionalToLongFunction(
+            ExceptionalToLongFunction<T, E> function,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return value -> {
+            try {
+                return function.applyAsLong(value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalLongConsumer} in a regular {@link LongConsumer}, so it can be used in primitive
+     * streams without boxing. When the exceptional consumer throws the checked exception type, it will be wrapped and
+     * thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * LongStream.range(0, 10)
+     *         .forEach(Exceptions.wrapExceptionalLongConsumer(this::write, RuntimeIOException::new));
+     * </pre>
+     *
+     * @param consumer The consumer throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalLongConsumer}.
+     * @return A regular {@link LongConsumer}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Exception> LongConsumer wrapExceptionalLongConsumer(
+            ExceptionalLongConsumer<E> consumer,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return value -> {
+            try {
+                consumer.accept(value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalLongSupplier} in a regular {@link LongSupplier}, so it can be used in primitive
+     * streams without boxing. When the exceptional supplier throws the checked exception type, it will be wrapped and
+     * thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * LongStream.generate(Exceptions.wrapExceptionalLongSupplier(this::read, RuntimeIOException::new))
+     *         .limit(10)
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalLongSupplier}.
+     * @return A regular {@link LongSupplier}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Exception> LongSupplier wrapExceptionalLongSupplier(
+            ExceptionalLongSupplier<E> supplier,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return () -> {
+            try {
+                return supplier.getAsLong();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalLongUnaryOperator} in a regular {@link LongUnaryOperator}, so it can be used in
+     * primitive streams without boxing. When the exceptional operator throws the checked exception type, it will be
+     * wrapped and thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * LongStream.range(0, 10)
+     *         .map(Exceptions.wrapExceptionalLongUnaryOperator(this::transform, RuntimeIOException::new))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param operator The operator throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalLongUnaryOperator}.
+     * @return A regular {@link LongUnaryOperator}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Exception> LongUnaryOperator wrapExceptionalLongUnaryOperator(
+            ExceptionalLongUnaryOperator<E> operator,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return operand -> {
+            try {
+                return operator.applyAsLong(operand);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalDoubleFunction} in a regular {@link DoubleFunction}, so it can be used in
+     * primitive streams without boxing. When the exceptional function throws the checked exception type, it will be
+     * wrapped and thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * DoubleStream.of(0.5, 1.5)
+     *         .mapToObj(Exceptions.wrapExceptionalDoubleFunction(this::read, RuntimeIOException::new))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param function The function throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <R>      The return type for the function.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalDoubleFunction}.
+     * @return A regular {@link DoubleFunction}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R, E extends Exception> DoubleFunction<R> wrapExceptionalDoubleFunction(
+            ExceptionalDoubleFunction<R, E> function,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return value -> {
+            try {
+                return function.apply(value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalToDoubleFunction} in a regular {@link ToDoubleFunction}, so it can be used in
+     * primitive streams without boxing. When the exceptional function throws the checked exception type, it will be
+     * wrapped and thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * Stream.of("Apple", "Orange")
+     *         .mapToDouble(Exceptions.wrapExceptionalToDoubleFunction(this::measure, RuntimeIOException::new))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param function The function throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <T>      The input argument type for the function.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalToDoubleFunction}.
+     * @return A regular {@link ToDoubleFunction}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> ToDoubleFunction<T> wrapExceptionalToDoubleFunction(
+            ExceptionalToDoubleFunction<T, E> function,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return value -> {
+            try {
+                return function.applyAsDouble(value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalDoubleConsumer} in a regular {@link DoubleConsumer}, so it can be used in
+     * primitive streams without boxing. When the exceptional consumer throws the checked exception type, it will be
+     * wrapped and thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * DoubleStream.of(0.5, 1.5)
+     *         .forEach(Exceptions.wrapExceptionalDoubleConsumer(this::write, RuntimeIOException::new));
+     * </pre>
+     *
+     * @param consumer The consumer throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalDoubleConsumer}.
+     * @return A regular {@link DoubleConsumer}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Exception> DoubleConsumer wrapExceptionalDoubleConsumer(
+            ExceptionalDoubleConsumer<E> consumer,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return value -> {
+            try {
+                consumer.accept(value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalDoubleSupplier} in a regular {@link DoubleSupplier}, so it can be used in
+     * primitive streams without boxing. When the exceptional supplier throws the checked exception type, it will be
+     * wrapped and thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * DoubleStream.generate(Exceptions.wrapExceptionalDoubleSupplier(this::read, RuntimeIOException::new))
+     *         .limit(10)
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalDoubleSupplier}.
+     * @return A regular {@link DoubleSupplier}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Exception> DoubleSupplier wrapExceptionalDoubleSupplier(
+            ExceptionalDoubleSupplier<E> supplier,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return () -> {
+            try {
+                return supplier.getAsDouble();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Wrap the given {@link ExceptionalDoubleUnaryOperator} in a regular {@link DoubleUnaryOperator}, so it can be used
+     * in primitive streams without boxing. When the exceptional operator throws the checked exception type, it will be
+     * wrapped and thrown as the {@link RuntimeException} produced by the given wrapper. Example:
+     * <pre>
+     * DoubleStream.of(0.5, 1.5)
+     *         .map(Exceptions.wrapExceptionalDoubleUnaryOperator(this::transform, RuntimeIOException::new))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param operator The operator throwing checked exceptions.
+     * @param wrapper  Transforms the checked exception to an unchecked exception.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalDoubleUnaryOperator}.
+     * @return A regular {@link DoubleUnaryOperator}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Exception> DoubleUnaryOperator wrapExceptionalDoubleUnaryOperator(
+            ExceptionalDoubleUnaryOperator<E> operator,
+            Function<E, ? extends RuntimeException> wrapper) {
+        return operand -> {
+            try {
+                return operator.applyAsDouble(operand);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw wrapper.apply((E) e);
+            }
+        };
+    }
+
+    /**
+     * Convert the given {@link ExceptionalFunction} into a regular {@link Function} that returns a {@link Result}
+     * instead of throwing the checked exception. A failing element does not abort the stream, so all failures can be
+     * collected, for instance with {@link Result#partitioning()}. Example:
+     * <pre>
+     * Result.Partition&lt;List&lt;String&gt;, List&lt;IOException&gt;&gt; types = paths.stream()
+     *         .map(Exceptions.attempt(Files::probeContentType))
+     *         .collect(Result.partitioning());
+     * </pre>
+     *
+     * @param function The function throwing checked exceptions.
+     * @param <I>      The input argument type for the function.
+     * @param <O>      The return type for the function.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalFunction}.
+     * @return A regular {@link Function} returning a {@link Result}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <I, O, E extends Exception> Function<I, Result<O, E>> attempt(ExceptionalFunction<I, O, E> function) {
+        return i -> {
+            try {
+                return Result.success(function.apply(i));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                return Result.failure((E) e);
+            }
+        };
+    }
+
+    /**
+     * Convert the given {@link ExceptionalSupplier} into a regular {@link Supplier} that returns a {@link Result}
+     * instead of throwing the checked exception.
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param <T>      The type of results supplied by the supplier.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalSupplier}.
+     * @return A regular {@link Supplier} returning a {@link Result}.
+     * @see Result#of(ExceptionalSupplier)
+     */
+    public static <T, E extends Exception> Supplier<Result<T, E>> attempt(ExceptionalSupplier<T, E> supplier) {
+        return () -> Result.of(supplier);
+    }
+
+    /**
+     * Convert the given {@link ExceptionalConsumer} into a regular {@link Consumer} that throws the original checked
+     * exception, even though {@link Consumer} does not declare it. Unlike the {@code wrapExceptional} methods, no
+     * wrapping exception is created. Use {@link #rethrowAs(Class)} to be able to catch the checked exception. Example:
+     * <pre>
+     * try {
+     *     Exceptions.rethrowAs(IOException.class);
+     *     Stream.of("Apple", "Orange")
+     *             .forEach(Exceptions.sneaky(this::consume));
+     * } catch (IOException e) {
+     *     // The original IOException
+     * }
+     * </pre>
+     *
+     * @param consumer The consumer throwing checked exceptions.
+     * @param <T>      The type of object consumed by the consumer.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalConsumer}.
+     * @return A regular {@link Consumer} that throws the checked exception undeclared.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> Consumer<T> sneakyConsumer(ExceptionalConsumer<T, E> consumer) {
+        return ((ExceptionalConsumer<T, RuntimeException>) (ExceptionalConsumer<T, ?>) consumer)::accept;
+    }
+
+    /**
+     * Convert the given {@link ExceptionalSupplier} into a regular {@link Supplier} that throws the original checked
+     * exception, even though {@link Supplier} does not declare it. Unlike the {@code wrapExceptional} methods, no
+     * wrapping exception is created.
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param <T>      The type of results supplied by the supplier.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalSupplier}.
+     * @return A regular {@link Supplier} that throws the checked exception undeclared.
+     * @see #sneakyConsumer(ExceptionalConsumer)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> Supplier<T> sneakySupplier(ExceptionalSupplier<T, E> supplier) {
+        return ((ExceptionalSupplier<T, RuntimeException>) (ExceptionalSupplier<T, ?>) supplier)::get;
+    }
+
+    /**
+     * Convert the given {@link ExceptionalFunction} into a regular {@link Function} that throws the original checked
+     * exception, even though {@link Function} does not declare it. Unlike the {@code wrapExceptional} methods, no
+     * wrapping exception is created.
+     *
+     * @param function The function throwing checked exceptions.
+     * @param <I>      The input argument type for the function.
+     * @param <O>      The return type for the function.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalFunction}.
+     * @return A regular {@link Function} that throws the checked exception undeclared.
+     * @see #sneakyConsumer(ExceptionalConsumer)
+     */
+    @SuppressWarnings("unchecked")
+    public static <I, O, E extends Exception> Function<I, O> sneakyFunction(ExceptionalFunction<I, O, E> function) {
+        return ((ExceptionalFunction<I, O, RuntimeException>) (ExceptionalFunction<I, O, ?>) function)::apply;
+    }
+
+    /**
+     * Convert the given {@link ExceptionalPredicate} into a regular {@link Predicate} that throws the original checked
+     * exception, even though {@link Predicate} does not declare it. Unlike the {@code wrapExceptional} methods, no
+     * wrapping exception is created.
+     *
+     * @param predicate The predicate throwing checked exceptions.
+     * @param <T>       The type of the input to the predicate.
+     * @param <E>       The checked exception type thrown by the {@link ExceptionalPredicate}.
+     * @return A regular {@link Predicate} that throws the checked exception undeclared.
+     * @see #sneakyConsumer(ExceptionalConsumer)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> Predicate<T> sneakyPredicate(ExceptionalPredicate<T, E> predicate) {
+        return ((ExceptionalPredicate<T, RuntimeException>) (ExceptionalPredicate<T, ?>) predicate)::test;
+    }
+
+    /**
+     * Short for {@link #sneakyConsumer(ExceptionalConsumer)}.
+     *
+     * @param consumer The consumer throwing checked exceptions.
+     * @param <T>      The type of object consumed by the consumer.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalConsumer}.
+     * @return A regular {@link Consumer} that throws the checked exception undeclared.
+     */
+    public static <T, E extends Exception> Consumer<T> sneaky(ExceptionalConsumer<T, E> consumer) {
+        return sneakyConsumer(consumer);
+    }
+
+    /**
+     * Short for {@link #sneakySupplier(ExceptionalSupplier)}.
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param <T>      The type of results supplied by the supplier.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalSupplier}.
+     * @return A regular {@link Supplier} that throws the checked exception undeclared.
+     */
+    public static <T, E extends Exception> Supplier<T> sneaky(ExceptionalSupplier<T, E> supplier) {
+        return sneakySupplier(supplier);
+    }
+
+    /**
+     * Short for {@link #sneakyFunction(ExceptionalFunction)}.
+     *
+     * @param function The function throwing checked exceptions.
+     * @param <I>      The input argument type for the function.
+     * @param <O>      The return type for the function.
+     * @param <E>      The checked exception type thrown by the {@link ExceptionalFunction}.
+     * @return A regular {@link Function} that throws the checked exception undeclared.
+     */
+    public static <I, O, E extends Exception> Function<I, O> sneaky(ExceptionalFunction<I, O, E> function) {
+        return sneakyFunction(function);
+    }
+
+    /**
+     * Declare that the surrounding code can throw the given checked exception. This method does nothing at runtime,
+     * but it allows catching a checked exception that is thrown undeclared by one of the {@code sneaky} methods, or
+     * declaring it at the boundary of the code that uses them. Example:
+     * <pre>
+     * try {
+     *     Exceptions.rethrowAs(IOException.class);
+     *     paths.forEach(Exceptions.sneaky(Files::delete));
+     * } catch (IOException e) {
+     *     LOGGER.warn("Could not delete all files.", e);
+     * }
+     * </pre>
+     *
+     * @param exceptionType The type of the checked exception.
+     * @param <E>           The type of the checked exception.
+     * @throws E Never actually thrown by this method.
+     */
+    public static <E extends Exception> void rethrowAs(Class<E> exceptionType) throws E {
+        // noop
+    }
+
+    /**
+     * Perform the given action on each element of the given stream in parallel. On the first failure, the remaining
+     * elements are skipped and the original exception is thrown once all running tasks are done. Exceptions thrown by
+     * other elements in the meantime are added to it as {@link Throwable#getSuppressed() suppressed}. This avoids the
+     * reflective copying of exceptions that escape a parallel stream, so the thrown exception keeps its exact type and
+     * cause. It works for checked exceptions as well as for the exceptions thrown by the {@code wrapExceptional}
+     * methods. The stream is closed once the operation ends, so a stream like {@code Files.lines} releases its
+     * resources. Example:
+     * <pre>
+     * Exceptions.parallelForEach(paths.stream(), Files::delete); // Throws IOException
+     * </pre>
+     *
+     * @param stream The elements, which are processed in parallel. Closed when done.
+     * @param action The action.
+     * @param <T>    The type of the elements.
+     * @param <E>    The checked exception type thrown by the action.
+     * @throws E The first exception thrown by the action.
+     */
+    public static <T, E extends Exception> void parallelForEach(
+            Stream<T> stream, ExceptionalConsumer<? super T, ? extends E> action) throws E {
+        ParallelStreams.forEach(stream, action);
+    }
+
+    /**
+     * Transform each element of the given stream in parallel and collect the results. Failures are handled like in
+     * {@link #parallelForEach(Stream, ExceptionalConsumer)}. Example:
+     * <pre>
+     * List&lt;String&gt; types = Exceptions.parallelCollect(paths.stream(), Files::probeContentType, toList());
+     * </pre>
+     *
+     * @param stream    The elements, which are processed in parallel. Closed when done.
+     * @param mapper    The transformation.
+     * @param collector The collector for the transformed elements.
+     * @param <T>       The type of the elements.
+     * @param <U>       The type of the transformed elements.
+     * @param <R>       The result type of the collector.
+     * @param <E>       The checked exception type thrown by the transformation.
+     * @return The collected result.
+     * @throws E The first exception thrown by the transformation.
+     */
+    public static <T, U, R, E extends Exception> R parallelCollect(
+            Stream<T> stream,
+            ExceptionalFunction<? super T, ? extends U, ? extends E> mapper,
+            Collector<? super U, ?, R> collector) throws E {
+        return ParallelStreams.collect(stream, mapper, collector);
+    }
+
+    /**
+     * Apply the given function to all items, with at most {@code maxConcurrency} functions running at the same time.
+     * This is meant for blocking functions, like remote calls or file access, which are a poor fit for parallel
+     * streams. The functions run on virtual threads when the Java version supports them and on platform threads
+     * otherwise. The first failure interrupts the running functions and is thrown as is. Example:
+     * <pre>
+     * List&lt;Customer&gt; customers = Exceptions.parallelMap(customerIds, client::fetchCustomer, 16);
+     * </pre>
+     *
+     * @param items          The items.
+     * @param function       The function to apply to each item.
+     * @param maxConcurrency The maximum amount of functions running at the same time.
+     * @param <T>            The type of the items.
+     * @param <R>            The type of the results.
+     * @param <E>            The checked exception type thrown by the function.
+     * @return The results, in the order of the items.
+     * @throws E                    The first exception thrown by the function.
+     * @throws InterruptedException When interrupted while waiting for the results, in which case the running functions
+     *                              are interrupted as well.
+     */
+    public static <T, R, E extends Exception> List<R> parallelMap(
+            Collection<? extends T> items,
+            ExceptionalFunction<? super T, ? extends R, ? extends E> function,
+            int maxConcurrency) throws E, InterruptedException {
+        List<R> results = new ArrayList<>(items.size());
+        try (ExceptionalIterator<R, E> iterator = parallelMap(items.iterator(), function, maxConcurrency)) {
+            while (iterator.hasNext()) {
+                results.add(iterator.next());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Like {@link #parallelMap(Collection, ExceptionalFunction, int)}, but the results are returned through an
+     * {@link ExceptionalIterator} as they become available, in the order of the source. The source is read by the
+     * thread consuming the results and at most twice {@code maxConcurrency} results are buffered, so it can be used
+     * for large or unbounded sources. The iterator should be closed when it is not iterated until the end. Example:
+     * <pre>
+     * try (ExceptionalIterator&lt;Customer, IOException&gt; customers =
+     *              Exceptions.parallelMap(customerIds.iterator(), client::fetchCustomer, 16)) {
+     *     while (customers.hasNext()) {
+     *         process(customers.next());
+     *     }
+     * }
+     * </pre>
+     *
+     * @param source         The source items.
+     * @param function       The function to apply to each item.
+     * @param maxConcurrency The maximum amount of functions running at the same time.
+     * @param <T>            The type of the items.
+     * @param <R>            The type of the results.
+     * @param <E>            The checked exception type thrown by the function.
+     * @return An {@link ExceptionalIterator} over the results.
+     */
+    public static <T, R, E extends Exception> ExceptionalIterator<R, E> parallelMap(
+            Iterator<? extends T> source,
+            ExceptionalFunction<? super T, ? extends R, ? extends E> function,
+            int maxConcurrency) {
+        return new ParallelMapper<>(source, function, maxConcurrency);
+    }
+
+    /**
+     * Get a value from the given supplier on the given executor. Like {@link CompletableFuture#supplyAsync}, but the
+     * supplier may throw a checked exception, which completes the resulting future exceptionally as is. Use
+     * {@link #join(CompletionStage, Class)} to get it back as the checked exception. Example:
+     * <pre>
+     * CompletableFuture&lt;List&lt;String&gt;&gt; lines =
+     *         Exceptions.async(() -&gt; Files.readAllLines(path), executor);
+     * </pre>
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param executor The executor to run the supplier on.
+     * @param <T>      The type of the value.
+     * @param <E>      The checked exception type thrown by the supplier.
+     * @return The future value.
+     */
+    public static <T, E extends Exception> CompletableFuture<T> async(
+            ExceptionalSupplier<? extends T, ? extends E> supplier, Executor executor) {
+        return CompletionStages.supply(supplier, executor);
+    }
+
+    /**
+     * Transform the value of the given stage with a function that throws checked exceptions. Like
+     * {@link CompletionStage#thenApply}, but an exception thrown by the function completes the resulting future as is,
+     * without wrapping it in a runtime exception first. When the given stage failed, the resulting future fails with
+     * the same exception, unwrapped from its {@link CompletionException} if needed. Example:
+     * <pre>
+     * String type = Exceptions.join(
+     *         Exceptions.thenApplyExceptional(download(url), Files::probeContentType), IOException.class);
+     * </pre>
+     *
+     * @param stage    The stage whose value to transform.
+     * @param function The function throwing checked exceptions.
+     * @param <T>      The type of the value of the stage.
+     * @param <R>      The type of the transformed value.
+     * @param <E>      The checked exception type thrown by the function.
+     * @return The future transformed value.
+     */
+    public static <T, R, E extends Exception> CompletableFuture<R> thenApplyExceptional(
+            CompletionStage<? extends T> stage, ExceptionalFunction<? super T, ? extends R, ? extends E> function) {
+        return CompletionStages.apply(stage, function);
+    }
+
+    /**
+     * Consume the value of the given stage with an action that throws checked exceptions. Failures are handled like in
+     * {@link #thenApplyExceptional(CompletionStage, ExceptionalFunction)}. Example:
+     * <pre>
+     * Exceptions.thenAcceptExceptional(download(url), Files::delete);
+     * </pre>
+     *
+     * @param stage  The stage whose value to consume.
+     * @param action The action throwing checked exceptions.
+     * @param <T>    The type of the value of the stage.
+     * @param <E>    The checked exception type thrown by the action.
+     * @return A future that completes once the action is done.
+     */
+    public static <T, E extends Exception> CompletableFuture<Void> thenAcceptExceptional(
+            CompletionStage<? extends T> stage, ExceptionalConsumer<? super T, ? extends E> action) {
+        return CompletionStages.accept(stage, action);
+    }
+
+    /**
+     * Wait for the given stage to complete and return its value. Unlike {@link CompletableFuture#join()}, a failure of
+     * the given exception type is thrown as is instead of wrapped in a {@link CompletionException}, and so is a
+     * {@link RuntimeException} or {@link Error}. A {@link WrappedException} of the given exception type is unwrapped.
+     * Other failures are still thrown wrapped. Example:
+     * <pre>
+     * List&lt;String&gt; lines = Exceptions.join(Exceptions.async(() -&gt; Files.readAllLines(path), executor),
+     *         IOException.class); // Throws IOException
+     * </pre>
+     *
+     * @param stage         The stage to wait for.
+     * @param exceptionType The checked exception type to throw as is.
+     * @param <T>           The type of the value.
+     * @param <E>           The checked exception type to throw as is.
+     * @return The value.
+     * @throws E When the stage failed with the given exception type, or with a {@link WrappedException} of it.
+     */
+    public static <T, E extends Exception> T join(CompletionStage<T> stage, Class<E> exceptionType) throws E {
+        return CompletionStages.join(stage, exceptionType);
+    }
+
+    /**
+     * Remember the first value of the given supplier. Only one thread calls the supplier at a time, other threads
+     * wait for its outcome. Once a value is computed, it is returned without locking. A failure is thrown to all
+     * threads that waited for it and the next call tries again. The result is an {@link ExceptionalSupplier} as well,
+     * so it can be combined with {@link #wrapExceptionalSupplier(ExceptionalSupplier, Function)}. Example:
+     * <pre>
+     * ExceptionalSupplier&lt;Config, IOException&gt; config = Exceptions.memoize(() -&gt; Config.load(path));
+     * </pre>
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param <T>      The type of the value.
+     * @param <E>      The checked exception type thrown by the supplier.
+     * @return The memoizing supplier.
+     * @see #memoize(ExceptionalSupplier, MemoizeSpec)
+     */
+    public static <T, E extends Exception> ExceptionalSupplier<T, E> memoize(
+            ExceptionalSupplier<? extends T, ? extends E> supplier) {
+        return memoize(supplier, MemoizeSpec.defaults());
+    }
+
+    /**
+     * Like {@link #memoize(ExceptionalSupplier)}, but values can expire or be refreshed ahead of their expiry and
+     * failures can be cached, as configured by the given {@link MemoizeSpec}. Example:
+     * <pre>
+     * ExceptionalSupplier&lt;Connection, SQLException&gt; connection = Exceptions.memoize(this::connect,
+     *         MemoizeSpec.defaults().expireAfter(Duration.ofMinutes(5)).cacheFailuresFor(Duration.ofSeconds(1)));
+     * </pre>
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param spec     How long to keep values and failures.
+     * @param <T>      The type of the value.
+     * @param <E>      The checked exception type thrown by the supplier.
+     * @return The memoizing supplier.
+     */
+    public static <T, E extends Exception> ExceptionalSupplier<T, E> memoize(
+            ExceptionalSupplier<? extends T, ? extends E> supplier, MemoizeSpec spec) {
+        return new Memoizer<>(supplier, spec, System::nanoTime);
+    }
+
+    /**
+     * Cache the results of the given function per key, as configured by the given {@link CacheSpec}. Only one thread
+     * at a time calls the function for the same key, other threads requesting that key wait for its outcome. The
+     * resulting {@link ExceptionalCache} is an {@link ExceptionalFunction} as well and exposes
+     * {@link ExceptionalCache#stats() statistics}. Example:
+     * <pre>
+     * ExceptionalCache&lt;String, Customer, IOException&gt; customers = Exceptions.cached(client::fetchCustomer,
+     *         CacheSpec.defaults().maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(5)));
+     * </pre>
+     *
+     * @param function The function throwing checked exceptions.
+     * @param spec     The size, expiry and failure caching of the cache.
+     * @param <K>      The type of the keys.
+     * @param <V>      The type of the values.
+     * @param <E>      The checked exception type thrown by the function.
+     * @return The caching function.
+     */
+    public static <K, V, E extends Exception> ExceptionalCache<K, V, E> cached(
+            ExceptionalFunction<? super K, ? extends V, ? extends E> function, CacheSpec spec) {
+        return new ExceptionalCache<>(function, spec, System::nanoTime);
+    }
+
+    /**
+     * Protect the given function with a {@link CircuitBreaker}, which fails fast with a shared, stackless
+     * {@link CircuitOpenException} instead of calling the function while it fails too often. Example:
+     * <pre>
+     * CircuitBreaker&lt;String, Customer, IOException&gt; customers = Exceptions.circuitBreaker(client::fetchCustomer,
+     *         BreakerSpec.defaults().recordOn(IOException.class));
+     * </pre>
+     *
+     * @param function The function throwing checked exceptions.
+     * @param spec     When the breaker opens and how it recovers.
+     * @param <I>      The input type of the function.
+     * @param <O>      The output type of the function.
+     * @param <E>      The checked exception type thrown by the function.
+     * @return The protected function.
+     */
+    public static <I, O, E extends Exception> CircuitBreaker<I, O, E> circuitBreaker(
+            ExceptionalFunction<? super I, ? extends O, ? extends E> function, BreakerSpec spec) {
+        return new CircuitBreaker<>(function, spec, System::nanoTime);
+    }
+
+    /**
+     * Call the given supplier on another thread and wait for it at most the given timeout. On timeout the call is
+     * interrupted, or abandoned when it does not respond to interruption, and a {@link RuntimeTimeoutException} is
+     * thrown. The call runs on a virtual thread when available. When the calling thread is interrupted while waiting,
+     * the call is interrupted as well, the interrupt flag is restored and a {@link CancellationException} is thrown.
+     * Example:
+     * <pre>
+     * String content = Exceptions.withTimeout(() -&gt; client.fetch(url), Duration.ofSeconds(2)).get();
+     * </pre>
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param timeout  The maximum time to wait for each call. Must be positive.
+     * @param <T>      The type of the value.
+     * @param <E>      The checked exception type thrown by the supplier.
+     * @return The supplier with a timeout.
+     */
+    public static <T, E extends Exception> ExceptionalSupplier<T, E> withTimeout(
+            ExceptionalSupplier<? extends T, ? extends E> supplier, Duration timeout) {
+        Durations.requirePositive(timeout, "Timeout");
+        return () -> TimedCalls.withTimeout(supplier, timeout);
+    }
+
+    /**
+     * Call the given supplier, and call it again when it did not complete within the given delay, up to the given
+     * amount of concurrent attempts. The value of the first successful attempt is returned and the other attempts are
+     * interrupted. This cuts the tail latency of calls to replicated services, where a slow call is usually not slow
+     * the second time. When an attempt fails and no other attempt is in flight, the next attempt starts right away.
+     * When all attempts fail, the last failure is thrown with the others added as
+     * {@link Throwable#getSuppressed() suppressed}. The attempts run on virtual threads when available. Example:
+     * <pre>
+     * String content = Exceptions.hedged(() -&gt; replicas.next().fetch(url), Duration.ofMillis(50), 3).get();
+     * </pre>
+     *
+     * @param supplier    The supplier throwing checked exceptions.
+     * @param delay       The delay before starting another attempt, usually around the 95th percentile latency. Must
+     *                    not be negative.
+     * @param maxAttempts The maximum amount of attempts, including the first one. Must be positive.
+     * @param <T>         The type of the value.
+     * @param <E>         The checked exception type thrown by the supplier.
+     * @return The hedging supplier.
+     */
+    public static <T, E extends Exception> ExceptionalSupplier<T, E> hedged(
+            ExceptionalSupplier<? extends T, ? extends E> supplier, Duration delay, int maxAttempts) {
+        Durations.requireNotNegative(delay, "Delay");
+        if (maxAttempts < 1) {
+            throw formatMessage(IllegalArgumentException::new,
+                    "Max attempts must be positive, but was {}.", maxAttempts);
+        }
+        return () -> TimedCalls.hedged(supplier, delay, maxAttempts);
+    }
+
+    /**
+     * Like {@link #bulkhead(ExceptionalFunction, int, Duration, boolean)}, with unfair queueing.
+     *
+     * @param function      The function throwing checked exceptions.
+     * @param maxConcurrent The maximum amount of concurrent calls. Must be positive.
+     * @param maxWait       The maximum time to wait for a permit. Must not be negative.
+     * @param <I>           The input type of the function.
+     * @param <O>           The output type of the function.
+     * @param <E>           The checked exception type thrown by the function.
+     * @return The limited function.
+     */
+    public static <I, O, E extends Exception> ExceptionalFunction<I, O, E> bulkhead(
+            ExceptionalFunction<? super I, ? extends O, ? extends E> function, int maxConcurrent, Duration maxWait) {
+        return bulkhead(function, maxConcurrent, maxWait, false);
+    }
+
+    /**
+     * Limit the amount of concurrent calls to the given function, so a slow dependency cannot take all threads of a
+     * shared pool. A call waits at most the given maximum wait for a permit and is rejected with a shared, stackless
+     * {@link BulkheadFullException} otherwise. When interrupted while waiting, the interrupt flag is restored and a
+     * {@link CancellationException} is thrown. Example:
+     * <pre>
+     * ExceptionalFunction&lt;String, Customer, IOException&gt; customers =
+     *         Exceptions.bulkhead(client::fetchCustomer, 10, Duration.ofMillis(50), true);
+     * </pre>
+     *
+     * @param function      The function throwing checked exceptions.
+     * @param maxConcurrent The maximum amount of concurrent calls. Must be positive.
+     * @param maxWait       The maximum time to wait for a permit. Must not be negative.
+     * @param fair          True to hand out permits in the order the calls arrived, false to let new calls take a
+     *                      permit ahead of waiting calls, which has a higher throughput.
+     * @param <I>           The input type of the function.
+     * @param <O>           The output type of the function.
+     * @param <E>           The checked exception type thrown by the function.
+     * @return The limited function.
+     */
+    public static <I, O, E extends Exception> ExceptionalFunction<I, O, E> bulkhead(
+            ExceptionalFunction<? super I, ? extends O, ? extends E> function,
+            int maxConcurrent,
+            Duration maxWait,
+            boolean fair) {
+        if (maxConcurrent < 1) {
+            throw formatMessage(IllegalArgumentException::new,
+                    "Max concurrent must be positive, but was {}.", maxConcurrent);
+        }
+        Durations.requireNotNegative(maxWait, "Max wait");
+        return new Bulkhead<>(function, maxConcurrent, Durations.toNanos(maxWait), fair);
+    }
+
+    /**
+     * Like {@link #rateLimited(ExceptionalFunction, double, Duration)}, rejecting calls that exceed the rate right
+     * away.
+     *
+     * @param function         The function throwing checked exceptions.
+     * @param permitsPerSecond The maximum rate of calls. Must be positive.
+     * @param <I>              The input type of the function.
+     * @param <O>              The output type of the function.
+     * @param <E>              The checked exception type thrown by the function.
+     * @return The limited function.
+     */
+    public static <I, O, E extends Exception> ExceptionalFunction<I, O, E> rateLimited(
+            ExceptionalFunction<? super I, ? extends O, ? extends E> function, double permitsPerSecond) {
+        return rateLimited(function, permitsPerSecond, Duration.ZERO);
+    }
+
+    /**
+     * Limit the rate of calls to the given function with a token bucket holding up to a second worth of permits, and
+     * at least one. A call that exceeds the rate waits for its permit on the calling thread, in the order the calls
+     * arrived, when it becomes available within the given maximum wait. Otherwise it is rejected with a shared,
+     * stackless {@link RateLimitExceededException}. When interrupted while waiting, the interrupt flag is restored and
+     * a {@link CancellationException} is thrown. Example:
+     * <pre>
+     * ExceptionalFunction&lt;String, Customer, IOException&gt; customers =
+     *         Exceptions.rateLimited(client::fetchCustomer, 100, Duration.ofMillis(20));
+     * </pre>
+     *
+     * @param function         The function throwing checked exceptions.
+     * @param permitsPerSecond The maximum rate of calls. Must be positive.
+     * @param maxWait          The maximum time to wait for a permit. Must not be negative.
+     * @param <I>              The input type of the function.
+     * @param <O>              The output type of the function.
+     * @param <E>              The checked exception type thrown by the function.
+     * @return The limited function.
+     */
+    public static <I, O, E extends Exception> ExceptionalFunction<I, O, E> rateLimited(
+            ExceptionalFunction<? super I, ? extends O, ? extends E> function,
+            double permitsPerSecond,
+            Duration maxWait) {
+        if (!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+            throw formatMessage(IllegalArgumentException::new,
+                    "Permits per second must be positive, but was {}.", permitsPerSecond);
+        }
+        Durations.requireNotNegative(maxWait, "Max wait");
+        return new RateLimiter<>(function, permitsPerSecond, Durations.toNanos(maxWait), System::nanoTime);
+    }
+
+    /**
+     * Retry the given supplier as configured by the given {@link RetryPolicy}. The calling thread sleeps between
+     * attempts, which is cheap on a virtual thread; use
+     * {@link #retryAsync(ExceptionalSupplier, RetryPolicy, ScheduledExecutorService)} to avoid blocking platform
+     * threads. When the policy gives up, the last failure is thrown as is, with the failures of the earlier attempts
+     * added as {@link Throwable#getSuppressed() suppressed}. When interrupted while sleeping, the last failure is
+     * thrown and the interrupt flag is restored. Example:
+     * <pre>
+     * ExceptionalSupplier&lt;String, IOException&gt; content = Exceptions.retry(() -&gt; client.fetch(url),
+     *         RetryPolicy.defaults().maxAttempts(5).retryOn(IOException.class));
+     * </pre>
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param policy   How to retry.
+     * @param <T>      The type of the value.
+     * @param <E>      The checked exception type thrown by the supplier.
+     * @return The retrying supplier.
+     */
+    public static <T, E extends Exception> ExceptionalSupplier<T, E> retry(
+            ExceptionalSupplier<? extends T, ? extends E> supplier, RetryPolicy policy) {
+        return () -> Retries.call(supplier, policy);
+    }
+
+    /**
+     * Like {@link #retry(ExceptionalSupplier, RetryPolicy)}, but for a function.
+     *
+     * @param function The function throwing checked exceptions.
+     * @param policy   How to retry.
+     * @param <I>      The input type of the function.
+     * @param <O>      The output type of the function.
+     * @param <E>      The checked exception type thrown by the function.
+     * @return The retrying function.
+     */
+    public static <I, O, E extends Exception> ExceptionalFunction<I, O, E> retry(
+            ExceptionalFunction<? super I, ? extends O, ? extends E> function, RetryPolicy policy) {
+        return input -> Retries.call(() -> function.apply(input), policy);
+    }
+
+    /**
+     * Like {@link #retry(ExceptionalSupplier, RetryPolicy)}, but the attempts run on the given scheduler and no thread
+     * is blocked between attempts. The resulting future completes with the value of the first successful attempt, or
+     * with the last failure as is. Use {@link #join(CompletionStage, Class)} to get it back as the checked exception.
+     *
+     * @param supplier  The supplier throwing checked exceptions.
+     * @param policy    How to retry.
+     * @param scheduler The scheduler to run the attempts on.
+     * @param <T>       The type of the value.
+     * @param <E>       The checked exception type thrown by the supplier.
+     * @return The future value.
+     */
+    public static <T, E extends Exception> CompletableFuture<T> retryAsync(
+            ExceptionalSupplier<? extends T, ? extends E> supplier,
+            RetryPolicy policy,
+            ScheduledExecutorService scheduler) {
+        return Retries.callAsync(supplier, policy, scheduler);
+    }
+
+    /**
+     * Create a wrapper for the {@code wrapExceptional} methods that ignores the checked exception and always returns
+     * the same {@link SharedExceptions shared} instance. Nothing is allocated or captured when the wrapped lambda
+     * fails, but the original exception is lost, so only use this when it carries no information of interest. Example:
+     * <pre>
+     * Stream.of("Apple", "Orange")
+     *         .map(Exceptions.wrap(this::parse, Exceptions.sharedWrapper(RuntimeIOException.class, "No match.")))
+     *         .forEach(LOGGER::info);
+     * </pre>
+     *
+     * @param type    The type of the shared exception.
+     * @param message The constant message of the shared exception.
+     * @param <E>     The checked exception type that is replaced.
+     * @param <T>     The type of the shared exception.
+     * @return A wrapper that always returns the same shared exception.
+     * @see SharedExceptions#of(Class, String)
+     */
+    public static <E extends Exception, T extends RuntimeException> Function<E, T> sharedWrapper(
+            Class<T> type, String message) {
+        T shared = SharedExceptions.of(type, message);
+        return e -> shared;
+    }
+
+    private static <T extends Throwable> T reduceStackTrace(T exception) {
+        exception.setStackTrace(StackFrames.trim(exception));
+        return exception;
+    }
+
+    private static <T extends Throwable> T reduceStackTrace(T exception, int depth) {
+        exception.setStackTrace(depth == 0 ? NO_STACK_TRACE : StackFrames.trim(exception, depth));
         return exception;
     }
 }
@@ -0,0 +1,80 @@
+package com.impressiveinteractive.synapse.exception;
+
+/**
+ * Estimates how often keys were requested recently, in a fixed amount of memory. This is a count-min sketch with four
+ * counters per key, each capped at 15. All counters are halved once the amount of increments reaches ten times the
+ * width of the sketch, so old popularity fades. Increments are not atomic: concurrent increments of the same counter
+ * may be lost, which only makes the estimate slightly lower.
+ */
+final class FrequencySketch {
+
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x97cb3127, 0xb9f0b9f9, 0x5f3bd5b5, 0x2f1bb5c9};
+    private static final int MAX_WIDTH = 1 << 24;
+
+    private final byte[] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param maximumSize The maximum amount of entries of the cache using this sketch.
+     */
+    FrequencySketch(long maximumSize) {
+        int width = (int) Math.min(MAX_WIDTH, Math.max(16, maximumSize));
+        width = Integer.highestOneBit(width - 1) << 1;
+        this.counters = new byte[width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    /**
+     * Count a request of the key with the given hash code.
+     *
+     * @param hashCode The hash code of the key.
+     */
+    void increment(int hashCode) {
+        int hash = spread(hashCode);
+        boolean added = false;
+        for (int seed : SEEDS) {
+            int index = index(hash, seed);
+            if (counters[index] < MAX_COUNT) {
+                counters[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * @param hashCode The hash code of the key.
+     * @return The estimated amount of recent requests of the key, at most 15.
+     */
+    int frequency(int hashCode) {
+        int hash = spread(hashCode);
+        int frequency = MAX_COUNT;
+        for (int seed : SEEDS) {
+            frequency = Math.min(frequency, counters[index(hash, seed)]);
+        }
+        return frequency;
+    }
+
+    private void reset() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] >>= 1;
+        }
+        additions /= 2;
+    }
+
+    private int index(int hash, int seed) {
+        int h = hash * seed;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9e3779b9;
+        return h ^ (h >>> 15);
+    }
+}
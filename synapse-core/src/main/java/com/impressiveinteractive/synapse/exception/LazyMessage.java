@@ -0,0 +1,92 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.io.Serializable;
+
+/**
+ * A message that is rendered from a {@link MessageTemplate} the first time it is requested. The rendered message is
+ * memoized, after which the arguments are released. The exceptions in the {@code runtime} and {@code wrapped} packages
+ * accept a {@link LazyMessage} in their {@code lazy} factory methods, so the formatting cost is only paid when somebody
+ * actually reads the message of the exception. Example:
+ * <pre>
+ * throw RuntimeIOException.lazy(LazyMessage.of("Could not read {} from {}.", file, directory), cause);
+ * </pre>
+ * <p>
+ * Note that the arguments are referenced until the message is rendered, so their {@link Object#toString()} should not
+ * depend on state that changes in the meantime.
+ *
+ * @see Exceptions#formatLazy(java.util.function.BiFunction, String, Object...)
+ */
+public final class LazyMessage implements Serializable {
+
+    private volatile Object state;
+
+    /**
+     * Create a {@link LazyMessage} for the given format and arguments. All arguments are used for substitution,
+     * including a trailing {@link Throwable}.
+     *
+     * @param format The message format, where {@code {}} will be replaced with elements from {@code args}.
+     * @param args   Used to fill {@code {}} inside the format message.
+     * @return A {@link LazyMessage} that renders the given format and arguments when requested.
+     */
+    public static LazyMessage of(String format, Object... args) {
+        return new LazyMessage(MessageTemplate.of(format), args, args.length);
+    }
+
+    /**
+     * Create a {@link LazyMessage} for the first {@code count} elements of the given arguments.
+     *
+     * @param template The template to render.
+     * @param args     The arguments, which are not copied.
+     * @param count    The amount of arguments to use.
+     */
+    LazyMessage(MessageTemplate template, Object[] args, int count) {
+        this.state = new Pending(template, args, count);
+    }
+
+    private LazyMessage(String rendered) {
+        this.state = rendered;
+    }
+
+    /**
+     * @return True if the message has already been rendered.
+     */
+    public boolean isRendered() {
+        return state instanceof String;
+    }
+
+    /**
+     * Get the message, rendering it if this is the first request.
+     *
+     * @return The rendered message.
+     */
+    @Override
+    public String toString() {
+        Object current = state;
+        if (current instanceof String) {
+            return (String) current;
+        }
+        String rendered = ((Pending) current).render();
+        state = rendered;
+        return rendered;
+    }
+
+    private Object writeReplace() {
+        return new LazyMessage(toString());
+    }
+
+    private static final class Pending {
+        private final MessageTemplate template;
+        private final Object[] args;
+        private final int count;
+
+        private Pending(MessageTemplate template, Object[] args, int count) {
+            this.template = template;
+            this.args = args;
+            this.count = count;
+        }
+
+        private String render() {
+            return template.render(args, 0, count);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.time.Duration;
+
+/**
+ * Configures how long {@link Exceptions#memoize(ExceptionalSupplier, MemoizeSpec)} keeps values and failures. Instances
+ * are immutable, each setting returns a copy. Example:
+ * <pre>
+ * MemoizeSpec spec = MemoizeSpec.defaults()
+ *         .expireAfter(Duration.ofMinutes(10))
+ *         .refreshAfter(Duration.ofMinutes(8))
+ *         .cacheFailuresFor(Duration.ofSeconds(5));
+ * </pre>
+ * <p>
+ * By default values never expire and failures are not cached, so the next call tries again.
+ */
+public final class MemoizeSpec {
+
+    private static final MemoizeSpec DEFAULTS = new MemoizeSpec(null, null, Duration.ZERO);
+
+    private final Duration expireAfter;
+    private final Duration refreshAfter;
+    private final Duration failureTtl;
+
+    private MemoizeSpec(Duration expireAfter, Duration refreshAfter, Duration failureTtl) {
+        this.expireAfter = expireAfter;
+        this.refreshAfter = refreshAfter;
+        this.failureTtl = failureTtl;
+    }
+
+    /**
+     * @return The default spec: values never expire and failures are not cached.
+     */
+    public static MemoizeSpec defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @param duration How long a value is used after it was computed. Must be positive.
+     * @return A copy of this spec with the given expiry.
+     */
+    public MemoizeSpec expireAfter(Duration duration) {
+        return new MemoizeSpec(Durations.requirePositive(duration, "Expiry"), refreshAfter, failureTtl);
+    }
+
+    /**
+     * Refresh a value ahead of its expiry. The first call after the given duration computes a new value, while other
+     * threads keep getting the current one. When the refresh fails, the current value is kept until it expires.
+     *
+     * @param duration How long after it was computed a value is refreshed. Must be positive and, when an expiry is
+     *                 set, shorter than the expiry.
+     * @return A copy of this spec with the given refresh duration.
+     */
+    public MemoizeSpec refreshAfter(Duration duration) {
+        return new MemoizeSpec(expireAfter, Durations.requirePositive(duration, "Refresh duration"), failureTtl);
+    }
+
+    /**
+     * @param duration How long a failure is thrown again without calling the supplier. Zero, the default, means the
+     *                 next call tries again.
+     * @return A copy of this spec with the given failure caching duration.
+     */
+    public MemoizeSpec cacheFailuresFor(Duration duration) {
+        return new MemoizeSpec(
+                expireAfter, refreshAfter, Durations.requireNotNegative(duration, "Failure caching duration"));
+    }
+
+    /**
+     * @return How long a value is used after it was computed, or null if values never expire.
+     */
+    public Duration getExpireAfter() {
+        return expireAfter;
+    }
+
+    /**
+     * @return How long after it was computed a value is refreshed, or null if values are not refreshed.
+     */
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    /**
+     * @return How long a failure is cached, zero if failures are not cached.
+     */
+    public Duration getFailureTtl() {
+        return failureTtl;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoizeSpec[expireAfter=" + expireAfter + ", refreshAfter=" + refreshAfter
+                + ", failureTtl=" + failureTtl + "]";
+    }
+}
@@ -0,0 +1,160 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the outcome of an {@link ExceptionalSupplier} as configured by a {@link MemoizeSpec}. Reading a remembered
+ * outcome only reads a volatile field, and the clock when the outcome can expire. Computing is single-flight: while one
+ * thread calls the supplier, other threads wait for and share its outcome, even when that outcome is a failure that is
+ * not cached. A refresh ahead of expiry takes part in the same single flight; callers that find the value expired
+ * during a refresh wait for its outcome instead of calling the supplier again.
+ *
+ * @param <T> The type of the value.
+ * @param <E> The type of the checked exception.
+ * @see Exceptions#memoize(ExceptionalSupplier, MemoizeSpec)
+ */
+final class Memoizer<T, E extends Exception> implements ExceptionalSupplier<T, E> {
+
+    private final ExceptionalSupplier<? extends T, ? extends E> supplier;
+    private final long expireNanos;
+    private final long refreshNanos;
+    private final long failureNanos;
+    private final LongSupplier ticker;
+
+    private final Object lock = new Object();
+    private volatile Entry<T> entry;
+    private CompletableFuture<Entry<T>> inFlight;
+
+    /**
+     * @param supplier The supplier to memoize.
+     * @param spec     How long to keep values and failures.
+     * @param ticker   The source of {@link System#nanoTime()} like timestamps.
+     */
+    Memoizer(ExceptionalSupplier<? extends T, ? extends E> supplier, MemoizeSpec spec, LongSupplier ticker) {
+        this.supplier = supplier;
+        this.expireNanos = Durations.toNanos(spec.getExpireAfter());
+        this.refreshNanos = Durations.toNanos(spec.getRefreshAfter());
+        this.failureNanos = Durations.toNanos(spec.getFailureTtl());
+        this.ticker = ticker;
+        if (refreshNanos >= 0 && expireNanos >= 0 && refreshNanos >= expireNanos) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Refresh duration must be shorter than the expiry, but was {} for an expiry of {}.",
+                    spec.getRefreshAfter(), spec.getExpireAfter());
+        }
+    }
+
+    @Override
+    public T get() throws E {
+        Entry<T> current = entry;
+        if (current != null) {
+            if (current.permanent) {
+                return current.value;
+            }
+            long now = ticker.getAsLong();
+            if (current.isValid(now)) {
+                if (current.failure == null && refreshNanos >= 0 && now - current.createdAt >= refreshNanos) {
+                    return refresh(current);
+                }
+                return current.<E>get();
+            }
+        }
+        return load().<E>get();
+    }
+
+    private T refresh(Entry<T> current) {
+        CompletableFuture<Entry<T>> flight;
+        synchronized (lock) {
+            if (inFlight != null || entry != current) {
+                return current.value;
+            }
+            flight = new CompletableFuture<>();
+            inFlight = flight;
+        }
+        Entry<T> refreshed = compute();
+        synchronized (lock) {
+            if (refreshed.failure == null && entry == current) {
+                entry = refreshed;
+            }
+            inFlight = null;
+        }
+        flight.complete(refreshed);
+        return refreshed.failure == null ? refreshed.value : current.value;
+    }
+
+    private Entry<T> load() {
+        CompletableFuture<Entry<T>> flight;
+        boolean owner;
+        synchronized (lock) {
+            Entry<T> current = entry;
+            if (current != null && current.isValid(ticker.getAsLong())) {
+                return current;
+            }
+            owner = inFlight == null;
+            if (owner) {
+                inFlight = new CompletableFuture<>();
+            }
+            flight = inFlight;
+        }
+        if (!owner) {
+            return flight.join();
+        }
+        Entry<T> computed = compute();
+        synchronized (lock) {
+            if (computed.failure == null || computed.ttl > 0) {
+                entry = computed;
+            }
+            inFlight = null;
+        }
+        flight.complete(computed);
+        return computed;
+    }
+
+    private Entry<T> compute() {
+        T value;
+        try {
+            value = supplier.get();
+        } catch (Exception e) {
+            return new Entry<>(null, e, ticker.getAsLong(), failureNanos, false);
+        } catch (Throwable e) {
+            return new Entry<>(null, e, ticker.getAsLong(), 0, false);
+        }
+        return new Entry<>(value, null, ticker.getAsLong(),
+                expireNanos < 0 ? Long.MAX_VALUE : expireNanos, expireNanos < 0 && refreshNanos < 0);
+    }
+
+    /**
+     * A remembered value or failure.
+     */
+    private static final class Entry<T> {
+        private final T value;
+        private final Throwable failure;
+        private final long createdAt;
+        private final long ttl;
+        private final boolean permanent;
+
+        private Entry(T value, Throwable failure, long createdAt, long ttl, boolean permanent) {
+            this.value = value;
+            this.failure = failure;
+            this.createdAt = createdAt;
+            this.ttl = ttl;
+            this.permanent = permanent;
+        }
+
+        private boolean isValid(long now) {
+            return permanent || now - createdAt < ttl;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <E extends Exception> T get() throws E {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw (E) failure;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A precompiled SLF4J style message format. The format string is split once into literal segments and placeholder
+ * slots, so rendering a message only has to concatenate the segments with the given arguments. Use
+ * {@link #of(String)} to get a (cached) template or {@link #compile(String)} to always compile a fresh one.
+ * <p>
+ * Rendering produces exactly the same output as {@link ExceptionalMessage#parse(String, Object...)}, including the
+ * escape rules documented there. The {@code render} methods reuse a thread local buffer, so the rendered
+ * {@link String} is the only allocation. Use the {@code appendTo} methods to render into a buffer of your own. The
+ * {@code long} and {@code double} overloads avoid boxing for the common single argument case.
+ */
+public final class MessageTemplate {
+    private static final int ESCAPE = '\\';
+    private static final int VAR_OPEN = '{';
+    private static final int VAR_CLOSE = '}';
+    private static final String PLACEHOLDER = "{}";
+
+    /**
+     * The maximum amount of templates kept by {@link #of(String)}. Formats are expected to be string constants, so this
+     * limit only protects against callers that (wrongly) pass dynamic strings as format.
+     */
+    static final int MAX_CACHED_TEMPLATES = 1024;
+
+    private static final ConcurrentMap<String, MessageTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final int INITIAL_BUFFER_CAPACITY = 256;
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 8192;
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+    private final String format;
+    private final String[] segments;
+
+    /**
+     * Get the {@link MessageTemplate} for the given format. Templates are cached by format string, so repeated calls
+     * for the same format only compile it once. The cache is cleared when it reaches its maximum size, after which the
+     * formats that are actually in use will quickly be cached again.
+     *
+     * @param format The message format, where {@code {}} will be replaced with the render arguments.
+     * @return The {@link MessageTemplate} for the given format.
+     */
+    public static MessageTemplate of(String format) {
+        MessageTemplate template = CACHE.get(requireNonNull(format));
+        if (template != null) {
+            return template;
+        }
+        template = compile(format);
+        if (CACHE.size() >= MAX_CACHED_TEMPLATES) {
+            CACHE.clear();
+        }
+        MessageTemplate existing = CACHE.putIfAbsent(format, template);
+        return existing != null ? existing : template;
+    }
+
+    /**
+     * Compile the given format into a new {@link MessageTemplate}, without consulting the cache.
+     *
+     * @param format The message format, where {@code {}} will be replaced with the render arguments.
+     * @return A new {@link MessageTemplate} for the given format.
+     * @see ExceptionalMessage#parse(String, Object...)
+     */
+    public static MessageTemplate compile(String format) {
+        List<String> segments = new ArrayList<>();
+        StringBuilder segment = new StringBuilder();
+
+        boolean escaped = false;
+        boolean open = false;
+
+        int index = 0;
+        while (index < format.length()) {
+            int codePoint = format.codePointAt(index);
+            if (open) {
+                if (codePoint == VAR_CLOSE) {
+                    if (escaped) {
+                        segment.appendCodePoint(VAR_OPEN).appendCodePoint(VAR_CLOSE);
+                        escaped = false;
+                    } else {
+                        segments.add(segment.toString());
+                        segment.setLength(0);
+                    }
+                } else {
+                    segment.appendCodePoint(VAR_OPEN).appendCodePoint(codePoint);
+                }
+                open = false;
+            } else if (codePoint == VAR_OPEN) {
+                open = true;
+            } else if (codePoint == ESCAPE) {
+                if (escaped) {
+                    segment.appendCodePoint(ESCAPE);
+                } else {
+                    escaped = true;
+                }
+            } else {
+                if (escaped) {
+                    segment.appendCodePoint(ESCAPE);
+                    escaped = false;
+                }
+                segment.appendCodePoint(codePoint);
+            }
+            index += Character.charCount(codePoint);
+        }
+        segments.add(segment.toString());
+        return new MessageTemplate(format, segments.toArray(new String[0]));
+    }
+
+    private MessageTemplate(String format, String[] segments) {
+        this.format = format;
+        this.segments = segments;
+    }
+
+    /**
+     * @return The original format string.
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * @return The number of {@code {}} placeholders in this template.
+     */
+    public int getPlaceholderCount() {
+        return segments.length - 1;
+    }
+
+    /**
+     * Render this template into an {@link ExceptionalMessage}. When the final element of {@code args} is a
+     * {@link Throwable}, it is not used for substitution but ends up in {@link ExceptionalMessage#getThrowable()}.
+     *
+     * @param args Used to fill the placeholders, optionally followed by a {@link Throwable}.
+     * @return The rendered {@link ExceptionalMessage}.
+     * @see ExceptionalMessage#parse(String, Object...)
+     */
+    public ExceptionalMessage parse(Object... args) {
+        Throwable throwable = getThrowable(args);
+        return new ExceptionalMessage(render(args, 0, throwable == null ? args.length : args.length - 1), throwable);
+    }
+
+    /**
+     * Render this template with the given arguments. Every argument is used for substitution, including a trailing
+     * {@link Throwable}. Placeholders without a matching argument are rendered as a literal {@code {}}.
+     *
+     * @param args Used to fill the placeholders.
+     * @return The rendered message.
+     */
+    public String render(Object... args) {
+        return render(args, 0, args.length);
+    }
+
+    /**
+     * Render this template with the arguments in the range {@code [from, to)} of the given array. This allows callers
+     * to skip a trailing {@link Throwable} without copying the array.
+     *
+     * @param args The array containing the arguments.
+     * @param from The index of the first argument, inclusive.
+     * @param to   The index of the last argument, exclusive.
+     * @return The rendered message.
+     */
+    public String render(Object[] args, int from, int to) {
+        checkRange(args, from, to);
+        StringBuilder builder = acquireBuffer();
+        try {
+            return appendTo(builder, args, from, to).toString();
+        } finally {
+            releaseBuffer(builder);
+        }
+    }
+
+    /**
+     * Render this template with a single argument.
+     *
+     * @param arg Used to fill the first placeholder.
+     * @return The rendered message.
+     */
+    public String render(Object arg) {
+        StringBuilder builder = acquireBuffer();
+        try {
+            return appendTo(builder, arg).toString();
+        } finally {
+            releaseBuffer(builder);
+        }
+    }
+
+    /**
+     * Render this template with two arguments.
+     *
+     * @param first  Used to fill the first placeholder.
+     * @param second Used to fill the second placeholder.
+     * @return The rendered message.
+     */
+    public String render(Object first, Object second) {
+        StringBuilder builder = acquireBuffer();
+        try {
+            return appendTo(builder, first, second).toString();
+        } finally {
+            releaseBuffer(builder);
+        }
+    }
+
+    /**
+     * Render this template with a single {@code long} argument, without boxing it.
+     *
+     * @param arg Used to fill the first placeholder.
+     * @return The rendered message.
+     */
+    public String render(long arg) {
+        StringBuilder builder = acquireBuffer();
+        try {
+            return appendTo(builder, arg).toString();
+        } finally {
+            releaseBuffer(builder);
+        }
+    }
+
+    /**
+     * Render this template with a single {@code double} argument, without boxing it.
+     *
+     * @param arg Used to fill the first placeholder.
+     * @return The rendered message.
+     */
+    public String render(double arg) {
+        StringBuilder builder = acquireBuffer();
+        try {
+            return appendTo(builder, arg).toString();
+        } finally {
+            releaseBuffer(builder);
+        }
+    }
+
+    /**
+     * Append this template, rendered with the arguments in the range {@code [from, to)} of the given array, to the
+     * given {@link StringBuilder}. Apart from what the arguments' {@link Object#toString()} allocates, this method
+     * does not allocate.
+     *
+     * @param builder The {@link StringBuilder} to append to.
+     * @param args    The array containing the arguments.
+     * @param from    The index of the first argument, inclusive.
+     * @param to      The index of the last argument, exclusive.
+     * @return The given {@link StringBuilder}.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Object[] args, int from, int to) {
+        checkRange(args, from, to);
+        builder.append(segments[0]);
+        int count = to - from;
+        for (int i = 1; i < segments.length; i++) {
+            if (i <= count) {
+                builder.append(args[from + i - 1]);
+            } else {
+                builder.append(PLACEHOLDER);
+            }
+            builder.append(segments[i]);
+        }
+        return builder;
+    }
+
+    /**
+     * Append this template, rendered with the arguments in the range {@code [from, to)} of the given array, to the
+     * given {@link Appendable}.
+     *
+     * @param appendable The {@link Appendable} to append to.
+     * @param args       The array containing the arguments.
+     * @param from       The index of the first argument, inclusive.
+     * @param to         The index of the last argument, exclusive.
+     * @param <A>        The type of {@link Appendable}.
+     * @return The given {@link Appendable}.
+     * @throws IOException When the {@link Appendable} throws it.
+     */
+    public <A extends Appendable> A appendTo(A appendable, Object[] args, int from, int to) throws IOException {
+        checkRange(args, from, to);
+        appendable.append(segments[0]);
+        int count = to - from;
+        for (int i = 1; i < segments.length; i++) {
+            if (i <= count) {
+                appendable.append(String.valueOf(args[from + i - 1]));
+            } else {
+                appendable.append(PLACEHOLDER);
+            }
+            appendable.append(segments[i]);
+        }
+        return appendable;
+    }
+
+    /**
+     * Append this template, rendered with a single argument, to the given {@link StringBuilder}.
+     *
+     * @param builder The {@link StringBuilder} to append to.
+     * @param arg     Used to fill the first placeholder.
+     * @return The given {@link StringBuilder}.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Object arg) {
+        builder.append(segments[0]);
+        if (segments.length > 1) {
+            builder.append(arg).append(segments[1]);
+        }
+        return appendPlaceholders(builder, 2);
+    }
+
+    /**
+     * Append this template, rendered with two arguments, to the given {@link StringBuilder}.
+     *
+     * @param builder The {@link StringBuilder} to append to.
+     * @param first   Used to fill the first placeholder.
+     * @param second  Used to fill the second placeholder.
+     * @return The given {@link StringBuilder}.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Object first, Object second) {
+        builder.append(segments[0]);
+        if (segments.length > 1) {
+            builder.append(first).append(segments[1]);
+        }
+        if (segments.length > 2) {
+            builder.append(second).append(segments[2]);
+        }
+        return appendPlaceholders(builder, 3);
+    }
+
+    /**
+     * Append this template, rendered with a single {@code long} argument, to the given {@link StringBuilder}.
+     *
+     * @param builder The {@link StringBuilder} to append to.
+     * @param arg     Used to fill the first placeholder.
+     * @return The given {@link StringBuilder}.
+     */
+    public StringBuilder appendTo(StringBuilder builder, long arg) {
+        builder.append(segments[0]);
+        if (segments.length > 1) {
+            builder.append(arg).append(segments[1]);
+        }
+        return appendPlaceholders(builder, 2);
+    }
+
+    /**
+     * Append this template, rendered with a single {@code double} argument, to the given {@link StringBuilder}.
+     *
+     * @param builder The {@link StringBuilder} to append to.
+     * @param arg     Used to fill the first placeholder.
+     * @return The given {@link StringBuilder}.
+     */
+    public StringBuilder appendTo(StringBuilder builder, double arg) {
+        builder.append(segments[0]);
+        if (segments.length > 1) {
+            builder.append(arg).append(segments[1]);
+        }
+        return appendPlaceholders(builder, 2);
+    }
+
+    /**
+     * Get the {@link Throwable} at the end of the given arguments, if any.
+     *
+     * @param args The arguments.
+     * @return The final element of {@code args} if it is a {@link Throwable}, otherwise null.
+     */
+    static Throwable getThrowable(Object[] args) {
+        if (args.length > 0 && args[args.length - 1] instanceof Throwable) {
+            return (Throwable) args[args.length - 1];
+        }
+        return null;
+    }
+
+    private StringBuilder appendPlaceholders(StringBuilder builder, int from) {
+        for (int i = from; i < segments.length; i++) {
+            builder.append(PLACEHOLDER).append(segments[i]);
+        }
+        return builder;
+    }
+
+    private static void checkRange(Object[] args, int from, int to) {
+        if (from < 0 || to > args.length || from > to) {
+            throw Exceptions.formatMessage(IndexOutOfBoundsException::new,
+                    "Range [{}, {}) out of bounds for length {}.", from, to, args.length);
+        }
+    }
+
+    private static StringBuilder acquireBuffer() {
+        Buffer buffer = BUFFER.get();
+        if (buffer.inUse) {
+            // An argument's toString() is rendering another message on this thread.
+            return new StringBuilder(INITIAL_BUFFER_CAPACITY);
+        }
+        buffer.inUse = true;
+        return buffer.builder;
+    }
+
+    private static void releaseBuffer(StringBuilder builder) {
+        Buffer buffer = BUFFER.get();
+        if (buffer.builder == builder) {
+            if (builder.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+                buffer.builder = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+            } else {
+                builder.setLength(0);
+            }
+            buffer.inUse = false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format;
+    }
+
+    private static final class Buffer {
+        private StringBuilder builder = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+        private boolean inUse;
+    }
+}
@@ -0,0 +1,202 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies an {@link ExceptionalFunction} to the elements of an {@link Iterator} on background threads, returning the
+ * results in the order of the source. At most {@code maxConcurrency} functions run at the same time and at most twice
+ * that amount of results are buffered, so the source is read as fast as the results are consumed.
+ * <p>
+ * The functions run on virtual threads when available and on a pool of at most {@code maxConcurrency} daemon platform
+ * threads otherwise. The source is only read by the consuming thread. The first failure interrupts the running
+ * functions, starts no new ones and is thrown by the next call to {@link #hasNext()} or {@link #next()}.
+ *
+ * @param <T> The type of the source elements.
+ * @param <R> The type of the results.
+ * @param <E> The type of the checked exception.
+ */
+final class ParallelMapper<T, R, E extends Exception> implements ExceptionalIterator<R, E> {
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    private final Iterator<? extends T> source;
+    private final ExceptionalFunction<? super T, ? extends R, ? extends E> function;
+    private final int maxConcurrency;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Task> window = new ArrayDeque<>();
+    private int running;
+    private boolean exhausted;
+    private boolean closed;
+    private Throwable failure;
+
+    /**
+     * @param source         The source elements.
+     * @param function       The function to apply to each element.
+     * @param maxConcurrency The maximum amount of functions running at the same time.
+     */
+    ParallelMapper(
+            Iterator<? extends T> source,
+            ExceptionalFunction<? super T, ? extends R, ? extends E> function,
+            int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Max concurrency must be positive, but was {}.", maxConcurrency);
+        }
+        this.source = source;
+        this.function = function;
+        this.maxConcurrency = maxConcurrency;
+        this.executor = createExecutor(maxConcurrency);
+    }
+
+    @Override
+    public boolean hasNext() throws E, InterruptedException {
+        synchronized (lock) {
+            checkFailure();
+            pump();
+            if (window.isEmpty()) {
+                close();
+                return false;
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public R next() throws E, InterruptedException {
+        synchronized (lock) {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task head = window.peekFirst();
+            try {
+                while (!head.done && !closed) {
+                    lock.wait();
+                    checkFailure();
+                    pump();
+                }
+            } catch (InterruptedException e) {
+                close();
+                throw e;
+            }
+            checkFailure();
+            if (!head.done) {
+                throw new IllegalStateException("Iterator has been closed.");
+            }
+            window.removeFirst();
+            pump();
+            return head.result;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Task task : window) {
+                if (task.thread != null) {
+                    task.thread.interrupt();
+                }
+            }
+            window.clear();
+        }
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private void pump() {
+        while (!closed && !exhausted && running < maxConcurrency && window.size() < maxConcurrency * 2) {
+            if (!source.hasNext()) {
+                exhausted = true;
+                return;
+            }
+            Task task = new Task(source.next());
+            window.addLast(task);
+            running++;
+            executor.execute(task);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void checkFailure() throws E {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw (E) failure;
+        }
+    }
+
+    private static Executor createExecutor(int maxConcurrency) {
+        ThreadFactory virtual = VirtualThreads.factory();
+        if (virtual != null) {
+            return command -> virtual.newThread(command).start();
+        }
+        String prefix = "synapse-parallel-" + POOL_COUNTER.incrementAndGet() + "-";
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, prefix + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private final class Task implements Runnable {
+        private final T input;
+        private Thread thread;
+        private boolean done;
+        private R result;
+
+        private Task(T input) {
+            this.input = input;
+        }
+
+        @Override
+        public void run() {
+            synchronized (lock) {
+                if (closed) {
+                    running--;
+                    return;
+                }
+                thread = Thread.currentThread();
+            }
+            R value = null;
+            Throwable error = null;
+            try {
+                value = function.apply(input);
+            } catch (Throwable e) {
+                error = e;
+            }
+            synchronized (lock) {
+                thread = null;
+                running--;
+                if (error == null) {
+                    result = value;
+                    done = true;
+                } else if (!closed) {
+                    failure = error;
+                    close();
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+}
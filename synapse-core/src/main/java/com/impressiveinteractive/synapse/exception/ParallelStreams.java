@@ -0,0 +1,180 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs terminal operations on parallel streams without letting exceptions escape the fork/join tasks. When an
+ * exception escapes a task, {@link java.util.concurrent.ForkJoinTask} reflectively creates a copy of it for the joining
+ * thread, which is slow and may result in a different type or cause. Instead, the first failure is recorded, the
+ * remaining elements are skipped and the original exception is thrown by the calling thread once all tasks are done.
+ * The given stream is closed when the operation ends, so its close handlers run, also when it fails.
+ *
+ * @see Exceptions#parallelForEach(Stream, ExceptionalConsumer)
+ * @see Exceptions#parallelCollect(Stream, ExceptionalFunction, Collector)
+ */
+final class ParallelStreams {
+
+    private static final Object SKIPPED = new Object();
+
+    private ParallelStreams() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Perform the given action on each element of the stream in parallel.
+     *
+     * @param stream The elements.
+     * @param action The action.
+     * @param <T>    The type of the elements.
+     * @param <E>    The type of the checked exception.
+     * @throws E The first exception thrown by the action.
+     */
+    static <T, E extends Exception> void forEach(
+            Stream<T> stream, ExceptionalConsumer<? super T, ? extends E> action) throws E {
+        Failure failure = new Failure();
+        try (Stream<T> parallel = parallel(stream, failure)) {
+            parallel.forEach(t -> {
+                if (failure.isAbsent()) {
+                    try {
+                        action.accept(t);
+                    } catch (Throwable e) {
+                        failure.record(e);
+                    }
+                }
+            });
+        }
+        failure.rethrow();
+    }
+
+    /**
+     * Transform each element of the stream in parallel and collect the results.
+     *
+     * @param stream    The elements.
+     * @param mapper    The transformation.
+     * @param collector The collector for the transformed elements.
+     * @param <T>       The type of the elements.
+     * @param <U>       The type of the transformed elements.
+     * @param <R>       The result type of the collector.
+     * @param <E>       The type of the checked exception.
+     * @return The collected result.
+     * @throws E The first exception thrown by the transformation.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, U, R, E extends Exception> R collect(
+            Stream<T> stream,
+            ExceptionalFunction<? super T, ? extends U, ? extends E> mapper,
+            Collector<? super U, ?, R> collector) throws E {
+        Failure failure = new Failure();
+        R result;
+        try (Stream<T> parallel = parallel(stream, failure)) {
+            result = parallel
+                    .map(t -> {
+                        if (failure.isAbsent()) {
+                            try {
+                                return (Object) mapper.apply(t);
+                            } catch (Throwable e) {
+                                failure.record(e);
+                            }
+                        }
+                        return SKIPPED;
+                    })
+                    .filter(u -> u != SKIPPED)
+                    .map(u -> (U) u)
+                    .collect(collector);
+        }
+        failure.rethrow();
+        return result;
+    }
+
+    private static <T> Stream<T> parallel(Stream<T> stream, Failure failure) {
+        return StreamSupport.stream(new CancellableSpliterator<>(stream.spliterator(), failure), true)
+                .onClose(stream::close);
+    }
+
+    /**
+     * The first failure of a parallel operation, with later failures added as suppressed.
+     */
+    private static final class Failure {
+        private final AtomicReference<Throwable> first = new AtomicReference<>();
+
+        private boolean isAbsent() {
+            return first.get() == null;
+        }
+
+        private void record(Throwable throwable) {
+            if (!first.compareAndSet(null, throwable)) {
+                Throwable recorded = first.get();
+                if (recorded != throwable) {
+                    recorded.addSuppressed(throwable);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <E extends Exception> void rethrow() throws E {
+            Throwable throwable = first.get();
+            if (throwable instanceof RuntimeException) {
+                throw (RuntimeException) throwable;
+            } else if (throwable instanceof Error) {
+                throw (Error) throwable;
+            } else if (throwable != null) {
+                throw (E) throwable;
+            }
+        }
+    }
+
+    /**
+     * Stops advancing and splitting once a failure has been recorded.
+     */
+    private static final class CancellableSpliterator<T> implements Spliterator<T> {
+        private final Spliterator<T> delegate;
+        private final Failure failure;
+
+        private CancellableSpliterator(Spliterator<T> delegate, Failure failure) {
+            this.delegate = delegate;
+            this.failure = failure;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return failure.isAbsent() && delegate.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (failure.isAbsent() && delegate.tryAdvance(action)) {
+                // Keep advancing until done or cancelled
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (!failure.isAbsent()) {
+                return null;
+            }
+            Spliterator<T> split = delegate.trySplit();
+            return split == null ? null : new CancellableSpliterator<>(split, failure);
+        }
+
+        @Override
+        public long estimateSize() {
+            return delegate.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return delegate.characteristics() & ~(SIZED | SUBSIZED);
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return delegate.getComparator();
+        }
+    }
+}
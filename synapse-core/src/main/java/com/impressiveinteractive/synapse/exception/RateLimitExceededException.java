@@ -0,0 +1,23 @@
+package com.impressiveinteractive.synapse.exception;
+
+/**
+ * Thrown by a {@link Exceptions#rateLimited rate limited} function instead of calling its function when the rate is
+ * exceeded. Instances are shared: they have a constant message, no stack trace and do not accept suppressed
+ * exceptions, so rejecting a call does not allocate.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * Creates exception with given message and cause, with suppression and a writable stack trace enabled or
+     * disabled.
+     *
+     * @param message            Given message.
+     * @param cause              Given cause.
+     * @param enableSuppression  Whether or not suppression is enabled.
+     * @param writableStackTrace Whether or not the stack trace should be writable.
+     */
+    protected RateLimitExceededException(
+            String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,95 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the rate of calls to an {@link ExceptionalFunction} with a token bucket that holds up to a second worth of
+ * permits, and at least one. A call that would exceed the rate waits at most the maximum wait for its permit and is
+ * rejected with a shared {@link RateLimitExceededException} otherwise.
+ * <p>
+ * The bucket is kept as a single atomic timestamp: the moment the bucket would be full again. Taking a permit moves it
+ * one interval ahead with a single compare-and-set, without locks. A waiting call reserves its permit before it
+ * sleeps, so waiting calls are served in the order they arrived.
+ *
+ * @param <I> The input type of the function.
+ * @param <O> The output type of the function.
+ * @param <E> The type of the checked exception thrown by the function.
+ * @see Exceptions#rateLimited(ExceptionalFunction, double, Duration)
+ */
+final class RateLimiter<I, O, E extends Exception> implements ExceptionalFunction<I, O, E> {
+
+    static final RateLimitExceededException EXCEEDED =
+            new RateLimitExceededException("Rate limit exceeded.", null, false, false);
+
+    private final ExceptionalFunction<? super I, ? extends O, ? extends E> function;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long maxWaitNanos;
+    private final LongSupplier ticker;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param function         The function to limit.
+     * @param permitsPerSecond The maximum rate of calls.
+     * @param maxWaitNanos     The maximum time to wait for a permit in nanoseconds.
+     * @param ticker           The source of {@link System#nanoTime()} like timestamps.
+     */
+    RateLimiter(
+            ExceptionalFunction<? super I, ? extends O, ? extends E> function,
+            double permitsPerSecond,
+            long maxWaitNanos,
+            LongSupplier ticker) {
+        this.function = function;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = Math.max(intervalNanos, TimeUnit.SECONDS.toNanos(1));
+        this.maxWaitNanos = maxWaitNanos;
+        this.ticker = ticker;
+        this.fullAt = new AtomicLong(ticker.getAsLong());
+    }
+
+    /**
+     * Call the function once a permit is available.
+     *
+     * @param input The input.
+     * @return The output of the function.
+     * @throws E                          When the function failed.
+     * @throws RateLimitExceededException When no permit becomes available within the maximum wait.
+     * @throws CancellationException      When interrupted while waiting. The interrupt flag is restored.
+     */
+    @Override
+    public O apply(I input) throws E {
+        long wait = reserve();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw Exceptions.formatMessage(CancellationException::new, "Interrupted while waiting for a permit.");
+            }
+        }
+        return function.apply(input);
+    }
+
+    /**
+     * @return The time to wait for the reserved permit in nanoseconds, zero or less if it is available right away.
+     */
+    private long reserve() {
+        long now = ticker.getAsLong();
+        long current;
+        long next;
+        long wait;
+        do {
+            current = fullAt.get();
+            next = (current - now > 0 ? current : now) + intervalNanos;
+            wait = next - now - burstNanos;
+            if (wait > maxWaitNanos) {
+                throw EXCEEDED;
+            }
+        } while (!fullAt.compareAndSet(current, next));
+        return wait;
+    }
+}
@@ -0,0 +1,265 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The outcome of an operation that can fail with a checked exception: either a successful value or the exception.
+ * Unlike the {@code Exceptions.wrapExceptional} methods, a failure does not abort the stream it occurs in, so all
+ * elements are processed and all failures can be reported afterwards. Example:
+ * <pre>
+ * Result.Partition&lt;List&lt;String&gt;, List&lt;IOException&gt;&gt; types = paths.stream()
+ *         .map(Exceptions.attempt(Files::probeContentType))
+ *         .collect(Result.partitioning());
+ *
+ * types.getFailures().forEach(e -&gt; LOGGER.warn("Could not probe file.", e));
+ * </pre>
+ * <p>
+ * Only the checked exception type is captured. Like with the {@code wrapExceptional} methods, {@link RuntimeException
+ * RuntimeExceptions} are thrown as they are.
+ *
+ * @param <T> The type of the successful value.
+ * @param <E> The type of the checked exception.
+ * @see Exceptions#attempt(ExceptionalFunction)
+ * @see Exceptions#attempt(ExceptionalSupplier)
+ */
+public final class Result<T, E extends Exception> {
+
+    private final T value;
+    private final E failure;
+
+    private Result(T value, E failure) {
+        this.value = value;
+        this.failure = failure;
+    }
+
+    /**
+     * Create a successful result.
+     *
+     * @param value The value, which may be null.
+     * @param <T>   The type of the successful value.
+     * @param <E>   The type of the checked exception.
+     * @return The successful result.
+     */
+    public static <T, E extends Exception> Result<T, E> success(T value) {
+        return new Result<>(value, null);
+    }
+
+    /**
+     * Create a failed result.
+     *
+     * @param failure The exception, which must not be null.
+     * @param <T>     The type of the successful value.
+     * @param <E>     The type of the checked exception.
+     * @return The failed result.
+     */
+    public static <T, E extends Exception> Result<T, E> failure(E failure) {
+        return new Result<>(null, Objects.requireNonNull(failure, "failure"));
+    }
+
+    /**
+     * Get a value from the given supplier and capture the outcome.
+     *
+     * @param supplier The supplier throwing checked exceptions.
+     * @param <T>      The type of the successful value.
+     * @param <E>      The type of the checked exception.
+     * @return The successful result, or the failed result when the supplier threw the checked exception.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> Result<T, E> of(ExceptionalSupplier<T, E> supplier) {
+        try {
+            return success(supplier.get());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            return failure((E) e);
+        }
+    }
+
+    /**
+     * @return True if this result holds a value.
+     */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * @return True if this result holds an exception.
+     */
+    public boolean isFailure() {
+        return failure != null;
+    }
+
+    /**
+     * Get the value of a successful result, or throw the exception of a failed result.
+     *
+     * @return The value.
+     * @throws E The exception of a failed result.
+     */
+    public T get() throws E {
+        if (failure != null) {
+            throw failure;
+        }
+        return value;
+    }
+
+    /**
+     * @return The exception of a failed result, or null if this result is successful.
+     */
+    public E getFailure() {
+        return failure;
+    }
+
+    /**
+     * @param other The value to return when this result failed.
+     * @return The value of a successful result, or the given value.
+     */
+    public T orElse(T other) {
+        return failure == null ? value : other;
+    }
+
+    /**
+     * @param fallback Creates the value to return from the exception when this result failed.
+     * @return The value of a successful result, or the value created by the given fallback.
+     */
+    public T orElseGet(Function<? super E, ? extends T> fallback) {
+        return failure == null ? value : fallback.apply(failure);
+    }
+
+    /**
+     * Transform the value of a successful result. A failed result is returned as is.
+     *
+     * @param mapper Transforms the value.
+     * @param <R>    The type of the transformed value.
+     * @return A result with the transformed value, or this result if it failed.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Result<R, E> map(Function<? super T, ? extends R> mapper) {
+        return failure == null ? success(mapper.apply(value)) : (Result<R, E>) this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Result<?, ?> result = (Result<?, ?>) o;
+        return Objects.equals(value, result.value) && Objects.equals(failure, result.failure);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, failure);
+    }
+
+    @Override
+    public String toString() {
+        return failure == null ? "Success[" + value + "]" : "Failure[" + failure + "]";
+    }
+
+    /**
+     * A {@link Collector} that splits results into a {@link List} of values and a {@link List} of exceptions, in
+     * encounter order.
+     *
+     * @param <T> The type of the successful values.
+     * @param <E> The type of the checked exceptions.
+     * @return The partitioning {@link Collector}.
+     * @see #partitioning(Collector, Collector)
+     */
+    public static <T, E extends Exception> Collector<Result<T, E>, ?, Partition<List<T>, List<E>>> partitioning() {
+        return partitioning(toList(), toList());
+    }
+
+    /**
+     * A {@link Collector} that splits results into values and exceptions, which are each passed to their own
+     * downstream {@link Collector}. Use this to avoid keeping all values in memory, for instance:
+     * <pre>
+     * Result.Partition&lt;Long, List&lt;IOException&gt;&gt; imported = records.stream()
+     *         .map(Exceptions.attempt(this::importRecord))
+     *         .collect(Result.partitioning(counting(), toList()));
+     * </pre>
+     *
+     * @param successes The downstream {@link Collector} for the values.
+     * @param failures  The downstream {@link Collector} for the exceptions.
+     * @param <T>       The type of the successful values.
+     * @param <E>       The type of the checked exceptions.
+     * @param <S>       The result type of the downstream {@link Collector} for the values.
+     * @param <F>       The result type of the downstream {@link Collector} for the exceptions.
+     * @return The partitioning {@link Collector}.
+     */
+    public static <T, E extends Exception, S, F> Collector<Result<T, E>, ?, Partition<S, F>> partitioning(
+            Collector<? super T, ?, S> successes, Collector<? super E, ?, F> failures) {
+        return partitioningCaptured(successes, failures);
+    }
+
+    private static <T, E extends Exception, S, F, AS, AF> Collector<Result<T, E>, ?, Partition<S, F>>
+            partitioningCaptured(Collector<? super T, AS, S> successes, Collector<? super E, AF, F> failures) {
+        Supplier<AS> successSupplier = successes.supplier();
+        Supplier<AF> failureSupplier = failures.supplier();
+        BiConsumer<AS, ? super T> successAccumulator = successes.accumulator();
+        BiConsumer<AF, ? super E> failureAccumulator = failures.accumulator();
+        BinaryOperator<AS> successCombiner = successes.combiner();
+        BinaryOperator<AF> failureCombiner = failures.combiner();
+        return Collector.of(
+                () -> new Partition<>(successSupplier.get(), failureSupplier.get()),
+                (partition, result) -> {
+                    if (result.failure == null) {
+                        successAccumulator.accept(partition.successes, result.value);
+                    } else {
+                        failureAccumulator.accept(partition.failures, result.failure);
+                    }
+                },
+                (left, right) -> new Partition<>(
+                        successCombiner.apply(left.successes, right.successes),
+                        failureCombiner.apply(left.failures, right.failures)),
+                partition -> new Partition<>(
+                        successes.finisher().apply(partition.successes),
+                        failures.finisher().apply(partition.failures)));
+    }
+
+    /**
+     * The values and exceptions of a stream of {@link Result Results}, as collected by
+     * {@link #partitioning(Collector, Collector)}.
+     *
+     * @param <S> The type of the collected values.
+     * @param <F> The type of the collected exceptions.
+     */
+    public static final class Partition<S, F> {
+        private final S successes;
+        private final F failures;
+
+        private Partition(S successes, F failures) {
+            this.successes = successes;
+            this.failures = failures;
+        }
+
+        /**
+         * @return The collected values.
+         */
+        public S getSuccesses() {
+            return successes;
+        }
+
+        /**
+         * @return The collected exceptions.
+         */
+        public F getFailures() {
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            return "Partition[successes=" + successes + ", failures=" + failures + "]";
+        }
+    }
+}
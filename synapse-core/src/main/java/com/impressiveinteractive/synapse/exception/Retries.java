@@ -0,0 +1,171 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls an {@link ExceptionalSupplier} until it succeeds or the {@link RetryPolicy} gives up. The failures of earlier
+ * attempts are added as {@link Throwable#getSuppressed() suppressed} to the failure that is finally thrown.
+ *
+ * @see Exceptions#retry(ExceptionalSupplier, RetryPolicy)
+ * @see Exceptions#retryAsync(ExceptionalSupplier, RetryPolicy, ScheduledExecutorService)
+ */
+final class Retries {
+
+    private Retries() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Call the supplier, sleeping on the calling thread between attempts. When interrupted while sleeping, the last
+     * failure is thrown and the interrupt flag is restored.
+     *
+     * @param supplier The supplier.
+     * @param policy   The retry policy.
+     * @param <T>      The type of the value.
+     * @param <E>      The type of the checked exception.
+     * @return The value of the first successful attempt.
+     * @throws E The failure of the last attempt.
+     */
+    static <T, E extends Exception> T call(
+            ExceptionalSupplier<? extends T, ? extends E> supplier, RetryPolicy policy) throws E {
+        Attempts attempts = new Attempts(policy);
+        while (true) {
+            try {
+                return supplier.get();
+            } catch (Exception e) {
+                long delay = attempts.next(e);
+                if (delay < 0) {
+                    throw Attempts.<E>rethrow(attempts.fail(e));
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw Attempts.<E>rethrow(attempts.fail(e));
+                }
+            }
+        }
+    }
+
+    /**
+     * Call the supplier on the given scheduler, scheduling each retry after its delay instead of sleeping.
+     *
+     * @param supplier  The supplier.
+     * @param policy    The retry policy.
+     * @param scheduler The scheduler to run the attempts on.
+     * @param <T>       The type of the value.
+     * @return The future value of the first successful attempt.
+     */
+    static <T> CompletableFuture<T> callAsync(
+            ExceptionalSupplier<? extends T, ?> supplier, RetryPolicy policy, ScheduledExecutorService scheduler) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Attempts attempts = new Attempts(policy);
+        try {
+            scheduler.execute(() -> attempt(supplier, attempts, scheduler, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static <T> void attempt(
+            ExceptionalSupplier<? extends T, ?> supplier,
+            Attempts attempts,
+            ScheduledExecutorService scheduler,
+            CompletableFuture<T> future) {
+        if (future.isDone()) {
+            return;
+        }
+        try {
+            future.complete(supplier.get());
+        } catch (Exception e) {
+            long delay = attempts.next(e);
+            if (delay < 0) {
+                future.completeExceptionally(attempts.fail(e));
+                return;
+            }
+            try {
+                scheduler.schedule(() -> attempt(supplier, attempts, scheduler, future), delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException rejected) {
+                future.completeExceptionally(attempts.fail(e));
+            }
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * The state of the attempts of a single call.
+     */
+    private static final class Attempts {
+        private final RetryPolicy policy;
+        private final long baseNanos;
+        private final long maxNanos;
+        private final long deadlineNanos;
+        private final long start;
+        private final List<Exception> failures = new ArrayList<>();
+        private int attempt = 1;
+        private long previousDelay;
+
+        private Attempts(RetryPolicy policy) {
+            this.policy = policy;
+            this.baseNanos = Durations.toNanos(policy.getBaseDelay());
+            this.maxNanos = Durations.toNanos(policy.getMaxDelay());
+            this.deadlineNanos = Durations.toNanos(policy.getDeadline());
+            this.start = deadlineNanos < 0 ? 0 : System.nanoTime();
+            this.previousDelay = baseNanos;
+            if (policy.getBudget() != null) {
+                policy.getBudget().deposit();
+            }
+        }
+
+        /**
+         * @param failure The failure of the current attempt.
+         * @return The delay before the next attempt in nanoseconds, or -1 if there is no next attempt.
+         */
+        private long next(Exception failure) {
+            if (attempt >= policy.getMaxAttempts() || !policy.shouldRetry(failure)) {
+                return -1;
+            }
+            long upper = previousDelay > maxNanos / 3 ? maxNanos : Math.max(baseNanos, previousDelay * 3);
+            long delay = upper <= baseNanos ? baseNanos : ThreadLocalRandom.current().nextLong(baseNanos, upper);
+            if (deadlineNanos >= 0 && System.nanoTime() - start + delay > deadlineNanos) {
+                return -1;
+            }
+            if (policy.getBudget() != null && !policy.getBudget().tryWithdraw()) {
+                return -1;
+            }
+            failures.add(failure);
+            previousDelay = delay;
+            attempt++;
+            return delay;
+        }
+
+        /**
+         * @param failure The failure of the last attempt.
+         * @return The given failure, with the failures of earlier attempts added as suppressed.
+         */
+        private Exception fail(Exception failure) {
+            for (Exception earlier : failures) {
+                if (earlier != failure) {
+                    failure.addSuppressed(earlier);
+                }
+            }
+            return failure;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E extends Exception> E rethrow(Exception failure) throws E {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            throw (E) failure;
+        }
+    }
+}
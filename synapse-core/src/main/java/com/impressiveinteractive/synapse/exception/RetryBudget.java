@@ -0,0 +1,88 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the amount of retries relative to the amount of calls, shared by all callers using the same
+ * {@link RetryPolicy}. Each call deposits a fraction of a token, each retry withdraws a whole token. When a dependency
+ * fails for everyone, the budget runs out and callers stop retrying, instead of multiplying the load on the dependency.
+ * Example:
+ * <pre>
+ * RetryBudget budget = RetryBudget.of(0.1, 10); // Retry at most 10% of the calls, with a reserve of 10 retries
+ * </pre>
+ * <p>
+ * The budget is a single atomic counter, updated without locks.
+ */
+public final class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    private RetryBudget(long deposit, long capacity) {
+        this.deposit = deposit;
+        this.capacity = capacity;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    /**
+     * Create a budget that starts full.
+     *
+     * @param retryRatio The amount of retries allowed per call, between 0 and 1.
+     * @param capacity   The maximum amount of retries that can be saved up. Must be positive.
+     * @return The budget.
+     */
+    public static RetryBudget of(double retryRatio, int capacity) {
+        if (!(retryRatio >= 0 && retryRatio <= 1)) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Retry ratio must be between 0 and 1, but was {}.", retryRatio);
+        }
+        if (capacity < 1) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Capacity must be positive, but was {}.", capacity);
+        }
+        return new RetryBudget(Math.round(retryRatio * TOKEN), capacity * TOKEN);
+    }
+
+    /**
+     * @return The amount of retries that are currently available, rounded down.
+     */
+    public long getAvailableRetries() {
+        return balance.get() / TOKEN;
+    }
+
+    /**
+     * Deposit the share of a call.
+     */
+    void deposit() {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(capacity, current + deposit)));
+    }
+
+    /**
+     * @return True if a retry was withdrawn, false if the budget is exhausted.
+     */
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryBudget[deposit=" + (double) deposit / TOKEN + ", capacity=" + capacity / TOKEN
+                + ", available=" + getAvailableRetries() + "]";
+    }
+}
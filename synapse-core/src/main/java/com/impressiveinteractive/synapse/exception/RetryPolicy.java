@@ -0,0 +1,180 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Configures how {@link Exceptions#retry(ExceptionalSupplier, RetryPolicy)} retries failed calls. Instances are
+ * immutable, each setting returns a copy. Example:
+ * <pre>
+ * RetryPolicy policy = RetryPolicy.defaults()
+ *         .maxAttempts(5)
+ *         .backoff(Duration.ofMillis(50), Duration.ofSeconds(2))
+ *         .deadline(Duration.ofSeconds(5))
+ *         .retryOn(IOException.class)
+ *         .budget(RetryBudget.of(0.1, 10));
+ * </pre>
+ * <p>
+ * The delay between attempts uses decorrelated jitter: each delay is a random duration between the base delay and
+ * three times the previous delay, capped at the maximum delay. This spreads the retries of callers that failed at the
+ * same moment. By default a call is attempted at most 3 times, with delays between 100 milliseconds and 10 seconds,
+ * for any {@link Exception}.
+ */
+public final class RetryPolicy {
+
+    private static final RetryPolicy DEFAULTS =
+            new RetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(10), null, e -> true, null);
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration deadline;
+    private final Predicate<? super Exception> retryIf;
+    private final RetryBudget budget;
+
+    private RetryPolicy(
+            int maxAttempts,
+            Duration baseDelay,
+            Duration maxDelay,
+            Duration deadline,
+            Predicate<? super Exception> retryIf,
+            RetryBudget budget) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.deadline = deadline;
+        this.retryIf = retryIf;
+        this.budget = budget;
+    }
+
+    /**
+     * @return The default policy: at most 3 attempts, with delays between 100 milliseconds and 10 seconds, for any
+     * {@link Exception}.
+     */
+    public static RetryPolicy defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @param attempts The maximum amount of attempts, including the first one. Must be positive.
+     * @return A copy of this policy with the given maximum amount of attempts.
+     */
+    public RetryPolicy maxAttempts(int attempts) {
+        if (attempts < 1) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Max attempts must be positive, but was {}.", attempts);
+        }
+        return new RetryPolicy(attempts, baseDelay, maxDelay, deadline, retryIf, budget);
+    }
+
+    /**
+     * @param base The minimum delay between attempts. Must not be negative.
+     * @param max  The maximum delay between attempts. Must not be shorter than the minimum delay.
+     * @return A copy of this policy with the given delays.
+     */
+    public RetryPolicy backoff(Duration base, Duration max) {
+        Durations.requireNotNegative(base, "Base delay");
+        Durations.requireNotNegative(max, "Max delay");
+        if (max.compareTo(base) < 0) {
+            throw Exceptions.formatMessage(IllegalArgumentException::new,
+                    "Max delay must not be shorter than the base delay, but was {} for a base delay of {}.", max, base);
+        }
+        return new RetryPolicy(maxAttempts, base, max, deadline, retryIf, budget);
+    }
+
+    /**
+     * @param duration The maximum time from the first attempt until the start of the last one. No attempt is made
+     *                 when the delay before it would end after the deadline. Must be positive.
+     * @return A copy of this policy with the given deadline.
+     */
+    public RetryPolicy deadline(Duration duration) {
+        return new RetryPolicy(
+                maxAttempts, baseDelay, maxDelay, Durations.requirePositive(duration, "Deadline"), retryIf, budget);
+    }
+
+    /**
+     * Only retry failures of the given types, or subtypes thereof. Other failures are thrown right away.
+     *
+     * @param types The exception types to retry.
+     * @return A copy of this policy retrying only the given types.
+     */
+    @SafeVarargs
+    public final RetryPolicy retryOn(Class<? extends Exception>... types) {
+        List<Class<? extends Exception>> retried = new ArrayList<>(types.length);
+        for (Class<? extends Exception> type : types) {
+            retried.add(type);
+        }
+        return retryIf(e -> retried.stream().anyMatch(type -> type.isInstance(e)));
+    }
+
+    /**
+     * Only retry failures that match the given predicate. Other failures are thrown right away.
+     *
+     * @param predicate Decides whether to retry a failure.
+     * @return A copy of this policy using the given predicate.
+     */
+    public RetryPolicy retryIf(Predicate<? super Exception> predicate) {
+        return new RetryPolicy(
+                maxAttempts, baseDelay, maxDelay, deadline, Objects.requireNonNull(predicate, "predicate"), budget);
+    }
+
+    /**
+     * @param retryBudget The budget shared by all callers using this policy, or null for no budget.
+     * @return A copy of this policy with the given budget.
+     */
+    public RetryPolicy budget(RetryBudget retryBudget) {
+        return new RetryPolicy(maxAttempts, baseDelay, maxDelay, deadline, retryIf, retryBudget);
+    }
+
+    /**
+     * @return The maximum amount of attempts, including the first one.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return The minimum delay between attempts.
+     */
+    public Duration getBaseDelay() {
+        return baseDelay;
+    }
+
+    /**
+     * @return The maximum delay between attempts.
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * @return The maximum time from the first attempt until the start of the last one, or null if there is none.
+     */
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @return The budget shared by all callers using this policy, or null if there is none.
+     */
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * @param failure A failure.
+     * @return True if the failure should be retried.
+     */
+    boolean shouldRetry(Exception failure) {
+        return retryIf.test(failure);
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy[maxAttempts=" + maxAttempts + ", baseDelay=" + baseDelay + ", maxDelay=" + maxDelay
+                + ", deadline=" + deadline + ", budget=" + budget + "]";
+    }
+}
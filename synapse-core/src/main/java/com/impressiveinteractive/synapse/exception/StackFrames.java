@@ -0,0 +1,58 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.Arrays;
+
+/**
+ * Trims the frames of {@link Exceptions} from the top of stack traces. This is the Java 8 version, which always trims
+ * the trace that the throwable already has. The multi-release jar contains a Java 9+ version that walks the stack with
+ * {@code StackWalker} when only a limited amount of frames is kept.
+ */
+final class StackFrames {
+
+    private static final String EXCEPTIONS = Exceptions.class.getName();
+    private static final String STACK_FRAMES = StackFrames.class.getName();
+
+    private StackFrames() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Get the stack trace for the given throwable, which was just created on behalf of a caller of {@link Exceptions},
+     * starting at the frame of that caller.
+     *
+     * @param throwable The throwable that was just created.
+     * @return The trimmed stack trace.
+     */
+    static StackTraceElement[] trim(Throwable throwable) {
+        return trim(throwable, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #trim(Throwable)}, but returns at most the given amount of frames.
+     *
+     * @param throwable The throwable that was just created.
+     * @param depth     The maximum amount of frames to return.
+     * @return The trimmed stack trace.
+     */
+    static StackTraceElement[] trim(Throwable throwable, int depth) {
+        StackTraceElement[] trace = throwable.getStackTrace();
+        int start = 0;
+        // Skip the frames of the lambda that called the constructor, then those of Exceptions.
+        while (start < trace.length && !isInternal(trace[start].getClassName())) {
+            start++;
+        }
+        while (start < trace.length && isInternal(trace[start].getClassName())) {
+            start++;
+        }
+        if (start == trace.length) {
+            start = 0;
+        }
+        return Arrays.copyOfRange(trace, start, start + Math.min(depth, trace.length - start));
+    }
+
+    private static boolean isInternal(String className) {
+        return className.startsWith(EXCEPTIONS)
+                && (className.length() == EXCEPTIONS.length() || className.charAt(EXCEPTIONS.length()) == '$')
+                || className.equals(STACK_FRAMES);
+    }
+}
@@ -0,0 +1,156 @@
+package com.impressiveinteractive.synapse.exception;
+
+import com.impressiveinteractive.synapse.exception.runtime.RuntimeTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls {@link ExceptionalSupplier ExceptionalSuppliers} on another thread, so the caller can stop waiting for them.
+ * The calls run on virtual threads when available and on daemon platform threads otherwise. A call that is no longer
+ * waited for is interrupted; when it does not respond to interruption it is abandoned and runs to completion on its
+ * own thread.
+ *
+ * @see Exceptions#withTimeout(ExceptionalSupplier, Duration)
+ * @see Exceptions#hedged(ExceptionalSupplier, Duration, int)
+ */
+final class TimedCalls {
+
+    private static final Executor EXECUTOR = createExecutor();
+
+    private TimedCalls() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Call the supplier and wait for it at most the given timeout.
+     *
+     * @param supplier The supplier.
+     * @param timeout  The maximum time to wait.
+     * @param <T>      The type of the value.
+     * @param <E>      The type of the checked exception.
+     * @return The value of the supplier.
+     * @throws E                       The failure of the supplier.
+     * @throws RuntimeTimeoutException When the supplier did not complete within the timeout. It is interrupted.
+     * @throws CancellationException   When the calling thread was interrupted while waiting. The supplier is
+     *                                 interrupted and the interrupt flag is restored.
+     */
+    static <T, E extends Exception> T withTimeout(
+            ExceptionalSupplier<? extends T, ? extends E> supplier, Duration timeout) throws E {
+        FutureTask<T> task = new FutureTask<>(supplier::get);
+        EXECUTOR.execute(task);
+        try {
+            return task.get(Durations.toNanos(timeout), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw TimedCalls.<E>rethrow(e.getCause());
+        } catch (TimeoutException e) {
+            throw Exceptions.formatMessage(RuntimeTimeoutException::new,
+                    "Call did not complete within {}.", timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw interrupted();
+        } finally {
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * Call the supplier, and call it again when no attempt completed within the given delay, up to the given amount
+     * of attempts. The first successful attempt wins and the others are interrupted. When an attempt fails and no
+     * other attempt is in flight, the next attempt starts right away.
+     *
+     * @param supplier    The supplier.
+     * @param delay       The delay before starting another attempt.
+     * @param maxAttempts The maximum amount of attempts, including the first one.
+     * @param <T>         The type of the value.
+     * @param <E>         The type of the checked exception.
+     * @return The value of the first successful attempt.
+     * @throws E                     The failure of the last attempt, when all attempts failed. The failures of the
+     *                               other attempts are added as {@link Throwable#getSuppressed() suppressed}.
+     * @throws CancellationException When the calling thread was interrupted while waiting. All attempts are
+     *                               interrupted and the interrupt flag is restored.
+     */
+    static <T, E extends Exception> T hedged(
+            ExceptionalSupplier<? extends T, ? extends E> supplier, Duration delay, int maxAttempts) throws E {
+        long delayNanos = Durations.toNanos(delay);
+        ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(EXECUTOR);
+        List<Future<T>> attempts = new ArrayList<>(maxAttempts);
+        List<Throwable> failures = new ArrayList<>(maxAttempts);
+        try {
+            attempts.add(completion.submit(supplier::get));
+            while (true) {
+                Future<T> done = attempts.size() < maxAttempts
+                        ? completion.poll(delayNanos, TimeUnit.NANOSECONDS)
+                        : completion.take();
+                if (done == null) {
+                    attempts.add(completion.submit(supplier::get));
+                    continue;
+                }
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+                if (failures.size() == maxAttempts) {
+                    Throwable last = failures.get(maxAttempts - 1);
+                    for (Throwable failure : failures.subList(0, maxAttempts - 1)) {
+                        if (failure != last) {
+                            last.addSuppressed(failure);
+                        }
+                    }
+                    throw TimedCalls.<E>rethrow(last);
+                } else if (failures.size() == attempts.size()) {
+                    attempts.add(completion.submit(supplier::get));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw interrupted();
+        } finally {
+            for (Future<T> attempt : attempts) {
+                attempt.cancel(true);
+            }
+        }
+    }
+
+    private static CancellationException interrupted() {
+        return Exceptions.formatMessage(CancellationException::new, "Interrupted while waiting for the call.");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Exception> E rethrow(Throwable failure) throws E {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw (E) failure;
+    }
+
+    private static Executor createExecutor() {
+        ThreadFactory virtual = VirtualThreads.factory();
+        if (virtual != null) {
+            return command -> virtual.newThread(command).start();
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "synapse-timed-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
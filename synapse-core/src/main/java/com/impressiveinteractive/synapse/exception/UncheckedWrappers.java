@@ -0,0 +1,162 @@
+package com.impressiveinteractive.synapse.exception;
+
+import com.impressiveinteractive.synapse.exception.runtime.RuntimeTimeoutException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedClassNotFoundException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedIOException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedIllegalAccessException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedInstantiationException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedInvocationTargetException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedNoSuchFieldException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedNoSuchMethodException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedReflectiveOperationException;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Registry of the unchecked wrapper for each checked exception type. A checked exception is wrapped by the wrapper
+ * registered for its class, or else for its closest registered superclass, so a {@link java.io.FileNotFoundException}
+ * becomes a {@link WrappedIOException}. Checked exceptions without a more specific wrapper become a
+ * {@link WrappedException}. Example:
+ * <pre>
+ * Stream.of("Apple", "Orange")
+ *         .forEach(Exceptions.wrap(this::consume, UncheckedWrappers::wrap));
+ * </pre>
+ * <p>
+ * The {@code wrapped} exceptions of this library are registered for their checked counterparts, and
+ * {@link RuntimeTimeoutException} for {@link TimeoutException}. More wrappers can be registered by a {@link Provider},
+ * which is found through the {@link ServiceLoader} when this class is initialized. A provider overrides the built-in
+ * wrapper for the same type. A provider that can not be loaded, or that throws while registering, is skipped along
+ * with all of its registrations, so a broken provider never makes this class unusable.
+ * <p>
+ * The wrapper for each thrown class is resolved once and cached in a {@link ClassValue}, so wrapping costs a single
+ * lookup and the call to the wrapper itself.
+ */
+public final class UncheckedWrappers {
+
+    private static final Map<Class<?>, Function<Exception, RuntimeException>> REGISTERED = loadRegistered();
+
+    private static final ClassValue<Function<Exception, RuntimeException>> WRAPPERS =
+            new ClassValue<Function<Exception, RuntimeException>>() {
+                @Override
+                protected Function<Exception, RuntimeException> computeValue(Class<?> type) {
+                    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                        Function<Exception, RuntimeException> wrapper = REGISTERED.get(current);
+                        if (wrapper != null) {
+                            return wrapper;
+                        }
+                    }
+                    return WrappedException::new;
+                }
+            };
+
+    private UncheckedWrappers() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Wrap the given exception in the unchecked exception registered for its type. An unchecked exception is returned
+     * as is.
+     *
+     * @param e The exception to wrap.
+     * @return The unchecked exception.
+     */
+    public static RuntimeException wrap(Exception e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        return WRAPPERS.get(e.getClass()).apply(e);
+    }
+
+    private static Map<Class<?>, Function<Exception, RuntimeException>> loadRegistered() {
+        Map<Class<?>, Function<Exception, RuntimeException>> registered = new HashMap<>();
+        Registry registry = registry(registered);
+        registry.register(Exception.class, WrappedException::new);
+        registry.register(IOException.class, WrappedIOException::new);
+        registry.register(ReflectiveOperationException.class, WrappedReflectiveOperationException::new);
+        registry.register(ClassNotFoundException.class, WrappedClassNotFoundException::new);
+        registry.register(IllegalAccessException.class, WrappedIllegalAccessException::new);
+        registry.register(InstantiationException.class, WrappedInstantiationException::new);
+        registry.register(InvocationTargetException.class, WrappedInvocationTargetException::new);
+        registry.register(NoSuchFieldException.class, WrappedNoSuchFieldException::new);
+        registry.register(NoSuchMethodException.class, WrappedNoSuchMethodException::new);
+        registry.register(TimeoutException.class, e -> new RuntimeTimeoutException(e.getMessage(), e));
+        Iterator<Provider> providers =
+                ServiceLoader.load(Provider.class, UncheckedWrappers.class.getClassLoader()).iterator();
+        while (hasNext(providers)) {
+            Provider provider;
+            try {
+                provider = providers.next();
+            } catch (ServiceConfigurationError e) {
+                continue;
+            }
+            Map<Class<?>, Function<Exception, RuntimeException>> provided = new HashMap<>();
+            try {
+                provider.registerWrappers(registry(provided));
+            } catch (RuntimeException e) {
+                continue;
+            }
+            registered.putAll(provided);
+        }
+        return Collections.unmodifiableMap(registered);
+    }
+
+    private static boolean hasNext(Iterator<Provider> providers) {
+        try {
+            return providers.hasNext();
+        } catch (ServiceConfigurationError e) {
+            return false;
+        }
+    }
+
+    private static Registry registry(Map<Class<?>, Function<Exception, RuntimeException>> registered) {
+        return new Registry() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <E extends Exception> void register(
+                    Class<E> type, Function<? super E, ? extends RuntimeException> wrapper) {
+                registered.put(type, e -> wrapper.apply((E) e));
+            }
+        };
+    }
+
+    /**
+     * Registers unchecked wrappers for checked exception types. Implementations are found through the
+     * {@link ServiceLoader}, by listing them in
+     * {@code META-INF/services/com.impressiveinteractive.synapse.exception.UncheckedWrappers$Provider}.
+     */
+    public interface Provider {
+
+        /**
+         * Register wrappers in the given registry.
+         *
+         * @param registry The registry.
+         */
+        void registerWrappers(Registry registry);
+    }
+
+    /**
+     * Accepts the registrations of a {@link Provider}.
+     */
+    public interface Registry {
+
+        /**
+         * Register the wrapper for the given checked exception type and its subclasses without a more specific
+         * wrapper.
+         *
+         * @param type    The checked exception type.
+         * @param wrapper Creates the unchecked exception.
+         * @param <E>     The checked exception type.
+         */
+        <E extends Exception> void register(Class<E> type, Function<? super E, ? extends RuntimeException> wrapper);
+    }
+}
@@ -0,0 +1,44 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads when the running Java version supports them. The builder API is looked up reflectively, so
+ * this class also loads on Java versions without virtual threads.
+ */
+final class VirtualThreads {
+
+    private static final ThreadFactory FACTORY = lookupFactory();
+
+    private VirtualThreads() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * @return True if virtual threads are available.
+     */
+    static boolean isAvailable() {
+        return FACTORY != null;
+    }
+
+    /**
+     * @return A factory for virtual threads, or null if virtual threads are not available.
+     */
+    static ThreadFactory factory() {
+        return FACTORY;
+    }
+
+    private static ThreadFactory lookupFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Method name = builderType.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, "synapse-virtual-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // Not available on this Java version, or only as a preview feature that is not enabled.
+            return null;
+        }
+    }
+}
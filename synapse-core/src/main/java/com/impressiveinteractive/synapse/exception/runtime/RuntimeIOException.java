@@ -1,10 +1,16 @@
 package com.impressiveinteractive.synapse.exception.runtime;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedException;
+
 /**
- * Runtime variation of the {@link java.io.IOException}.
+ * Runtime variation of the {@link java.io.IOException}. A {@link WrappedException} given as cause is replaced by its
+ * original exception, so wrapped exceptions are not wrapped twice.
  */
 public class RuntimeIOException extends RuntimeException {
 
+    private LazyMessage lazyMessage;
+
     /**
      * Creates empty exception.
      */
@@ -28,7 +34,46 @@ public class RuntimeIOException extends RuntimeException {
      * @param cause   Given cause.
      */
     public RuntimeIOException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, WrappedException.originalOf(cause));
+    }
+
+    /**
+     * Creates exception with given message and cause, with suppression and a writable stack trace enabled or
+     * disabled.
+     *
+     * @param message            Given message.
+     * @param cause              Given cause.
+     * @param enableSuppression  Whether or not suppression is enabled.
+     * @param writableStackTrace Whether or not the stack trace should be writable.
+     */
+    protected RuntimeIOException(
+            String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, WrappedException.originalOf(cause), enableSuppression, writableStackTrace);
+    }
+
+    /**
+     * Creates exception with given lazily rendered message and cause. The message is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param cause   Given cause.
+     * @see #lazy(LazyMessage, Throwable)
+     */
+    RuntimeIOException(LazyMessage message, Throwable cause) {
+        super(null, WrappedException.originalOf(cause));
+        this.lazyMessage = message;
+    }
+
+    /**
+     * Creates exception with given lazily rendered message and cause. The message is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param cause   Given cause.
+     * @return The created exception.
+     */
+    public static RuntimeIOException lazy(LazyMessage message, Throwable cause) {
+        return new RuntimeIOException(message, cause);
     }
 
     /**
@@ -37,6 +82,11 @@ public class RuntimeIOException extends RuntimeException {
      * @param cause Given cause.
      */
     public RuntimeIOException(Throwable cause) {
-        super(cause);
+        super(WrappedException.originalOf(cause));
+    }
+
+    @Override
+    public String getMessage() {
+        return lazyMessage != null ? lazyMessage.toString() : super.getMessage();
     }
 }
@@ -1,7 +1,11 @@
 package com.impressiveinteractive.synapse.exception.runtime;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedException;
+
 /**
- * Runtime variation of the {@link InstantiationException}.
+ * Runtime variation of the {@link InstantiationException}. A {@link WrappedException} given as cause is replaced by its
+ * original exception, so wrapped exceptions are not wrapped twice.
  */
 public class RuntimeInstantiationException extends RuntimeReflectiveOperationException {
 
@@ -28,7 +32,45 @@ public class RuntimeInstantiationException extends RuntimeReflectiveOperationExc
      * @param cause   Given cause.
      */
     public RuntimeInstantiationException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, WrappedException.originalOf(cause));
+    }
+
+    /**
+     * Creates exception with given message and cause, with suppression and a writable stack trace enabled or
+     * disabled.
+     *
+     * @param message            Given message.
+     * @param cause              Given cause.
+     * @param enableSuppression  Whether or not suppression is enabled.
+     * @param writableStackTrace Whether or not the stack trace should be writable.
+     */
+    protected RuntimeInstantiationException(
+            String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, WrappedException.originalOf(cause), enableSuppression, writableStackTrace);
+    }
+
+    /**
+     * Creates exception with given lazily rendered message and cause. The message is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param cause   Given cause.
+     * @see #lazy(LazyMessage, Throwable)
+     */
+    RuntimeInstantiationException(LazyMessage message, Throwable cause) {
+        super(message, WrappedException.originalOf(cause));
+    }
+
+    /**
+     * Creates exception with given lazily rendered message and cause. The message is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param cause   Given cause.
+     * @return The created exception.
+     */
+    public static RuntimeInstantiationException lazy(LazyMessage message, Throwable cause) {
+        return new RuntimeInstantiationException(message, cause);
     }
 
     /**
@@ -37,6 +79,6 @@ public class RuntimeInstantiationException extends RuntimeReflectiveOperationExc
      * @param cause Given cause.
      */
     public RuntimeInstantiationException(Throwable cause) {
-        super(cause);
+        super(WrappedException.originalOf(cause));
     }
 }
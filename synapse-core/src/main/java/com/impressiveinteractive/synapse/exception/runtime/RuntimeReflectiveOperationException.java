@@ -1,10 +1,16 @@
 package com.impressiveinteractive.synapse.exception.runtime;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedException;
+
 /**
- * Runtime variation of the {@link ReflectiveOperationException}.
+ * Runtime variation of the {@link ReflectiveOperationException}. A {@link WrappedException} given as cause is replaced
+ * by its original exception, so wrapped exceptions are not wrapped twice.
  */
 public class RuntimeReflectiveOperationException extends RuntimeException {
 
+    private LazyMessage lazyMessage;
+
     /**
      * Creates empty exception.
      */
@@ -28,7 +34,46 @@ public class RuntimeReflectiveOperationException extends RuntimeException {
      * @param cause   Given cause.
      */
     public RuntimeReflectiveOperationException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, WrappedException.originalOf(cause));
+    }
+
+    /**
+     * Creates exception with given message and cause, with suppression and a writable stack trace enabled or
+     * disabled.
+     *
+     * @param message            Given message.
+     * @param cause              Given cause.
+     * @param enableSuppression  Whether or not suppression is enabled.
+     * @param writableStackTrace Whether or not the stack trace should be writable.
+     */
+    protected RuntimeReflectiveOperationException(
+            String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, WrappedException.originalOf(cause), enableSuppression, writableStackTrace);
+    }
+
+    /**
+     * Creates exception with given lazily rendered message and cause. The message is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param cause   Given cause.
+     * @see #lazy(LazyMessage, Throwable)
+     */
+    RuntimeReflectiveOperationException(LazyMessage message, Throwable cause) {
+        super(null, WrappedException.originalOf(cause));
+        this.lazyMessage = message;
+    }
+
+    /**
+     * Creates exception with given lazily rendered message and cause. The message is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param cause   Given cause.
+     * @return The created exception.
+     */
+    public static RuntimeReflectiveOperationException lazy(LazyMessage message, Throwable cause) {
+        return new RuntimeReflectiveOperationException(message, cause);
     }
 
     /**
@@ -37,6 +82,11 @@ public class RuntimeReflectiveOperationException extends RuntimeException {
      * @param cause Given cause.
      */
     public RuntimeReflectiveOperationException(Throwable cause) {
-        super(cause);
+        super(WrappedException.originalOf(cause));
+    }
+
+    @Override
+    public String getMessage() {
+        return lazyMessage != null ? lazyMessage.toString() : super.getMessage();
     }
 }
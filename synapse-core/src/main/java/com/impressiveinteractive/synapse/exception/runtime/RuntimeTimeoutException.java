@@ -0,0 +1,92 @@
+package com.impressiveinteractive.synapse.exception.runtime;
+
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedException;
+
+/**
+ * Runtime variation of the {@link java.util.concurrent.TimeoutException}. A {@link WrappedException} given as cause is
+ * replaced by its original exception, so wrapped exceptions are not wrapped twice.
+ */
+public class RuntimeTimeoutException extends RuntimeException {
+
+    private LazyMessage lazyMessage;
+
+    /**
+     * Creates empty exception.
+     */
+    public RuntimeTimeoutException() {
+        // noop
+    }
+
+    /**
+     * Creates exception with given message.
+     *
+     * @param message Given message.
+     */
+    public RuntimeTimeoutException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates exception with given message and cause.
+     *
+     * @param message Given message.
+     * @param cause   Given cause.
+     */
+    public RuntimeTimeoutException(String message, Throwable cause) {
+        super(message, WrappedException.originalOf(cause));
+    }
+
+    /**
+     * Creates exception with given message and cause, with suppression and a writable stack trace enabled or
+     * disabled.
+     *
+     * @param message            Given message.
+     * @param cause              Given cause.
+     * @param enableSuppression  Whether or not suppression is enabled.
+     * @param writableStackTrace Whether or not the stack trace should be writable.
+     */
+    protected RuntimeTimeoutException(
+            String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, WrappedException.originalOf(cause), enableSuppression, writableStackTrace);
+    }
+
+    /**
+     * Creates exception with given lazily rendered message and cause. The message is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param cause   Given cause.
+     * @see #lazy(LazyMessage, Throwable)
+     */
+    RuntimeTimeoutException(LazyMessage message, Throwable cause) {
+        super(null, WrappedException.originalOf(cause));
+        this.lazyMessage = message;
+    }
+
+    /**
+     * Creates exception with given lazily rendered message and cause. The message is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param cause   Given cause.
+     * @return The created exception.
+     */
+    public static RuntimeTimeoutException lazy(LazyMessage message, Throwable cause) {
+        return new RuntimeTimeoutException(message, cause);
+    }
+
+    /**
+     * Creates exception with the given cause.
+     *
+     * @param cause Given cause.
+     */
+    public RuntimeTimeoutException(Throwable cause) {
+        super(WrappedException.originalOf(cause));
+    }
+
+    @Override
+    public String getMessage() {
+        return lazyMessage != null ? lazyMessage.toString() : super.getMessage();
+    }
+}
@@ -0,0 +1,79 @@
+package com.impressiveinteractive.synapse.exception.runtime;
+
+import com.impressiveinteractive.synapse.exception.Exceptions;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Factory for shared, immutable instances of the exceptions in this package. A shared instance has a constant message,
+ * no cause, no stack trace and does not accept suppressed exceptions, so it can be thrown any number of times from any
+ * number of threads. Use them on hot paths where an exception signals a common condition, like a parser that does not
+ * match its input:
+ * <pre>
+ * private static final RuntimeNoSuchMethodException NO_MATCH =
+ *         SharedExceptions.of(RuntimeNoSuchMethodException.class, "No match.");
+ * </pre>
+ * <p>
+ * Any {@link RuntimeException} type with an accessible {@code (String, Throwable, boolean, boolean)} constructor is
+ * supported, which includes all types in this package. Instances are cached per type and message, at most
+ * {@link #MAX_CACHED_MESSAGES} messages per type, so the message should be a constant.
+ */
+public final class SharedExceptions {
+
+    /**
+     * The maximum amount of messages cached per exception type. When exceeded, the cache for that type is cleared.
+     */
+    static final int MAX_CACHED_MESSAGES = 256;
+
+    private static final ClassValue<Map<String, RuntimeException>> INSTANCES =
+            new ClassValue<Map<String, RuntimeException>>() {
+                @Override
+                protected Map<String, RuntimeException> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private SharedExceptions() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Get the shared instance of the given type with the given message.
+     *
+     * @param type    The type of the exception.
+     * @param message The constant message of the exception.
+     * @param <T>     The type of the exception.
+     * @return The shared, stackless exception.
+     * @throws IllegalArgumentException When the type does not have an accessible
+     *                                  {@code (String, Throwable, boolean, boolean)} constructor.
+     */
+    public static <T extends RuntimeException> T of(Class<T> type, String message) {
+        Map<String, RuntimeException> instances = INSTANCES.get(type);
+        RuntimeException instance = instances.get(message);
+        if (instance == null) {
+            if (instances.size() >= MAX_CACHED_MESSAGES) {
+                instances.clear();
+            }
+            instance = instances.computeIfAbsent(message, key -> create(type, key));
+        }
+        return type.cast(instance);
+    }
+
+    private static <T extends RuntimeException> T create(Class<T> type, String message) {
+        try {
+            Constructor<T> constructor =
+                    type.getDeclaredConstructor(String.class, Throwable.class, boolean.class, boolean.class);
+            return constructor.newInstance(message, null, false, false);
+        } catch (NoSuchMethodException | IllegalAccessException | InstantiationException e) {
+            throw Exceptions.format(IllegalArgumentException::new,
+                    "{} does not have an accessible (String, Throwable, boolean, boolean) constructor.",
+                    type.getName(), e);
+        } catch (InvocationTargetException e) {
+            throw Exceptions.format(IllegalArgumentException::new,
+                    "Could not create shared instance of {}.", type.getName(), e.getCause());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.impressiveinteractive.synapse.exception.wrapped;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+
 /**
  * {@link WrappedException} for the {@link ClassNotFoundException}.
  */
@@ -14,8 +16,32 @@ public class WrappedClassNotFoundException extends WrappedReflectiveOperationExc
         super(e);
     }
 
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @see #lazy(LazyMessage, ClassNotFoundException)
+     */
+    protected WrappedClassNotFoundException(LazyMessage message, ClassNotFoundException e) {
+        super(message, e);
+    }
+
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @return The created exception.
+     */
+    public static WrappedClassNotFoundException lazy(LazyMessage message, ClassNotFoundException e) {
+        return new WrappedClassNotFoundException(message, e);
+    }
+
     @Override
-    public synchronized ClassNotFoundException getCause() {
+    public ClassNotFoundException getCause() {
         return (ClassNotFoundException) super.getCause();
     }
 
@@ -1,5 +1,7 @@
 package com.impressiveinteractive.synapse.exception.wrapped;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+
 /**
  * This class is a {@link RuntimeException} designed to wrap checked exceptions. It is recommended to use the most
  * specific subclass of this exception, in order to keep a similar type hierarchy to the original exception. A more
@@ -7,27 +9,85 @@ package com.impressiveinteractive.synapse.exception.wrapped;
  * <p>
  * This class was designed to be used in conjunction with the {@code wrap} methods in
  * {@link com.impressiveinteractive.synapse.exception.Exceptions}
+ * <p>
+ * Wrapping a {@link WrappedException} again wraps its original exception instead, so the cause of a wrapped exception
+ * is never a wrapped exception itself and {@link #unwrap()} always throws the original exception.
  */
 public class WrappedException extends RuntimeException {
 
+    private final Exception original;
+    private LazyMessage lazyMessage;
+
     /**
-     * Create a new runtime variant of the given exception.
+     * Create a new runtime variant of the given exception. When the given exception is a {@link WrappedException}
+     * itself, its original exception is wrapped instead.
      *
      * @param e Given exception.
      */
     public WrappedException(Exception e) {
-        super(e);
+        super(originalOf(e));
+        this.original = (Exception) originalOf(e);
+    }
+
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @see #lazy(LazyMessage, Exception)
+     */
+    protected WrappedException(LazyMessage message, Exception e) {
+        super(null, originalOf(e));
+        this.original = (Exception) originalOf(e);
+        this.lazyMessage = message;
+    }
+
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @return The created exception.
+     */
+    public static WrappedException lazy(LazyMessage message, Exception e) {
+        return new WrappedException(message, e);
+    }
+
+    /**
+     * Get the original exception of the given exception. This is the cause of a {@link WrappedException} and the
+     * given exception itself otherwise.
+     *
+     * @param throwable Given exception, may be null.
+     * @return The original exception.
+     */
+    public static Throwable originalOf(Throwable throwable) {
+        if (throwable instanceof WrappedException) {
+            return ((WrappedException) throwable).original;
+        }
+        return throwable;
     }
 
     @Override
-    public synchronized Exception getCause() {
-        return (Exception) super.getCause();
+    public String getMessage() {
+        return lazyMessage != null ? lazyMessage.toString() : super.getMessage();
+    }
+
+    /**
+     * Get the original exception. Unlike {@link Throwable#getCause()}, this does not synchronize.
+     *
+     * @return The original exception.
+     */
+    @Override
+    public Exception getCause() {
+        return original;
     }
 
     /**
-     * Rethrow the causing (unchecked) exception.
+     * Rethrow the original exception.
      *
-     * @throws Exception The causing (unchecked) exception.
+     * @throws Exception The original exception.
      */
     public void unwrap() throws Exception {
         throw getCause();
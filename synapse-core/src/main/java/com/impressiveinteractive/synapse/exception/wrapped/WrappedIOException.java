@@ -1,5 +1,7 @@
 package com.impressiveinteractive.synapse.exception.wrapped;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+
 import java.io.IOException;
 
 /**
@@ -16,8 +18,32 @@ public class WrappedIOException extends WrappedException {
         super(e);
     }
 
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @see #lazy(LazyMessage, IOException)
+     */
+    protected WrappedIOException(LazyMessage message, IOException e) {
+        super(message, e);
+    }
+
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @return The created exception.
+     */
+    public static WrappedIOException lazy(LazyMessage message, IOException e) {
+        return new WrappedIOException(message, e);
+    }
+
     @Override
-    public synchronized IOException getCause() {
+    public IOException getCause() {
         return (IOException) super.getCause();
     }
 
@@ -1,5 +1,7 @@
 package com.impressiveinteractive.synapse.exception.wrapped;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+
 /**
  * {@link WrappedException} for the {@link IllegalAccessException}.
  */
@@ -14,8 +16,32 @@ public class WrappedIllegalAccessException extends WrappedReflectiveOperationExc
         super(e);
     }
 
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @see #lazy(LazyMessage, IllegalAccessException)
+     */
+    protected WrappedIllegalAccessException(LazyMessage message, IllegalAccessException e) {
+        super(message, e);
+    }
+
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @return The created exception.
+     */
+    public static WrappedIllegalAccessException lazy(LazyMessage message, IllegalAccessException e) {
+        return new WrappedIllegalAccessException(message, e);
+    }
+
     @Override
-    public synchronized IllegalAccessException getCause() {
+    public IllegalAccessException getCause() {
         return (IllegalAccessException) super.getCause();
     }
 
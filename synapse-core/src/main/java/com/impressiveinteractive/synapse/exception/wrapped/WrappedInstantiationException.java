@@ -1,5 +1,7 @@
 package com.impressiveinteractive.synapse.exception.wrapped;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+
 /**
  * {@link WrappedException} for the {@link InstantiationException}.
  */
@@ -14,8 +16,32 @@ public class WrappedInstantiationException extends WrappedReflectiveOperationExc
         super(e);
     }
 
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @see #lazy(LazyMessage, InstantiationException)
+     */
+    protected WrappedInstantiationException(LazyMessage message, InstantiationException e) {
+        super(message, e);
+    }
+
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @return The created exception.
+     */
+    public static WrappedInstantiationException lazy(LazyMessage message, InstantiationException e) {
+        return new WrappedInstantiationException(message, e);
+    }
+
     @Override
-    public synchronized InstantiationException getCause() {
+    public InstantiationException getCause() {
         return (InstantiationException) super.getCause();
     }
 
@@ -1,5 +1,7 @@
 package com.impressiveinteractive.synapse.exception.wrapped;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+
 import java.lang.reflect.InvocationTargetException;
 
 /**
@@ -16,8 +18,32 @@ public class WrappedInvocationTargetException extends WrappedReflectiveOperation
         super(e);
     }
 
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @see #lazy(LazyMessage, InvocationTargetException)
+     */
+    protected WrappedInvocationTargetException(LazyMessage message, InvocationTargetException e) {
+        super(message, e);
+    }
+
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @return The created exception.
+     */
+    public static WrappedInvocationTargetException lazy(LazyMessage message, InvocationTargetException e) {
+        return new WrappedInvocationTargetException(message, e);
+    }
+
     @Override
-    public synchronized InvocationTargetException getCause() {
+    public InvocationTargetException getCause() {
         return (InvocationTargetException) super.getCause();
     }
 
@@ -1,5 +1,7 @@
 package com.impressiveinteractive.synapse.exception.wrapped;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+
 /**
  * {@link WrappedException} for the {@link NoSuchFieldException}.
  */
@@ -14,8 +16,32 @@ public class WrappedNoSuchFieldException extends WrappedReflectiveOperationExcep
         super(e);
     }
 
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @see #lazy(LazyMessage, NoSuchFieldException)
+     */
+    protected WrappedNoSuchFieldException(LazyMessage message, NoSuchFieldException e) {
+        super(message, e);
+    }
+
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @return The created exception.
+     */
+    public static WrappedNoSuchFieldException lazy(LazyMessage message, NoSuchFieldException e) {
+        return new WrappedNoSuchFieldException(message, e);
+    }
+
     @Override
-    public synchronized NoSuchFieldException getCause() {
+    public NoSuchFieldException getCause() {
         return (NoSuchFieldException) super.getCause();
     }
 
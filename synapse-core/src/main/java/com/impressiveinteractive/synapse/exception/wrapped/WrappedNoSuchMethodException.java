@@ -1,5 +1,7 @@
 package com.impressiveinteractive.synapse.exception.wrapped;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+
 /**
  * {@link WrappedException} for the {@link NoSuchMethodException}.
  */
@@ -14,8 +16,32 @@ public class WrappedNoSuchMethodException extends WrappedReflectiveOperationExce
         super(e);
     }
 
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @see #lazy(LazyMessage, NoSuchMethodException)
+     */
+    protected WrappedNoSuchMethodException(LazyMessage message, NoSuchMethodException e) {
+        super(message, e);
+    }
+
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @return The created exception.
+     */
+    public static WrappedNoSuchMethodException lazy(LazyMessage message, NoSuchMethodException e) {
+        return new WrappedNoSuchMethodException(message, e);
+    }
+
     @Override
-    public synchronized NoSuchMethodException getCause() {
+    public NoSuchMethodException getCause() {
         return (NoSuchMethodException) super.getCause();
     }
 
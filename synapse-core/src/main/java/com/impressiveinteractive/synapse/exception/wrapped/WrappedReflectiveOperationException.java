@@ -1,5 +1,7 @@
 package com.impressiveinteractive.synapse.exception.wrapped;
 
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+
 /**
  * {@link WrappedException} for the {@link ReflectiveOperationException}.
  */
@@ -14,8 +16,32 @@ public class WrappedReflectiveOperationException extends WrappedException {
         super(e);
     }
 
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @see #lazy(LazyMessage, ReflectiveOperationException)
+     */
+    protected WrappedReflectiveOperationException(LazyMessage message, ReflectiveOperationException e) {
+        super(message, e);
+    }
+
+    /**
+     * Create a new runtime variant of the given exception, with a message that is rendered when it is first
+     * requested.
+     *
+     * @param message Given message.
+     * @param e       Given exception.
+     * @return The created exception.
+     */
+    public static WrappedReflectiveOperationException lazy(LazyMessage message, ReflectiveOperationException e) {
+        return new WrappedReflectiveOperationException(message, e);
+    }
+
     @Override
-    public synchronized ReflectiveOperationException getCause() {
+    public ReflectiveOperationException getCause() {
         return (ReflectiveOperationException) super.getCause();
     }
 
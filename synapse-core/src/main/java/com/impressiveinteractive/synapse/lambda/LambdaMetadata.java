@@ -0,0 +1,122 @@
+package com.impressiveinteractive.synapse.lambda;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.SerializedLambda;
+
+/**
+ * Per class metadata of a {@link SerializableLambda}, cached in a {@link ClassValue} keyed by the synthetic lambda
+ * class. Because the cache lives on the lambda class itself, it does not keep the lambda's class loader alive.
+ * <p>
+ * The {@code writeReplace} method is looked up once per class and invoked through a {@link MethodHandle}. The
+ * {@link SerializedLambda} derived data is taken from the first instance that is serialized, since it is the same for
+ * all instances of the class. Only the captured arguments differ per instance, which is why the
+ * {@link SerializedLambda} itself is only shared for non capturing lambdas.
+ */
+final class LambdaMetadata {
+
+    private static final ClassValue<LambdaMetadata> METADATA = new ClassValue<LambdaMetadata>() {
+        @Override
+        protected LambdaMetadata computeValue(Class<?> type) {
+            return new LambdaMetadata(type);
+        }
+    };
+
+    private final Class<?> lambdaClass;
+    private final MethodHandle writeReplace;
+    private final ReflectiveOperationException failure;
+
+    private volatile Details details;
+    private volatile MethodType methodType;
+
+    /**
+     * Get the (cached) metadata for the class of the given lambda.
+     *
+     * @param lambda The lambda.
+     * @return The {@link LambdaMetadata} for the class of the given lambda.
+     */
+    static LambdaMetadata of(SerializableLambda lambda) {
+        return METADATA.get(lambda.getClass());
+    }
+
+    private LambdaMetadata(Class<?> lambdaClass) {
+        this.lambdaClass = lambdaClass;
+        MethodHandle handle = null;
+        ReflectiveOperationException exception = null;
+        try {
+            handle = WriteReplaceLookup.find(lambdaClass);
+        } catch (ReflectiveOperationException e) {
+            exception = e;
+        }
+        this.writeReplace = handle;
+        this.failure = exception;
+    }
+
+    /**
+     * Serialize the given lambda, which must be an instance of the class this metadata was created for. For non
+     * capturing lambdas the same {@link SerializedLambda} is returned on every call.
+     *
+     * @param lambda The lambda to serialize.
+     * @return The {@link SerializedLambda}.
+     */
+    SerializedLambda serialize(SerializableLambda lambda) {
+        Details current = details;
+        if (current != null && current.shared != null) {
+            return current.shared;
+        }
+        SerializedLambda serialized = writeReplace(lambda);
+        if (current == null) {
+            details = new Details(serialized);
+        }
+        return serialized;
+    }
+
+    /**
+     * Get the parsed signature of the implementation method. Types are resolved through the class loader of the lambda
+     * class, which is the class loader of the class that created the lambda.
+     *
+     * @param lambda An instance of the lambda class, used to initialize the metadata when necessary.
+     * @return The {@link MethodType} of the implementation method.
+     */
+    MethodType getMethodType(SerializableLambda lambda) {
+        MethodType current = methodType;
+        if (current == null) {
+            current = MethodType.fromMethodDescriptorString(details(lambda).implMethodSignature,
+                    lambdaClass.getClassLoader());
+            methodType = current;
+        }
+        return current;
+    }
+
+    private Details details(SerializableLambda lambda) {
+        Details current = details;
+        if (current == null) {
+            serialize(lambda);
+            current = details;
+        }
+        return current;
+    }
+
+    private SerializedLambda writeReplace(SerializableLambda lambda) {
+        if (writeReplace == null) {
+            throw new IllegalStateException("Could not serialize Lambda.", failure);
+        }
+        try {
+            return (SerializedLambda) (Object) writeReplace.invokeExact((Object) lambda);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not serialize Lambda.", e);
+        }
+    }
+
+    private static final class Details {
+        private final String implMethodSignature;
+        private final SerializedLambda shared;
+
+        private Details(SerializedLambda serialized) {
+            this.implMethodSignature = serialized.getImplMethodSignature();
+            this.shared = serialized.getCapturedArgCount() == 0 ? serialized : null;
+        }
+    }
+}
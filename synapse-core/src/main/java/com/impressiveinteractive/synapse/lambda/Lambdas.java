@@ -90,33 +90,35 @@ public final class Lambdas {
     }
 
     /**
-     * Get the raw return type for the given {@link SerializedLambda}.
+     * Get the raw return type for the given {@link SerializedLambda}. Types are resolved with the class loader of
+     * {@link Lambdas}; use {@link #getRawReturnType(SerializableLambda)} to resolve them with the class loader of the
+     * lambda itself.
      *
      * @param lambda The {@link SerializedLambda}.
      * @return The raw return type for the given {@link SerializedLambda}.
      * @see SerializableLambda#serialized()
      */
     public static Class<?> getRawReturnType(SerializedLambda lambda) {
-        MethodType methodType = MethodType.fromMethodDescriptorString(lambda.getImplMethodSignature(),
-                Lambdas.class.getClassLoader());
-        return methodType.returnType();
+        return resolve(lambda).returnType();
     }
 
     /**
-     * Get the raw type for all parameters on the given {@link SerializedLambda}.
+     * Get the raw type for all parameters on the given {@link SerializedLambda}. Types are resolved with the class
+     * loader of {@link Lambdas}; use {@link #getRawParameterTypes(SerializableLambda)} to resolve them with the class
+     * loader of the lambda itself.
      *
      * @param lambda The {@link SerializedLambda}.
      * @return The raw type for all parameters on the given {@link SerializedLambda}.
      * @see SerializableLambda#serialized()
      */
     public static List<Class<?>> getRawParameterTypes(SerializedLambda lambda) {
-        MethodType methodType = MethodType.fromMethodDescriptorString(lambda.getImplMethodSignature(),
-                Lambdas.class.getClassLoader());
-        return methodType.parameterList();
+        return resolve(lambda).parameterList();
     }
 
     /**
-     * Get the raw parameter type for the parameter at index {@code i} on the given {@link SerializedLambda}.
+     * Get the raw parameter type for the parameter at index {@code i} on the given {@link SerializedLambda}. Types are
+     * resolved with the class loader of {@link Lambdas}; use {@link #getRawParameterType(SerializableLambda, int)} to
+     * resolve them with the class loader of the lambda itself.
      *
      * @param lambda The {@link SerializedLambda}.
      * @param i      The index of the parameter.
@@ -124,8 +126,45 @@ public final class Lambdas {
      * @see SerializableLambda#serialized()
      */
     public static Class<?> getRawParameterType(SerializedLambda lambda, int i) {
-        MethodType methodType = MethodType.fromMethodDescriptorString(lambda.getImplMethodSignature(),
-                Lambdas.class.getClassLoader());
-        return methodType.parameterType(i);
+        return resolve(lambda).parameterType(i);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the raw return type of the implementation method of the given {@link SerializableLambda}. Types are
+     * resolved with the class loader of the lambda, which is the class loader of the class that created it.
+     *
+     * @param lambda The {@link SerializableLambda}.
+     * @return The raw return type of the implementation method of the given {@link SerializableLambda}.
+     */
+    public static Class<?> getRawReturnType(SerializableLambda lambda) {
+        return LambdaMetadata.of(lambda).getMethodType(lambda).returnType();
+    }
+
+    /**
+     * Get the raw type for all parameters of the implementation method of the given {@link SerializableLambda}. Types
+     * are resolved with the class loader of the lambda, which is the class loader of the class that created it.
+     *
+     * @param lambda The {@link SerializableLambda}.
+     * @return The raw type for all parameters of the implementation method of the given {@link SerializableLambda}.
+     */
+    public static List<Class<?>> getRawParameterTypes(SerializableLambda lambda) {
+        return LambdaMetadata.of(lambda).getMethodType(lambda).parameterList();
+    }
+
+    /**
+     * Get the raw parameter type for the parameter at index {@code i} of the implementation method of the given
+     * {@link SerializableLambda}. Types are resolved with the class loader of the lambda, which is the class loader of
+     * the class that created it.
+     *
+     * @param lambda The {@link SerializableLambda}.
+     * @param i      The index of the parameter.
+     * @return The raw parameter type for the parameter at index {@code i}.
+     */
+    public static Class<?> getRawParameterType(SerializableLambda lambda, int i) {
+        return LambdaMetadata.of(lambda).getMethodType(lambda).parameterType(i);
+    }
+
+    private static MethodType resolve(SerializedLambda lambda) {
+        return MethodTypes.resolve(lambda.getImplMethodSignature(), Lambdas.class);
+    }
+}
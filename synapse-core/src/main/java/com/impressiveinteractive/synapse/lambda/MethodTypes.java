@@ -0,0 +1,96 @@
+package com.impressiveinteractive.synapse.lambda;
+
+import java.lang.invoke.MethodType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of resolved method descriptors, keyed by descriptor and the context class whose class loader resolves it. The
+ * descriptors of a context class are cached in a {@link ClassValue}, so they live as long as the context class. A
+ * resolved {@link MethodType} only refers to classes visible to the class loader of the context class, so the cache
+ * never keeps a class loader alive. Each context class keeps at most {@link #MAX_DESCRIPTORS_PER_CLASS} descriptors,
+ * evicting the least recently used one.
+ */
+final class MethodTypes {
+
+    /**
+     * The maximum amount of descriptors cached for a single context class.
+     */
+    static final int MAX_DESCRIPTORS_PER_CLASS = 256;
+
+    private static final ClassValue<Descriptors> CACHE = new ClassValue<Descriptors>() {
+        @Override
+        protected Descriptors computeValue(Class<?> type) {
+            return new Descriptors();
+        }
+    };
+
+    private MethodTypes() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Resolve the given method descriptor with the class loader of the given context class, using a cached result
+     * when available.
+     *
+     * @param descriptor The method descriptor, for instance {@code (Ljava/lang/String;)I}.
+     * @param context    The class whose class loader resolves the types in the descriptor.
+     * @return The resolved {@link MethodType}.
+     * @throws TypeNotPresentException When a type in the descriptor could not be found.
+     */
+    static MethodType resolve(String descriptor, Class<?> context) {
+        Descriptors descriptors = CACHE.get(context);
+        MethodType methodType = descriptors.get(descriptor);
+        if (methodType == null) {
+            methodType = MethodType.fromMethodDescriptorString(descriptor, context.getClassLoader());
+            descriptors.put(descriptor, methodType);
+        }
+        return methodType;
+    }
+
+    /**
+     * Check whether the given descriptor is cached for the given context class.
+     *
+     * @param descriptor The method descriptor.
+     * @param context    The context class.
+     * @return Whether the descriptor is cached.
+     */
+    static boolean isCached(String descriptor, Class<?> context) {
+        return CACHE.get(context).contains(descriptor);
+    }
+
+    /**
+     * Get the amount of descriptors cached for the given context class.
+     *
+     * @param context The context class.
+     * @return The amount of cached descriptors.
+     */
+    static int cachedCount(Class<?> context) {
+        return CACHE.get(context).size();
+    }
+
+    private static final class Descriptors {
+        private final Map<String, MethodType> types = new LinkedHashMap<String, MethodType>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MethodType> eldest) {
+                return size() > MAX_DESCRIPTORS_PER_CLASS;
+            }
+        };
+
+        private synchronized MethodType get(String descriptor) {
+            return types.get(descriptor);
+        }
+
+        private synchronized void put(String descriptor, MethodType methodType) {
+            types.put(descriptor, methodType);
+        }
+
+        private synchronized boolean contains(String descriptor) {
+            return types.containsKey(descriptor);
+        }
+
+        private synchronized int size() {
+            return types.size();
+        }
+    }
+}
@@ -15,6 +15,6 @@ public interface SerializableConsumer<T> extends Consumer<T>, SerializableLambda
      */
     @SuppressWarnings("unchecked")
     default Class<T> getInputClass() {
-        return (Class<T>) Lambdas.getRawParameterType(serialized(), 0);
+        return (Class<T>) Lambdas.getRawParameterType(this, 0);
     }
 }
\ No newline at end of file
@@ -17,7 +17,7 @@ public interface SerializableFunction<T, R> extends Function<T, R>, Serializable
      */
     @SuppressWarnings("unchecked")
     default Class<T> getInputClass() {
-        return (Class<T>) Lambdas.getRawParameterType(serialized(), 0);
+        return (Class<T>) Lambdas.getRawParameterType(this, 0);
     }
 
     /**
@@ -25,6 +25,6 @@ public interface SerializableFunction<T, R> extends Function<T, R>, Serializable
      */
     @SuppressWarnings("unchecked")
     default Class<R> getResultClass() {
-        return (Class<R>) Lambdas.getRawReturnType(serialized());
+        return (Class<R>) Lambdas.getRawReturnType(this);
     }
 }
\ No newline at end of file
@@ -2,21 +2,16 @@ package com.impressiveinteractive.synapse.lambda;
 
 import java.io.Serializable;
 import java.lang.invoke.SerializedLambda;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 
 public interface SerializableLambda extends Serializable {
 
     /**
+     * Get the serialized version of this lambda. The reflective lookup this requires is cached per lambda class, and
+     * non capturing lambdas return the same {@link SerializedLambda} on every call.
+     *
      * @return A serialized version of this lambda.
      */
     default SerializedLambda serialized() {
-        try {
-            Method replaceMethod = getClass().getDeclaredMethod("writeReplace");
-            replaceMethod.setAccessible(true);
-            return (SerializedLambda) replaceMethod.invoke(this);
-        } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-            throw new IllegalStateException("Could not serialize Lambda.", e);
-        }
+        return LambdaMetadata.of(this).serialize(this);
     }
 }
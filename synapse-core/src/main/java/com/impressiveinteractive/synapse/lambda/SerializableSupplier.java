@@ -16,6 +16,6 @@ public interface SerializableSupplier<T> extends Supplier<T>, SerializableLambda
      */
     @SuppressWarnings("unchecked")
     default Class<T> getResultClass() {
-        return (Class<T>) Lambdas.getRawReturnType(serialized());
+        return (Class<T>) Lambdas.getRawReturnType(this);
     }
 }
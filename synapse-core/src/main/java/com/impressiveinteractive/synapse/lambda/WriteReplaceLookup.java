@@ -0,0 +1,33 @@
+package com.impressiveinteractive.synapse.lambda;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Finds the synthetic {@code writeReplace} method of serializable lambda classes. This is the Java 8 version, which
+ * makes the method accessible through reflection. The multi-release jar contains a Java 9+ version that uses
+ * {@code MethodHandles.privateLookupIn} instead.
+ */
+final class WriteReplaceLookup {
+
+    private static final MethodType TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private WriteReplaceLookup() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Find the {@code writeReplace} method of the given class.
+     *
+     * @param lambdaClass The synthetic lambda class.
+     * @return A {@link MethodHandle} of type {@code (Object)Object} that invokes {@code writeReplace}.
+     * @throws ReflectiveOperationException When the method can not be found or accessed.
+     */
+    static MethodHandle find(Class<?> lambdaClass) throws ReflectiveOperationException {
+        Method method = lambdaClass.getDeclaredMethod("writeReplace");
+        method.setAccessible(true);
+        return MethodHandles.lookup().unreflect(method).asType(TYPE);
+    }
+}
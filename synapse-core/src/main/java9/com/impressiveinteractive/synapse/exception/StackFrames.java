@@ -0,0 +1,61 @@
+package com.impressiveinteractive.synapse.exception;
+
+import java.util.Arrays;
+
+/**
+ * Trims the frames of {@link Exceptions} from the top of stack traces. This is the Java 9+ version. A complete trace
+ * is trimmed from the trace that the throwable already has, while a limited amount of frames is walked with
+ * {@link StackWalker}, so the remainder of the stack is never materialized.
+ */
+final class StackFrames {
+
+    private static final String EXCEPTIONS = Exceptions.class.getName();
+    private static final String STACK_FRAMES = StackFrames.class.getName();
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.SHOW_REFLECT_FRAMES);
+
+    private StackFrames() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Get the stack trace for the given throwable, which was just created on behalf of a caller of {@link Exceptions},
+     * starting at the frame of that caller.
+     *
+     * @param throwable The throwable that was just created.
+     * @return The trimmed stack trace.
+     */
+    static StackTraceElement[] trim(Throwable throwable) {
+        StackTraceElement[] trace = throwable.getStackTrace();
+        int start = 0;
+        // Skip the frames of the lambda that called the constructor, then those of Exceptions.
+        while (start < trace.length && !isInternal(trace[start].getClassName())) {
+            start++;
+        }
+        while (start < trace.length && isInternal(trace[start].getClassName())) {
+            start++;
+        }
+        return start == trace.length ? trace : Arrays.copyOfRange(trace, start, trace.length);
+    }
+
+    /**
+     * Like {@link #trim(Throwable)}, but returns at most the given amount of frames, walking only those frames and the
+     * frames of {@link Exceptions} above them.
+     *
+     * @param throwable The throwable that was just created.
+     * @param depth     The maximum amount of frames to return.
+     * @return The trimmed stack trace.
+     */
+    static StackTraceElement[] trim(Throwable throwable, int depth) {
+        return WALKER.walk(frames -> frames
+                .dropWhile(frame -> isInternal(frame.getClassName()))
+                .limit(depth)
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .toArray(StackTraceElement[]::new));
+    }
+
+    private static boolean isInternal(String className) {
+        return className.startsWith(EXCEPTIONS)
+                && (className.length() == EXCEPTIONS.length() || className.charAt(EXCEPTIONS.length()) == '$')
+                || className.equals(STACK_FRAMES);
+    }
+}
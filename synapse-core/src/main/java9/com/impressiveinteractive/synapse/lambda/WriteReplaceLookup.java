@@ -0,0 +1,30 @@
+package com.impressiveinteractive.synapse.lambda;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Finds the synthetic {@code writeReplace} method of serializable lambda classes. This is the Java 9+ version, which
+ * uses a private lookup in the lambda class instead of reflection.
+ */
+final class WriteReplaceLookup {
+
+    private static final MethodType TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private WriteReplaceLookup() {
+        throw new AssertionError("Illegal private constructor call.");
+    }
+
+    /**
+     * Find the {@code writeReplace} method of the given class.
+     *
+     * @param lambdaClass The synthetic lambda class.
+     * @return A {@link MethodHandle} of type {@code (Object)Object} that invokes {@code writeReplace}.
+     * @throws ReflectiveOperationException When the method can not be found or accessed.
+     */
+    static MethodHandle find(Class<?> lambdaClass) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(lambdaClass, MethodHandles.lookup());
+        return lookup.findVirtual(lambdaClass, "writeReplace", MethodType.methodType(Object.class)).asType(TYPE);
+    }
+}
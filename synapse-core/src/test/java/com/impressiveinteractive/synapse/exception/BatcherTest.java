@@ -0,0 +1,224 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class BatcherTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void load_dispatchesFullBatch() throws Exception {
+        Batcher<Integer, String, IOException> batcher = Batcher.of(this::describe, 3, 1, TimeUnit.HOURS, DIRECT);
+
+        CompletableFuture<String> one = batcher.load(1);
+        CompletableFuture<String> two = batcher.load(2);
+        assertThat(batches, is(empty()));
+        CompletableFuture<String> three = batcher.load(3);
+
+        assertThat(batches, contains(asList(1, 2, 3)));
+        assertThat(one.get(), is(equalTo("#1")));
+        assertThat(two.get(), is(equalTo("#2")));
+        assertThat(three.get(), is(equalTo("#3")));
+    }
+
+    @Test
+    public void load_deduplicates() throws Exception {
+        Batcher<Integer, String, IOException> batcher = Batcher.of(this::describe, 2, 1, TimeUnit.HOURS, DIRECT);
+
+        CompletableFuture<String> first = batcher.load(1);
+        CompletableFuture<String> second = batcher.load(1);
+        batcher.load(2);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(batches, contains(asList(1, 2)));
+    }
+
+    @Test
+    public void load_dispatchesAfterDelay() throws Exception {
+        Batcher<Integer, String, IOException> batcher =
+                Batcher.of(this::describe, 100, 10, TimeUnit.MILLISECONDS, DIRECT);
+
+        CompletableFuture<String> one = batcher.load(1);
+        CompletableFuture<String> two = batcher.load(2);
+
+        assertThat(one.get(10, TimeUnit.SECONDS), is(equalTo("#1")));
+        assertThat(two.get(10, TimeUnit.SECONDS), is(equalTo("#2")));
+        assertThat(batches, contains(asList(1, 2)));
+    }
+
+    @Test
+    public void load_missingKey() throws Exception {
+        Batcher<Integer, String, IOException> batcher =
+                Batcher.of(keys -> Collections.<Integer, String>emptyMap(), 1, 1, TimeUnit.HOURS, DIRECT);
+
+        assertThat(batcher.load(1).get(), is(nullValue()));
+    }
+
+    @Test
+    public void flush() throws Exception {
+        Batcher<Integer, String, IOException> batcher = Batcher.of(this::describe, 100, 1, TimeUnit.HOURS, DIRECT);
+
+        CompletableFuture<String> one = batcher.load(1);
+        batcher.flush();
+        batcher.flush();
+
+        assertThat(one.get(), is(equalTo("#1")));
+        assertThat(batches, contains(Collections.singletonList(1)));
+    }
+
+    @Test
+    public void apply_concurrentCallersShareBatches() throws Exception {
+        Batcher<Integer, String, IOException> batcher =
+                Batcher.of(this::describe, 10, 50, TimeUnit.MILLISECONDS, DIRECT);
+        ExecutorService callers = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                int key = i % 10;
+                results.add(callers.submit(() -> batcher.apply(key)));
+            }
+            for (int i = 0; i < 20; i++) {
+                assertThat(results.get(i).get(10, TimeUnit.SECONDS), is(equalTo("#" + i % 10)));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(batches.size() < 20, is(true));
+    }
+
+    @Test
+    public void apply_batchFailure() {
+        IOException expected = new IOException("Failed.");
+        Batcher<Integer, String, IOException> batcher = Batcher.of(keys -> {
+            throw expected;
+        }, 1, 1, TimeUnit.HOURS, DIRECT);
+
+        try {
+            batcher.apply(1);
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void apply_runtimeException() throws IOException {
+        IllegalStateException expected = new IllegalStateException("Failed.");
+        Batcher<Integer, String, IOException> batcher = Batcher.of(keys -> {
+            throw expected;
+        }, 1, 1, TimeUnit.HOURS, DIRECT);
+
+        try {
+            batcher.apply(1);
+            fail("Expected IllegalStateException.");
+        } catch (IllegalStateException e) {
+            assertThat(e, is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void ofResults_failsKeysIndividually() throws Exception {
+        IOException expected = new IOException("Failed.");
+        Batcher<Integer, String, IOException> batcher = Batcher.ofResults(keys -> {
+            Map<Integer, Result<String, IOException>> results = new HashMap<>();
+            results.put(1, Result.success("#1"));
+            results.put(2, Result.failure(expected));
+            return results;
+        }, 2, 1, TimeUnit.HOURS, DIRECT);
+
+        CompletableFuture<String> one = batcher.load(1);
+        CompletableFuture<String> two = batcher.load(2);
+
+        assertThat(one.get(), is(equalTo("#1")));
+        try {
+            two.get();
+            fail("Expected ExecutionException.");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void of_usesExecutor() throws Exception {
+        List<Runnable> executed = new ArrayList<>();
+        Batcher<Integer, String, IOException> batcher = Batcher.of(this::describe, 1, 1, TimeUnit.HOURS, executed::add);
+
+        CompletableFuture<String> one = batcher.load(1);
+
+        assertThat(one.isDone(), is(false));
+        assertThat(executed, hasSize(1));
+        executed.get(0).run();
+        assertThat(one.get(), is(equalTo("#1")));
+    }
+
+    @Test
+    public void of_rejectedByExecutor() {
+        IllegalStateException expected = new IllegalStateException("Rejected.");
+        Batcher<Integer, String, IOException> batcher = Batcher.of(this::describe, 1, 1, TimeUnit.HOURS, runnable -> {
+            throw expected;
+        });
+
+        try {
+            batcher.load(1).get();
+            fail("Expected ExecutionException.");
+        } catch (InterruptedException | ExecutionException e) {
+            assertThat(e.getCause(), is(sameInstance(expected)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_invalidBatchSize() {
+        Batcher.of(this::describe, 0, 1, TimeUnit.HOURS, DIRECT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_invalidDelay() {
+        Batcher.of(this::describe, 1, -1, TimeUnit.HOURS, DIRECT);
+    }
+
+    @Test
+    public void of_keysAreDistinctAndOrdered() throws Exception {
+        Batcher<Integer, String, IOException> batcher = Batcher.of(this::describe, 3, 1, TimeUnit.HOURS, DIRECT);
+
+        batcher.load(3);
+        batcher.load(1);
+        batcher.load(3);
+        batcher.load(2);
+
+        assertThat(batches, contains(asList(3, 1, 2)));
+    }
+
+    private Map<Integer, String> describe(List<Integer> keys) throws IOException {
+        batches.add(keys);
+        Map<Integer, String> values = new HashMap<>();
+        keys.forEach(key -> values.put(key, "#" + key));
+        return values;
+    }
+}
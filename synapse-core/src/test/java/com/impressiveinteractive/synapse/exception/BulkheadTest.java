@@ -0,0 +1,180 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class BulkheadTest {
+
+    private final CountDownLatch started = new CountDownLatch(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    public void bulkhead() throws IOException {
+        ExceptionalFunction<Integer, String, IOException> function =
+                Exceptions.bulkhead(this::describe, 2, Duration.ZERO);
+
+        assertThat(function.apply(1), is(equalTo("#1")));
+    }
+
+    @Test
+    public void bulkhead_releasesPermitOnFailure() {
+        IOException expected = new IOException("Failed.");
+        Bulkhead<Integer, String, IOException> bulkhead = new Bulkhead<>(key -> {
+            throw expected;
+        }, 1, 0, false);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                bulkhead.apply(i);
+                fail("Expected IOException.");
+            } catch (IOException e) {
+                assertThat(e, is(sameInstance(expected)));
+            }
+        }
+        assertThat(bulkhead.availablePermits(), is(1));
+    }
+
+    @Test
+    public void bulkhead_rejectsWhenFull() throws Exception {
+        ExceptionalFunction<Integer, String, InterruptedException> function =
+                Exceptions.bulkhead(this::block, 2, Duration.ofMillis(10));
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                int key = i;
+                results.add(callers.submit(() -> function.apply(key)));
+            }
+            started.await();
+
+            try {
+                function.apply(3);
+                fail("Expected BulkheadFullException.");
+            } catch (BulkheadFullException e) {
+                assertThat(e, is(sameInstance(Bulkhead.FULL)));
+                assertThat(e.getStackTrace().length, is(0));
+            }
+
+            release.countDown();
+            for (Future<String> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(function.apply(4), is(equalTo("#4")));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void bulkhead_waitsForPermit() throws Exception {
+        ExceptionalFunction<Integer, String, InterruptedException> function =
+                Exceptions.bulkhead(this::block, 2, Duration.ofSeconds(10), true);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2; i++) {
+                int key = i;
+                callers.submit(() -> function.apply(key));
+            }
+            started.await();
+            new Thread(() -> {
+                sleep(20);
+                release.countDown();
+            }).start();
+
+            assertThat(function.apply(3), is(equalTo("#3")));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void bulkhead_interruptedWhileWaiting() throws Exception {
+        ExceptionalFunction<Integer, String, InterruptedException> function =
+                Exceptions.bulkhead(this::block, 1, Duration.ofSeconds(10));
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            callers.submit(() -> function.apply(1));
+            while (started.getCount() == 2) {
+                Thread.sleep(1);
+            }
+
+            Thread.currentThread().interrupt();
+            try {
+                function.apply(2);
+                fail("Expected CancellationException.");
+            } catch (CancellationException e) {
+                assertThat(Thread.interrupted(), is(true));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void bulkhead_concurrentCalls() throws Exception {
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        ExceptionalFunction<Integer, Integer, InterruptedException> function = Exceptions.bulkhead(key -> {
+            int current = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(current, Math::max);
+            Thread.sleep(1);
+            concurrent.decrementAndGet();
+            return key;
+        }, 3, Duration.ofSeconds(10));
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                int key = i;
+                results.add(callers.submit(() -> function.apply(key)));
+            }
+            for (Future<Integer> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(maxConcurrent.get(), is(lessThanOrEqualTo(3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bulkhead_invalid() {
+        Exceptions.bulkhead(this::describe, 0, Duration.ZERO);
+    }
+
+    private String describe(int key) throws IOException {
+        return "#" + key;
+    }
+
+    private String block(int key) throws InterruptedException {
+        started.countDown();
+        release.await();
+        return "#" + key;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
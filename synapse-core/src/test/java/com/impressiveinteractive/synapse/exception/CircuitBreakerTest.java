@@ -0,0 +1,288 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerTest {
+
+    private static final BreakerSpec SPEC = BreakerSpec.defaults()
+            .minimumCalls(4)
+            .window(Duration.ofNanos(100), 10)
+            .openFor(Duration.ofNanos(1_000))
+            .probes(2);
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    @Test
+    public void closed() throws IOException {
+        CircuitBreaker<Integer, String, IOException> breaker =
+                Exceptions.circuitBreaker(this::describe, BreakerSpec.defaults());
+
+        assertThat(breaker.apply(1), is(equalTo("#1")));
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+        assertThat(breaker.getFailureRate(), is(0.0));
+    }
+
+    @Test
+    public void opensAtThreshold() {
+        CircuitBreaker<Integer, String, IOException> breaker = breaker(SPEC);
+        failing.set(true);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+            expectFailure(breaker, IOException.class);
+        }
+
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+        CircuitOpenException open = expectFailure(breaker, CircuitOpenException.class);
+        assertThat(open, is(sameInstance(CircuitBreaker.OPEN)));
+        assertThat(open.getStackTrace().length, is(0));
+        assertThat(calls.get(), is(4));
+    }
+
+    @Test
+    public void staysClosedBelowThreshold() throws IOException {
+        CircuitBreaker<Integer, String, IOException> breaker = breaker(SPEC.failureRateThreshold(0.5));
+
+        for (int i = 0; i < 10; i++) {
+            breaker.apply(i);
+        }
+        failing.set(true);
+        for (int i = 0; i < 9; i++) {
+            expectFailure(breaker, IOException.class);
+        }
+
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+        expectFailure(breaker, IOException.class);
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void windowSlides() throws IOException {
+        CircuitBreaker<Integer, String, IOException> breaker = breaker(SPEC);
+        failing.set(true);
+        for (int i = 0; i < 3; i++) {
+            expectFailure(breaker, IOException.class);
+        }
+        assertThat(breaker.getFailureRate(), is(1.0));
+
+        ticker.set(100);
+        assertThat(breaker.getFailureRate(), is(0.0));
+        expectFailure(breaker, IOException.class);
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+
+        ticker.set(150);
+        failing.set(false);
+        breaker.apply(1);
+        assertThat(breaker.getFailureRate(), is(0.5));
+    }
+
+    @Test
+    public void recordOn_otherFailuresCountAsSuccess() {
+        CircuitBreaker<Integer, String, Exception> breaker = new CircuitBreaker<>(key -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("Bad input.");
+        }, SPEC.recordOn(IOException.class), ticker::get);
+
+        for (int i = 0; i < 10; i++) {
+            expectFailure(breaker, IllegalArgumentException.class);
+        }
+
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+        assertThat(breaker.getFailureRate(), is(0.0));
+    }
+
+    @Test
+    public void halfOpen_closesWhenProbesSucceed() throws IOException {
+        CircuitBreaker<Integer, String, IOException> breaker = open();
+        ticker.addAndGet(1_000);
+        failing.set(false);
+
+        assertThat(breaker.apply(1), is(equalTo("#1")));
+        assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+        assertThat(breaker.apply(2), is(equalTo("#2")));
+
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+        assertThat(breaker.getFailureRate(), is(0.0));
+    }
+
+    @Test
+    public void halfOpen_opensWhenProbeFails() {
+        CircuitBreaker<Integer, String, IOException> breaker = open();
+        ticker.addAndGet(1_000);
+
+        expectFailure(breaker, IOException.class);
+
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+        expectFailure(breaker, CircuitOpenException.class);
+    }
+
+    @Test
+    public void halfOpen_failsFastWhileProbesAreInFlight() throws Exception {
+        ExceptionalFunction<Integer, String, Exception> function = key -> {
+            if (failing.get()) {
+                throw new IOException("Failed.");
+            }
+            Thread.sleep(200);
+            return "#" + key;
+        };
+        CircuitBreaker<Integer, String, Exception> breaker = new CircuitBreaker<>(function, SPEC, ticker::get);
+        failing.set(true);
+        for (int i = 0; i < 4; i++) {
+            expectFailure(breaker, IOException.class);
+        }
+        ticker.addAndGet(1_000);
+        failing.set(false);
+
+        ExecutorService probes = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                int key = i;
+                results.add(probes.submit(() -> breaker.apply(key)));
+            }
+            Thread.sleep(50);
+            assertThat(expectFailure(breaker, CircuitOpenException.class), is(sameInstance(CircuitBreaker.PROBING)));
+            for (Future<String> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            probes.shutdownNow();
+        }
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void halfOpen_ignoresLateProbeOfEarlierPeriod() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExceptionalFunction<Integer, String, Exception> function = key -> {
+            if (key < 0) {
+                started.countDown();
+                release.await();
+            } else if (failing.get()) {
+                throw new IOException("Failed.");
+            }
+            return "#" + key;
+        };
+        CircuitBreaker<Integer, String, Exception> breaker = new CircuitBreaker<>(function, SPEC, ticker::get);
+        failing.set(true);
+        for (int i = 0; i < 4; i++) {
+            expectFailure(breaker, IOException.class);
+        }
+        ticker.addAndGet(1_000);
+
+        ExecutorService probes = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> late = probes.submit(() -> breaker.apply(-1));
+            started.await();
+            expectFailure(breaker, IOException.class);
+            ticker.addAndGet(1_000);
+            failing.set(false);
+            assertThat(breaker.apply(1), is(equalTo("#1")));
+
+            release.countDown();
+            assertThat(late.get(10, TimeUnit.SECONDS), is(equalTo("#-1")));
+            assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+            assertThat(breaker.apply(2), is(equalTo("#2")));
+            assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+        } finally {
+            probes.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentCalls() throws Exception {
+        CircuitBreaker<Integer, String, IOException> breaker =
+                Exceptions.circuitBreaker(this::describe, BreakerSpec.defaults());
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(callers.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        breaker.apply(i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(calls.get(), is(80_000));
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failureRateThreshold_invalid() {
+        BreakerSpec.defaults().failureRateThreshold(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void window_invalid() {
+        BreakerSpec.defaults().window(Duration.ofNanos(5), 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void probes_invalid() {
+        BreakerSpec.defaults().probes(BreakerSpec.MAX_PROBES + 1);
+    }
+
+    private CircuitBreaker<Integer, String, IOException> open() {
+        CircuitBreaker<Integer, String, IOException> breaker = breaker(SPEC);
+        failing.set(true);
+        for (int i = 0; i < 4; i++) {
+            expectFailure(breaker, IOException.class);
+        }
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+        return breaker;
+    }
+
+    private CircuitBreaker<Integer, String, IOException> breaker(BreakerSpec spec) {
+        return new CircuitBreaker<>(this::describe, spec, ticker::get);
+    }
+
+    private <T extends Exception> T expectFailure(ExceptionalFunction<Integer, String, ?> breaker, Class<T> type) {
+        try {
+            breaker.apply(0);
+        } catch (Exception e) {
+            assertThat(e.getClass(), is(equalTo(type)));
+            assertThat(e.getCause(), is(nullValue()));
+            return type.cast(e);
+        }
+        fail("Expected " + type.getSimpleName() + ".");
+        return null;
+    }
+
+    private String describe(int key) throws IOException {
+        calls.incrementAndGet();
+        if (failing.get()) {
+            throw new IOException("Failed.");
+        }
+        return "#" + key;
+    }
+}
@@ -0,0 +1,164 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class CompletionStagesTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    public void async() throws IOException {
+        CompletableFuture<String> future = Exceptions.async(() -> "value", ForkJoinPool.commonPool());
+
+        assertThat(Exceptions.join(future, IOException.class), is(equalTo("value")));
+    }
+
+    @Test
+    public void async_failureIsNotWrapped() throws InterruptedException {
+        IOException expected = new IOException("Failed.");
+        CompletableFuture<String> future = Exceptions.async(() -> {
+            throw expected;
+        }, DIRECT);
+
+        try {
+            future.get();
+            fail("Expected ExecutionException.");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void thenApplyExceptional() throws IOException {
+        CompletableFuture<Integer> future = Exceptions.thenApplyExceptional(
+                CompletableFuture.completedFuture("value"), CompletionStagesTest::length);
+
+        assertThat(Exceptions.join(future, IOException.class), is(5));
+    }
+
+    @Test
+    public void thenApplyExceptional_failure() {
+        IOException expected = new IOException("Failed.");
+        CompletableFuture<String> future = Exceptions.thenApplyExceptional(
+                CompletableFuture.completedFuture("value"), value -> {
+                    throw expected;
+                });
+
+        try {
+            Exceptions.join(future, IOException.class);
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void thenApplyExceptional_previousFailureIsUnwrapped() {
+        IOException expected = new IOException("Failed.");
+        CompletableFuture<Integer> failed = Exceptions.<String, IOException>async(() -> {
+            throw expected;
+        }, DIRECT).thenApply(String::length);
+        List<Object> received = new ArrayList<>();
+
+        CompletableFuture<Integer> future = Exceptions.thenApplyExceptional(failed, value -> {
+            received.add(value);
+            return value;
+        });
+        future.whenComplete((value, failure) -> received.add(failure));
+
+        assertThat(received, contains(sameInstance(expected)));
+    }
+
+    @Test
+    public void thenApplyExceptional_chained() {
+        IOException expected = new IOException("Failed.");
+        CompletableFuture<Integer> future = Exceptions.thenApplyExceptional(
+                Exceptions.thenApplyExceptional(CompletableFuture.completedFuture("value"), value -> {
+                    throw expected;
+                }),
+                CompletionStagesTest::length);
+
+        try {
+            Exceptions.join(future, IOException.class);
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void thenAcceptExceptional() throws IOException {
+        List<String> accepted = new ArrayList<>();
+
+        CompletableFuture<Void> future = Exceptions.thenAcceptExceptional(
+                CompletableFuture.completedFuture("value"), accepted::add);
+
+        assertThat(Exceptions.join(future, IOException.class), is(nullValue()));
+        assertThat(accepted, contains("value"));
+    }
+
+    @Test
+    public void thenAcceptExceptional_failure() {
+        IOException expected = new IOException("Failed.");
+        CompletableFuture<Void> future = Exceptions.thenAcceptExceptional(
+                CompletableFuture.completedFuture("value"), value -> {
+                    throw expected;
+                });
+
+        try {
+            Exceptions.join(future, IOException.class);
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void join_runtimeException() throws IOException {
+        IllegalStateException expected = new IllegalStateException("Failed.");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(expected);
+
+        try {
+            Exceptions.join(future, IOException.class);
+            fail("Expected IllegalStateException.");
+        } catch (IllegalStateException e) {
+            assertThat(e, is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void join_otherCheckedException() throws IOException {
+        ReflectiveOperationException expected = new ReflectiveOperationException("Failed.");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(expected);
+
+        try {
+            Exceptions.join(future, IOException.class);
+            fail("Expected CompletionException.");
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), is(sameInstance(expected)));
+        }
+    }
+
+    private static int length(String value) throws IOException {
+        return value.length();
+    }
+}
@@ -0,0 +1,237 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ExceptionalCacheTest {
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void cached() throws IOException {
+        ExceptionalCache<Integer, String, IOException> cache = Exceptions.cached(this::describe, CacheSpec.defaults());
+
+        assertThat(cache.apply(1), is(equalTo("#1")));
+        assertThat(cache.apply(1), is(equalTo("#1")));
+        assertThat(cache.apply(2), is(equalTo("#2")));
+
+        assertThat(loads.get(), is(2));
+        assertThat(cache.size(), is(2L));
+        CacheStats stats = cache.stats();
+        assertThat(stats.getHitCount(), is(1L));
+        assertThat(stats.getMissCount(), is(2L));
+        assertThat(stats.getHitRate(), is(1.0 / 3));
+    }
+
+    @Test
+    public void cached_failureIsRetried() throws IOException {
+        IOException expected = new IOException("Failed.");
+        ExceptionalCache<Integer, String, IOException> cache = cache(key -> {
+            if (loads.incrementAndGet() == 1) {
+                throw expected;
+            }
+            return "#" + key;
+        }, CacheSpec.defaults());
+
+        try {
+            cache.apply(1);
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+        }
+        assertThat(cache.size(), is(0L));
+        assertThat(cache.apply(1), is(equalTo("#1")));
+        assertThat(cache.stats().getLoadFailureCount(), is(1L));
+    }
+
+    @Test
+    public void cacheFailuresFor() throws IOException {
+        IOException expected = new IOException("Failed.");
+        ExceptionalCache<Integer, String, IOException> cache = cache(key -> {
+            if (loads.incrementAndGet() == 1) {
+                throw expected;
+            }
+            return "#" + key;
+        }, CacheSpec.defaults().cacheFailuresFor(Duration.ofNanos(10)));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.apply(1);
+                fail("Expected IOException.");
+            } catch (IOException e) {
+                assertThat(e, is(sameInstance(expected)));
+            }
+        }
+        ticker.set(10);
+        assertThat(cache.apply(1), is(equalTo("#1")));
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    public void expireAfterWrite() throws IOException {
+        ExceptionalCache<Integer, String, IOException> cache =
+                cache(this::describe, CacheSpec.defaults().expireAfterWrite(Duration.ofNanos(10)));
+
+        cache.apply(1);
+        ticker.set(9);
+        cache.apply(1);
+        assertThat(loads.get(), is(1));
+        ticker.set(10);
+        cache.apply(1);
+        assertThat(loads.get(), is(2));
+        assertThat(cache.size(), is(1L));
+    }
+
+    @Test
+    public void maximumSize() throws IOException {
+        ExceptionalCache<Integer, String, IOException> cache =
+                cache(this::describe, CacheSpec.defaults().maximumSize(10));
+
+        for (int i = 0; i < 100; i++) {
+            cache.apply(i);
+        }
+
+        assertThat(cache.size(), is(lessThanOrEqualTo(10L)));
+        assertThat(cache.stats().getEvictionCount(), is(90L));
+    }
+
+    @Test
+    public void maximumSize_keepsFrequentlyUsedEntries() throws IOException {
+        ExceptionalCache<Integer, String, IOException> cache =
+                cache(this::describe, CacheSpec.defaults().maximumSize(10));
+        for (int round = 0; round < 5; round++) {
+            for (int hot = 0; hot < 5; hot++) {
+                cache.apply(hot);
+            }
+        }
+        int loaded = loads.get();
+
+        for (int cold = 100; cold < 1_000; cold++) {
+            cache.apply(cold);
+        }
+        loads.set(0);
+        for (int hot = 0; hot < 5; hot++) {
+            cache.apply(hot);
+        }
+
+        assertThat(loaded, is(5));
+        assertThat(loads.get(), is(0));
+    }
+
+    @Test
+    public void invalidate() throws IOException {
+        ExceptionalCache<Integer, String, IOException> cache =
+                cache(this::describe, CacheSpec.defaults().maximumSize(10));
+        cache.apply(1);
+        cache.apply(2);
+
+        cache.invalidate(1);
+        assertThat(cache.size(), is(1L));
+        cache.invalidateAll();
+        assertThat(cache.size(), is(0L));
+
+        cache.apply(1);
+        assertThat(loads.get(), is(3));
+    }
+
+    @Test
+    public void singleFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExceptionalCache<Integer, String, InterruptedException> cache = Exceptions.cached(key -> {
+            loads.incrementAndGet();
+            started.countDown();
+            release.await();
+            return "#" + key;
+        }, CacheSpec.defaults());
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(callers.submit(() -> cache.apply(1)));
+            started.await();
+            for (int i = 0; i < 3; i++) {
+                results.add(callers.submit(() -> cache.apply(1)));
+            }
+            Thread.sleep(20);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS), is(equalTo("#1")));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    public void concurrentLoads() throws Exception {
+        ExceptionalCache<Integer, String, IOException> cache =
+                cache(this::describe, CacheSpec.defaults().maximumSize(50));
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(callers.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        int key = i % 100;
+                        assertThat(cache.apply(key), is(equalTo("#" + key)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(cache.size(), is(lessThanOrEqualTo(50L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maximumSize_invalid() {
+        CacheSpec.defaults().maximumSize(0);
+    }
+
+    @Test
+    public void frequencySketch() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment(42);
+        }
+        sketch.increment(7);
+
+        assertThat(sketch.frequency(42), is(15));
+        assertThat(sketch.frequency(7), is(1));
+        assertThat(sketch.frequency(13), is(0));
+    }
+
+    private <E extends Exception> ExceptionalCache<Integer, String, E> cache(
+            ExceptionalFunction<Integer, String, E> function, CacheSpec spec) {
+        return new ExceptionalCache<>(function, spec, ticker::get);
+    }
+
+    private String describe(int key) throws IOException {
+        loads.incrementAndGet();
+        return "#" + key;
+    }
+}
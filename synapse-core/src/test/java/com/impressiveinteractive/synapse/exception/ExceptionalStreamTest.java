@@ -0,0 +1,163 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.joining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ExceptionalStreamTest {
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private final List<String> visited = new ArrayList<>();
+
+    @Test
+    public void mapAndFilter() throws IOException {
+        List<Integer> result = ExceptionalStream.of(Arrays.asList("1", "22", "333", "4444"), IOException.class)
+                .map(this::length)
+                .filter(this::isEven)
+                .toList();
+
+        assertThat(result, contains(2, 4));
+    }
+
+    @Test
+    public void exceptionThrownByTerminalOperation() throws IOException {
+        IOException expected = new IOException("Broken.");
+        exception.expect(is(expected));
+
+        ExceptionalStream.of(Stream.of("1", "2"), IOException.class)
+                .<String>map(value -> {
+                    throw expected;
+                })
+                .forEach(this::visit);
+    }
+
+    @Test
+    public void exceptionStopsProcessing() {
+        try {
+            ExceptionalStream.of(Stream.of("1", "", "3"), IOException.class)
+                    .peek(this::visit)
+                    .map(this::length)
+                    .count();
+        } catch (IOException e) {
+            assertThat(e.getMessage(), is(equalTo("Empty value.")));
+        }
+
+        assertThat(visited, contains("1", ""));
+    }
+
+    @Test
+    public void runtimeExceptionPassesThrough() throws IOException {
+        exception.expect(NumberFormatException.class);
+
+        ExceptionalStream.of(Stream.of("one"), IOException.class)
+                .map(Integer::parseInt)
+                .toList();
+    }
+
+    @Test
+    public void flatMap() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        String result = ExceptionalStream.of(Stream.of("a,b", "", "c"), IOException.class)
+                .flatMap(value -> value.isEmpty() ? null : Stream.of(value.split(",")).onClose(() -> closed.set(true)))
+                .collect(joining());
+
+        assertThat(result, is(equalTo("abc")));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    public void limit_stopsTakingElements() throws IOException {
+        List<String> result = ExceptionalStream.of(Stream.of("a", "b", "c", "d"), IOException.class)
+                .peek(this::visit)
+                .flatMap(value -> Stream.of(value, value))
+                .limit(3)
+                .toList();
+
+        assertThat(result, contains("a", "a", "b"));
+        assertThat(visited, contains("a", "b"));
+    }
+
+    @Test
+    public void limit_zero() throws IOException {
+        assertThat(ExceptionalStream.of(Stream.of("a"), IOException.class).peek(this::visit).limit(0).toList(),
+                is(empty()));
+        assertThat(visited, is(empty()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void limit_negative() {
+        ExceptionalStream.of(Stream.of("a"), IOException.class).limit(-1);
+    }
+
+    @Test
+    public void findFirst() throws IOException {
+        Optional<String> first = ExceptionalStream.of(Stream.of("a", "b"), IOException.class)
+                .peek(this::visit)
+                .findFirst();
+
+        assertThat(first, is(Optional.of("a")));
+        assertThat(visited, contains("a"));
+        assertThat(ExceptionalStream.of(Stream.empty(), IOException.class).findFirst(), is(Optional.empty()));
+    }
+
+    @Test
+    public void anyMatch() throws IOException {
+        assertThat(ExceptionalStream.of(Stream.of("1", "22", "333"), IOException.class)
+                .peek(this::visit)
+                .anyMatch(value -> length(value) == 2), is(true));
+        assertThat(visited, contains("1", "22"));
+        assertThat(ExceptionalStream.of(Stream.of("1"), IOException.class).anyMatch(value -> false), is(false));
+    }
+
+    @Test
+    public void operatedUponTwice() throws IOException {
+        ExceptionalStream<String, IOException> stream = ExceptionalStream.of(Stream.of("a"), IOException.class);
+        stream.toList();
+
+        exception.expect(IllegalStateException.class);
+        stream.map(this::length);
+    }
+
+    @Test
+    public void close() {
+        AtomicBoolean closed = new AtomicBoolean();
+        try (ExceptionalStream<String, IOException> stream =
+                     ExceptionalStream.of(Stream.of("a").onClose(() -> closed.set(true)), IOException.class)) {
+            assertThat(closed.get(), is(false));
+        }
+
+        assertThat(closed.get(), is(true));
+    }
+
+    private void visit(String value) throws IOException {
+        visited.add(value);
+    }
+
+    private int length(String value) throws IOException {
+        if (value.isEmpty()) {
+            throw new IOException("Empty value.");
+        }
+        return value.length();
+    }
+
+    private boolean isEven(int value) throws IOException {
+        return value % 2 == 0;
+    }
+}
@@ -1,6 +1,7 @@
 package com.impressiveinteractive.synapse.exception;
 
 import com.impressiveinteractive.synapse.exception.runtime.RuntimeIOException;
+import com.impressiveinteractive.synapse.exception.runtime.SharedExceptions;
 import com.impressiveinteractive.synapse.exception.wrapped.WrappedIOException;
 import org.junit.Rule;
 import org.junit.Test;
@@ -14,6 +15,11 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
@@ -21,6 +27,7 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
@@ -47,6 +54,82 @@ public class ExceptionsTest {
         assertThat(formatted.getCause(), is(cause));
     }
 
+    @Test
+    public void format_stackTraceStartsAtCaller() {
+        IOException formatted = Exceptions.format(IOException::new, "Testing {}.", "one");
+
+        assertThat(formatted.getStackTrace()[0].getClassName(), is(equalTo(ExceptionsTest.class.getName())));
+        assertThat(formatted.getStackTrace()[0].getMethodName(), is(equalTo("format_stackTraceStartsAtCaller")));
+    }
+
+    @Test
+    public void format_stackTraceStartsAtCallerOfLambdaConstructor() {
+        IOException formatted = Exceptions.format((message, cause) -> new IOException(message, cause), "Testing.");
+
+        assertThat(formatted.getStackTrace()[0].getMethodName(),
+                is(equalTo("format_stackTraceStartsAtCallerOfLambdaConstructor")));
+    }
+
+    @Test
+    public void formatLight() {
+        IOException formatted = Exceptions.formatLight(IOException::new, "Testing {}, {}, {}.", "one", "two", "three",
+                cause);
+
+        assertThat(formatted.getMessage(), is(equalTo("Testing one, two, three.")));
+        assertThat(formatted.getCause(), is(cause));
+        assertThat(formatted.getStackTrace().length, is(0));
+    }
+
+    @Test
+    public void formatLight_depth() {
+        IOException formatted = Exceptions.formatLight(2, IOException::new, "Testing {}.", "one");
+
+        assertThat(formatted.getMessage(), is(equalTo("Testing one.")));
+        assertThat(formatted.getStackTrace().length, is(2));
+        assertThat(formatted.getStackTrace()[0].getMethodName(), is(equalTo("formatLight_depth")));
+    }
+
+    @Test
+    public void formatLight_depthKeepsAllFrames() {
+        StackTraceElement[] full = Exceptions.format(IOException::new, "Testing.").getStackTrace();
+        StackTraceElement[] light = Exceptions.formatLight(full.length, IOException::new, "Testing.").getStackTrace();
+
+        assertThat(methods(light), is(equalTo(methods(full))));
+    }
+
+    @Test
+    public void formatLight_negativeDepth() {
+        exception.expect(IllegalArgumentException.class);
+        Exceptions.formatLight(-1, IOException::new, "Testing {}.", "one");
+    }
+
+    @Test
+    public void formatLazy() {
+        AtomicInteger renders = new AtomicInteger();
+        Object expensive = new Object() {
+            @Override
+            public String toString() {
+                return "two" + renders.incrementAndGet();
+            }
+        };
+        RuntimeIOException formatted = Exceptions.formatLazy(RuntimeIOException::lazy,
+                "Testing {}, {}, {}.", "one", expensive, "three", cause);
+
+        assertThat(formatted.getCause(), is(cause));
+        assertThat(renders.get(), is(0));
+        assertThat(formatted.getMessage(), is(equalTo("Testing one, two1, three.")));
+        assertThat(formatted.toString(),
+                is(equalTo(RuntimeIOException.class.getName() + ": Testing one, two1, three.")));
+        assertThat(renders.get(), is(1));
+    }
+
+    @Test
+    public void formatLazy_stackTraceStartsAtCaller() {
+        RuntimeIOException formatted = Exceptions.formatLazy(RuntimeIOException::lazy, "Testing {}.", "one");
+
+        assertThat(formatted.getStackTrace()[0].getMethodName(), is(equalTo("formatLazy_stackTraceStartsAtCaller")));
+    }
+
     @Test
     public void formatMessage() {
         IOException formatted = Exceptions.formatMessage(IOException::new,
@@ -87,6 +170,19 @@ public class ExceptionsTest {
         }
     }
 
+    @Test
+    public void wrapFunction_sharedWrapper() throws Exception {
+        when(references.transform(anyString())).thenThrow(new IOException());
+        RuntimeIOException shared = SharedExceptions.of(RuntimeIOException.class, "No match.");
+
+        exception.expect(is(shared));
+
+        Stream.of("Apple", "Orange")
+                .map(Exceptions.wrapExceptional(references::transform,
+                        Exceptions.sharedWrapper(RuntimeIOException.class, "No match.")))
+                .collect(toList());
+    }
+
     @Test
     public void wrapConsumer() throws Exception {
         doThrow(new IOException()).when(references).consume(anyString());
@@ -198,11 +294,223 @@ public class ExceptionsTest {
                 .forEach(this::consume);
     }
 
+    @Test
+    public void wrapPredicate() {
+        List<String> longer = Stream.of("Apple", "Orange")
+                .filter(Exceptions.wrapExceptionalPredicate(value -> measure(value) > 5, RuntimeIOException::new))
+                .collect(toList());
+
+        assertThat(longer, contains("Orange"));
+    }
+
+    @Test
+    public void wrapPredicate_failure() {
+        exception.expect(RuntimeIOException.class);
+
+        Stream.of("Apple", "")
+                .filter(Exceptions.wrapExceptionalPredicate(value -> measure(value) > 5, RuntimeIOException::new))
+                .forEach(this::consume);
+    }
+
+    @Test
+    public void attempt_supplier() throws Exception {
+        IOException failure = new IOException();
+        when(references.supply()).thenReturn("Apple").thenThrow(failure);
+
+        List<Result<String, IOException>> results = Stream.generate(Exceptions.attempt(references::supply))
+                .limit(2)
+                .collect(toList());
+
+        assertThat(results, contains(Result.success("Apple"), Result.failure(failure)));
+    }
+
+    @Test
+    public void sneakyConsumer() throws Exception {
+        IOException expected = new IOException();
+        doThrow(expected).when(references).consume(anyString());
+
+        try {
+            Exceptions.rethrowAs(IOException.class);
+            Stream.of("Apple", "Orange").forEach(Exceptions.sneaky(references::consume));
+            throw new AssertionError("Expected the original IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+            assertThat(e.getSuppressed().length, is(0));
+        }
+    }
+
+    @Test
+    public void sneakySupplier() throws Exception {
+        IOException expected = new IOException();
+        when(references.supply()).thenThrow(expected);
+
+        exception.expect(is(sameInstance(expected)));
+
+        Stream.generate(Exceptions.sneaky(references::supply))
+                .forEach(this::consume);
+    }
+
+    @Test
+    public void sneakyFunction() throws Exception {
+        when(references.transform(anyString())).then(invocation -> invocation.getArgument(0) + "!");
+
+        List<String> results = Stream.of("Apple", "Orange")
+                .map(Exceptions.sneaky(references::transform))
+                .collect(toList());
+
+        assertThat(results, contains("Apple!", "Orange!"));
+    }
+
+    @Test
+    public void sneakyFunction_failure() throws Exception {
+        IOException expected = new IOException();
+        when(references.transform(anyString())).thenThrow(expected);
+
+        exception.expect(is(sameInstance(expected)));
+
+        Stream.of("Apple", "Orange")
+                .map(Exceptions.sneakyFunction(references::transform))
+                .forEach(this::consume);
+    }
+
+    @Test
+    public void sneakyPredicate() {
+        exception.expect(IOException.class);
+
+        Stream.of("Apple", "")
+                .filter(Exceptions.sneakyPredicate(value -> measure(value) > 5))
+                .forEach(this::consume);
+    }
+
+    @Test
+    public void rethrowAs_doesNotThrow() throws IOException {
+        Exceptions.rethrowAs(IOException.class);
+    }
+
+    @Test
+    public void wrapIntFunction() {
+        List<String> results = IntStream.range(0, 3)
+                .mapToObj(Exceptions.wrapExceptionalIntFunction(ExceptionsTest::describe, RuntimeIOException::new))
+                .collect(toList());
+
+        assertThat(results, contains("value 0", "value 1", "value 2"));
+    }
+
+    @Test
+    public void wrapIntFunction_andUnwrap() throws Exception {
+        exception.expect(IOException.class);
+
+        try {
+            IntStream.range(-1, 3)
+                    .mapToObj(Exceptions.wrapExceptionalIntFunction(ExceptionsTest::describe, WrappedIOException::new))
+                    .forEach(this::consume);
+        } catch (WrappedIOException e) {
+            e.unwrap();
+        }
+    }
+
+    @Test
+    public void wrapToPrimitiveFunctions() {
+        assertThat(Stream.of("Apple", "Orange")
+                .mapToInt(Exceptions.wrapExceptionalToIntFunction(ExceptionsTest::measure, RuntimeIOException::new))
+                .sum(), is(11));
+        assertThat(Stream.of("Apple", "Orange")
+                .mapToLong(Exceptions.wrapExceptionalToLongFunction(ExceptionsTest::measure, RuntimeIOException::new))
+                .sum(), is(11L));
+        assertThat(Stream.of("Apple", "Orange")
+                .mapToDouble(Exceptions.wrapExceptionalToDoubleFunction(ExceptionsTest::measure,
+                        RuntimeIOException::new))
+                .sum(), is(11.0));
+    }
+
+    @Test
+    public void wrapToPrimitiveFunction_failure() {
+        exception.expect(RuntimeIOException.class);
+
+        Stream.of("Apple", "")
+                .mapToLong(Exceptions.wrapExceptionalToLongFunction(ExceptionsTest::measure, RuntimeIOException::new))
+                .sum();
+    }
+
+    @Test
+    public void wrapPrimitiveConsumers() {
+        LongAdder sum = new LongAdder();
+        IntStream.range(0, 4).forEach(Exceptions.wrapExceptionalIntConsumer(sum::add, RuntimeIOException::new));
+        LongStream.range(0, 4).forEach(Exceptions.wrapExceptionalLongConsumer(sum::add, RuntimeIOException::new));
+        DoubleStream.of(1.0, 2.0).forEach(Exceptions.wrapExceptionalDoubleConsumer(
+                value -> sum.add((long) value), RuntimeIOException::new));
+
+        assertThat(sum.sum(), is(15L));
+    }
+
+    @Test
+    public void wrapPrimitiveSuppliers() {
+        assertThat(IntStream.generate(Exceptions.wrapExceptionalIntSupplier(() -> 2, RuntimeIOException::new))
+                .limit(3).sum(), is(6));
+        assertThat(LongStream.generate(Exceptions.wrapExceptionalLongSupplier(() -> 2L, RuntimeIOException::new))
+                .limit(3).sum(), is(6L));
+        assertThat(DoubleStream.generate(Exceptions.wrapExceptionalDoubleSupplier(() -> 2.0, RuntimeIOException::new))
+                .limit(3).sum(), is(6.0));
+    }
+
+    @Test
+    public void wrapPrimitiveSupplier_failure() {
+        exception.expect(RuntimeIOException.class);
+
+        IntStream.generate(Exceptions.wrapExceptionalIntSupplier(() -> {
+            throw new IOException();
+        }, RuntimeIOException::new)).limit(3).sum();
+    }
+
+    @Test
+    public void wrapPrimitiveUnaryOperators() {
+        assertThat(IntStream.range(0, 3)
+                .map(Exceptions.wrapExceptionalIntUnaryOperator(ExceptionsTest::half, RuntimeIOException::new))
+                .sum(), is(1));
+        assertThat(LongStream.range(0, 3)
+                .map(Exceptions.wrapExceptionalLongUnaryOperator(value -> value * 2, RuntimeIOException::new))
+                .sum(), is(6L));
+        assertThat(DoubleStream.of(1.0, 2.0)
+                .map(Exceptions.wrapExceptionalDoubleUnaryOperator(value -> value / 2, RuntimeIOException::new))
+                .sum(), is(1.5));
+    }
+
+    @Test
+    public void wrapPrimitiveUnaryOperator_RuntimeException() {
+        exception.expect(ArithmeticException.class);
+
+        IntStream.range(0, 3)
+                .map(Exceptions.wrapExceptionalIntUnaryOperator(value -> 1 / value, RuntimeIOException::new))
+                .sum();
+    }
+
     @SuppressWarnings("unused")
     private void consume(String string) {
         // Noop, used to trigger terminal stream operations.
     }
 
+    private static List<String> methods(StackTraceElement[] stackTrace) {
+        return Stream.of(stackTrace).map(frame -> frame.getClassName() + '.' + frame.getMethodName()).collect(toList());
+    }
+
+    private static String describe(int value) throws IOException {
+        if (value < 0) {
+            throw new IOException("Negative value.");
+        }
+        return "value " + value;
+    }
+
+    private static int measure(String value) throws IOException {
+        if (value.isEmpty()) {
+            throw new IOException("Empty value.");
+        }
+        return value.length();
+    }
+
+    private static int half(int value) throws IOException {
+        return value / 2;
+    }
+
     private interface MethodReferences {
         void consume(String consumable) throws IOException;
 
@@ -0,0 +1,98 @@
+package com.impressiveinteractive.synapse.exception;
+
+import com.impressiveinteractive.synapse.exception.runtime.RuntimeIOException;
+import com.impressiveinteractive.synapse.exception.runtime.RuntimeNoSuchMethodException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedIOException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class LazyMessageTest {
+
+    private final AtomicInteger renders = new AtomicInteger();
+    private final Object expensive = new Object() {
+        @Override
+        public String toString() {
+            return "expensive" + renders.incrementAndGet();
+        }
+    };
+
+    @Test
+    public void toString_rendersOnce() {
+        LazyMessage message = LazyMessage.of("Testing {} and {}.", "one", expensive);
+
+        assertThat(message.isRendered(), is(false));
+        assertThat(renders.get(), is(0));
+        assertThat(message.toString(), is(equalTo("Testing one and expensive1.")));
+        assertThat(message.toString(), is(equalTo("Testing one and expensive1.")));
+        assertThat(message.isRendered(), is(true));
+        assertThat(renders.get(), is(1));
+    }
+
+    @Test
+    public void of_usesTrailingThrowableAsArgument() {
+        LazyMessage message = LazyMessage.of("Testing {}.", new IOException("cause"));
+
+        assertThat(message.toString(), is(equalTo("Testing java.io.IOException: cause.")));
+    }
+
+    @Test
+    public void runtimeException() {
+        IOException cause = new IOException();
+        RuntimeNoSuchMethodException exception =
+                RuntimeNoSuchMethodException.lazy(LazyMessage.of("Missing {}.", expensive), cause);
+
+        assertThat(renders.get(), is(0));
+        assertThat(exception.getCause(), is(cause));
+        assertThat(exception.getMessage(), is(equalTo("Missing expensive1.")));
+        assertThat(exception.getLocalizedMessage(), is(equalTo("Missing expensive1.")));
+        assertThat(renders.get(), is(1));
+    }
+
+    @Test
+    public void runtimeException_nullMessageUsesStringConstructor() {
+        IOException cause = new IOException();
+
+        assertThat(new RuntimeIOException(null, cause).getMessage(), is(nullValue()));
+        assertThat(new RuntimeNoSuchMethodException(null, cause).getCause(), is(cause));
+    }
+
+    @Test
+    public void wrappedException() {
+        IOException cause = new IOException();
+        WrappedIOException exception = WrappedIOException.lazy(LazyMessage.of("Reading {}.", expensive), cause);
+
+        assertThat(renders.get(), is(0));
+        assertThat(exception.getCause(), is(cause));
+        assertThat(exception.toString(), is(equalTo(WrappedIOException.class.getName() + ": Reading expensive1.")));
+        assertThat(renders.get(), is(1));
+    }
+
+    @Test
+    public void serialization_rendersMessage() throws Exception {
+        RuntimeNoSuchMethodException exception =
+                RuntimeNoSuchMethodException.lazy(LazyMessage.of("Missing {}.", expensive), null);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(exception);
+        }
+        Object copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = in.readObject();
+        }
+
+        assertThat(((Throwable) copy).getMessage(), is(equalTo("Missing expensive1.")));
+        assertThat(renders.get(), is(1));
+    }
+}
@@ -0,0 +1,219 @@
+package com.impressiveinteractive.synapse.exception;
+
+import com.impressiveinteractive.synapse.exception.runtime.RuntimeIOException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MemoizerTest {
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void memoize() throws IOException {
+        ExceptionalSupplier<String, IOException> memoized = Exceptions.memoize(this::next);
+
+        assertThat(memoized.get(), is(equalTo("value1")));
+        assertThat(memoized.get(), is(equalTo("value1")));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void memoize_failureIsRetried() throws IOException {
+        IOException expected = new IOException("Failed.");
+        ExceptionalSupplier<String, IOException> memoized = Exceptions.memoize(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw expected;
+            }
+            return "value";
+        });
+
+        try {
+            memoized.get();
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+        }
+        assertThat(memoized.get(), is(equalTo("value")));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void memoize_singleFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExceptionalSupplier<String, InterruptedException> memoized = Exceptions.memoize(() -> {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await();
+            return "value";
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(callers.submit(memoized::get));
+            started.await();
+            for (int i = 0; i < 3; i++) {
+                results.add(callers.submit(memoized::get));
+            }
+            Thread.sleep(20);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS), is(equalTo("value")));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void memoize_wrapExceptionalSupplier() {
+        IOException expected = new IOException("Failed.");
+        Supplier<String> wrapped = Exceptions.wrapExceptionalSupplier(Exceptions.memoize(() -> {
+            throw expected;
+        }), RuntimeIOException::new);
+
+        try {
+            wrapped.get();
+            fail("Expected RuntimeIOException.");
+        } catch (RuntimeIOException e) {
+            assertThat(e.getCause(), is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void expireAfter() throws IOException {
+        ExceptionalSupplier<String, IOException> memoized =
+                memoize(MemoizeSpec.defaults().expireAfter(Duration.ofNanos(10)));
+
+        assertThat(memoized.get(), is(equalTo("value1")));
+        ticker.set(9);
+        assertThat(memoized.get(), is(equalTo("value1")));
+        ticker.set(10);
+        assertThat(memoized.get(), is(equalTo("value2")));
+    }
+
+    @Test
+    public void refreshAfter() throws IOException {
+        ExceptionalSupplier<String, IOException> memoized =
+                memoize(MemoizeSpec.defaults().expireAfter(Duration.ofNanos(10)).refreshAfter(Duration.ofNanos(5)));
+
+        assertThat(memoized.get(), is(equalTo("value1")));
+        ticker.set(5);
+        assertThat(memoized.get(), is(equalTo("value2")));
+        ticker.set(9);
+        assertThat(memoized.get(), is(equalTo("value2")));
+    }
+
+    @Test
+    public void refreshAfter_failureKeepsValue() throws IOException {
+        ExceptionalSupplier<String, IOException> memoized = new Memoizer<>(() -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IOException("Failed.");
+            }
+            return "value" + calls.get();
+        }, MemoizeSpec.defaults().expireAfter(Duration.ofNanos(10)).refreshAfter(Duration.ofNanos(5)), ticker::get);
+
+        assertThat(memoized.get(), is(equalTo("value1")));
+        ticker.set(5);
+        assertThat(memoized.get(), is(equalTo("value1")));
+        assertThat(memoized.get(), is(equalTo("value3")));
+    }
+
+    @Test
+    public void refreshAfter_expiresDuringRefresh() throws Exception {
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExceptionalSupplier<String, InterruptedException> memoized = new Memoizer<>(() -> {
+            if (calls.incrementAndGet() == 2) {
+                refreshing.countDown();
+                release.await();
+            }
+            return "value" + calls.get();
+        }, MemoizeSpec.defaults().expireAfter(Duration.ofNanos(10)).refreshAfter(Duration.ofNanos(5)), ticker::get);
+        assertThat(memoized.get(), is(equalTo("value1")));
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            ticker.set(5);
+            Future<String> refresh = callers.submit(memoized::get);
+            refreshing.await();
+            ticker.set(10);
+            Future<String> load = callers.submit(memoized::get);
+            Thread.sleep(20);
+            release.countDown();
+
+            assertThat(refresh.get(10, TimeUnit.SECONDS), is(equalTo("value2")));
+            assertThat(load.get(10, TimeUnit.SECONDS), is(equalTo("value2")));
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(memoized.get(), is(equalTo("value2")));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    public void cacheFailuresFor() throws IOException {
+        IOException expected = new IOException("Failed.");
+        ExceptionalSupplier<String, IOException> memoized = new Memoizer<>(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw expected;
+            }
+            return "value";
+        }, MemoizeSpec.defaults().cacheFailuresFor(Duration.ofNanos(10)), ticker::get);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                memoized.get();
+                fail("Expected IOException.");
+            } catch (IOException e) {
+                assertThat(e, is(sameInstance(expected)));
+            }
+        }
+        ticker.set(10);
+        assertThat(memoized.get(), is(equalTo("value")));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refreshAfter_notBeforeExpiry() {
+        memoize(MemoizeSpec.defaults().expireAfter(Duration.ofNanos(10)).refreshAfter(Duration.ofNanos(10)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void expireAfter_zero() {
+        MemoizeSpec.defaults().expireAfter(Duration.ZERO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cacheFailuresFor_negative() {
+        MemoizeSpec.defaults().cacheFailuresFor(Duration.ofNanos(-1));
+    }
+
+    private ExceptionalSupplier<String, IOException> memoize(MemoizeSpec spec) {
+        return new Memoizer<>(this::next, spec, ticker::get);
+    }
+
+    private String next() throws IOException {
+        return "value" + calls.incrementAndGet();
+    }
+}
@@ -0,0 +1,254 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assume.assumeThat;
+import static org.junit.Assume.assumeTrue;
+
+public class MessageTemplateTest {
+
+    private static final RuntimeException EXCEPTION = new RuntimeException();
+
+    @Test
+    public void render() {
+        assertThat(MessageTemplate.compile("This is a test").render(), is("This is a test"));
+        assertThat(MessageTemplate.compile("This is a {}").render("test"), is("This is a test"));
+        assertThat(MessageTemplate.compile("Testing {},{},{}").render(1, 2, 3), is("Testing 1,2,3"));
+        assertThat(MessageTemplate.compile("Testing {},{},{}").render("test"), is("Testing test,{},{}"));
+        assertThat(MessageTemplate.compile("This is a {test}").render("test"), is("This is a {test}"));
+        assertThat(MessageTemplate.compile("This is a {}").render((Object) null), is("This is a null"));
+    }
+
+    @Test
+    public void render_escapes() {
+        assertThat(MessageTemplate.compile("This is a \\{}").render("test"), is("This is a {}"));
+        assertThat(MessageTemplate.compile("This is a \\ {}").render("test"), is("This is a \\ test"));
+        assertThat(MessageTemplate.compile("This is a \\\\ {}").render("test"), is("This is a \\\\ test"));
+        assertThat(MessageTemplate.compile("This is a {\\}").render("test"), is("This is a {\\}"));
+    }
+
+    @Test
+    public void parse_trailingThrowable() {
+        ExceptionalMessage message = MessageTemplate.compile("This is a {} {}").parse("test", EXCEPTION);
+
+        assertThat(message.getMessage(), is("This is a test {}"));
+        assertThat(message.getThrowable(), is(EXCEPTION));
+    }
+
+    @Test
+    public void parse_leadingThrowable() {
+        ExceptionalMessage message = MessageTemplate.compile("This is a {} {}").parse(EXCEPTION, "test");
+
+        assertThat(message.getMessage(), is("This is a java.lang.RuntimeException test"));
+        assertThat(message.getThrowable(), is(nullValue()));
+    }
+
+    @Test
+    public void render_range() {
+        Object[] args = {"zero", "one", "two", EXCEPTION};
+
+        assertThat(MessageTemplate.compile("{} {} {}").render(args, 1, 3), is("one two {}"));
+        assertThat(MessageTemplate.compile("{} {} {}").render(args, 0, 0), is("{} {} {}"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void render_rangeOutOfBounds() {
+        MessageTemplate.compile("{}").render(new Object[]{"zero"}, 0, 2);
+    }
+
+    @Test
+    public void render_fixedArguments() {
+        MessageTemplate template = MessageTemplate.compile("Values {} and {}.");
+
+        assertThat(template.render("one"), is("Values one and {}."));
+        assertThat(template.render("one", 2), is("Values one and 2."));
+        assertThat(template.render(42L), is("Values 42 and {}."));
+        assertThat(template.render(4.2), is("Values 4.2 and {}."));
+        assertThat(MessageTemplate.compile("No values.").render("one", "two"), is("No values."));
+    }
+
+    @Test
+    public void render_nested() {
+        MessageTemplate template = MessageTemplate.compile("Outer {}.");
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                return MessageTemplate.compile("inner {}").render("value");
+            }
+        };
+
+        assertThat(template.render(nested), is("Outer inner value."));
+    }
+
+    @Test
+    public void appendTo() throws IOException {
+        MessageTemplate template = MessageTemplate.compile("Values {} and {}.");
+
+        assertThat(template.appendTo(new StringBuilder("> "), 7L).toString(), is("> Values 7 and {}."));
+        assertThat(template.appendTo(new StringWriter(), new Object[]{"a", "b", "c"}, 1, 3).toString(),
+                is("Values b and c."));
+    }
+
+    @Test
+    public void appendTo_doesNotAllocate() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeThat(threadBean, is(instanceOf(com.sun.management.ThreadMXBean.class)));
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        MessageTemplate template = MessageTemplate.compile("Failed {} of {} with {}.");
+        Object[] args = {"first", "second", EXCEPTION};
+        StringBuilder builder = new StringBuilder(256);
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < 10_000; i++) {
+            appendAll(template, builder, args);
+        }
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            appendAll(template, builder, args);
+        }
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(allocated, is(lessThan(1024L)));
+    }
+
+    @Test
+    public void render_onlyAllocatesResult() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeThat(threadBean, is(instanceOf(com.sun.management.ThreadMXBean.class)));
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        MessageTemplate template = MessageTemplate.compile("Failed at {}.");
+        long threadId = Thread.currentThread().getId();
+        int length = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            length += template.render(123_456_789L).length();
+        }
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            length += template.render(123_456_789L).length();
+        }
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+
+        // A String of 20 characters takes at most 24 bytes for the object and 56 bytes for its (UTF-16) array.
+        assertThat(length, is(20 * 20_000));
+        assertThat(allocated / 10_000, is(lessThan(80L)));
+    }
+
+    @Test
+    public void placeholderCount() {
+        assertThat(MessageTemplate.compile("No placeholders").getPlaceholderCount(), is(0));
+        assertThat(MessageTemplate.compile("{} and {} but not \\{}").getPlaceholderCount(), is(2));
+    }
+
+    @Test
+    public void of_cachesTemplates() {
+        MessageTemplate template = MessageTemplate.of("Cached {}");
+
+        assertThat(MessageTemplate.of("Cached {}"), is(sameInstance(template)));
+        assertThat(MessageTemplate.compile("Cached {}"), is(not(sameInstance(template))));
+    }
+
+    @Test
+    public void of_boundedCache() {
+        for (int i = 0; i < MessageTemplate.MAX_CACHED_TEMPLATES * 2; i++) {
+            assertThat(MessageTemplate.of("Overflow " + i + " {}").render(i), is("Overflow " + i + " " + i));
+        }
+    }
+
+    @Test
+    public void compareWithOriginalParser() {
+        Random random = new Random(42);
+        char[] alphabet = {'{', '}', '\\', 'a', ' ', 'é'};
+        for (int run = 0; run < 10_000; run++) {
+            StringBuilder format = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                format.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            if (random.nextBoolean()) {
+                format.appendCodePoint(0x1F600);
+            }
+            Object[] args = new Object[random.nextInt(4)];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = "arg" + i;
+            }
+            assertThat(format.toString(), MessageTemplate.compile(format.toString()).render(args),
+                    is(originalParse(format.toString(), args)));
+        }
+    }
+
+    private static void appendAll(MessageTemplate template, StringBuilder builder, Object[] args) {
+        builder.setLength(0);
+        template.appendTo(builder, args, 0, 2);
+        builder.setLength(0);
+        template.appendTo(builder, 42L);
+        builder.setLength(0);
+        template.appendTo(builder, "first", "second");
+    }
+
+    /**
+     * The code point walking parser that was used by {@link ExceptionalMessage#parse(String, Object...)} before
+     * templates were introduced. Kept here as reference implementation.
+     */
+    private static String originalParse(String format, Object... values) {
+        StringBuilder messageBuilder = new StringBuilder();
+        int valuesIndex = 0;
+        boolean escaped = false;
+        boolean open = false;
+
+        int index = 0;
+        while (index < format.length()) {
+            int codePoint = format.codePointAt(index);
+            if (open) {
+                if (codePoint == '}') {
+                    if (escaped) {
+                        messageBuilder.append("{}");
+                        escaped = false;
+                    } else if (valuesIndex < values.length) {
+                        messageBuilder.append(values[valuesIndex++]);
+                    } else {
+                        messageBuilder.append("{}");
+                    }
+                } else {
+                    messageBuilder.append('{').appendCodePoint(codePoint);
+                }
+                open = false;
+            } else if (codePoint == '{') {
+                open = true;
+            } else if (codePoint == '\\') {
+                if (escaped) {
+                    messageBuilder.append('\\');
+                } else {
+                    escaped = true;
+                }
+            } else {
+                if (escaped) {
+                    messageBuilder.append('\\');
+                    escaped = false;
+                }
+                messageBuilder.appendCodePoint(codePoint);
+            }
+            index += Character.charCount(codePoint);
+        }
+        return messageBuilder.toString();
+    }
+}
@@ -0,0 +1,200 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelMapperTest {
+
+    @Test
+    public void parallelMap_keepsOrder() throws Exception {
+        List<Integer> items = IntStream.range(0, 200).boxed().collect(toList());
+
+        List<String> results = Exceptions.parallelMap(items, i -> {
+            Thread.sleep(i % 7);
+            return "#" + i;
+        }, 8);
+
+        assertThat(results, is(equalTo(items.stream().map(i -> "#" + i).collect(toList()))));
+    }
+
+    @Test
+    public void parallelMap_empty() throws Exception {
+        assertThat(Exceptions.parallelMap(Collections.<Integer>emptyList(), i -> i, 4), is(empty()));
+    }
+
+    @Test
+    public void parallelMap_limitsConcurrency() throws Exception {
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        Exceptions.parallelMap(IntStream.range(0, 50).boxed().collect(toList()), i -> {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            current.decrementAndGet();
+            return i;
+        }, 3);
+
+        assertThat(peak.get(), is(lessThanOrEqualTo(3)));
+    }
+
+    @Test
+    public void parallelMap_firstFailureCancelsTheRest() throws Exception {
+        IOException expected = new IOException("Failed.");
+        AtomicInteger started = new AtomicInteger();
+        try {
+            Exceptions.parallelMap(IntStream.range(0, 1_000).boxed().collect(toList()), i -> {
+                started.incrementAndGet();
+                if (i == 5) {
+                    throw expected;
+                }
+                Thread.sleep(1);
+                return i;
+            }, 4);
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+            assertThat(started.get(), is(lessThan(100)));
+        }
+    }
+
+    @Test
+    public void parallelMap_interruptsRunningFunctions() throws Exception {
+        IOException expected = new IOException("Failed.");
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            Exceptions.parallelMap(Arrays.asList(0, 1), i -> {
+                if (i == 0) {
+                    try {
+                        blocked.countDown();
+                        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return i;
+                }
+                blocked.await();
+                throw expected;
+            }, 2);
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+            assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void parallelMap_runtimeException() throws Exception {
+        IllegalStateException expected = new IllegalStateException("Failed.");
+        try {
+            Exceptions.parallelMap(Arrays.asList(0, 1, 2), i -> {
+                throw expected;
+            }, 2);
+            fail("Expected IllegalStateException.");
+        } catch (IllegalStateException e) {
+            assertThat(e, is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void parallelMap_interruptedConsumer() throws Exception {
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+        Thread consumer = new Thread(() -> {
+            try {
+                Exceptions.parallelMap(Arrays.asList(0, 1), i -> {
+                    started.countDown();
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    return i;
+                }, 2);
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+        consumer.start();
+        started.await();
+        consumer.interrupt();
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertTrue(thrown.get() instanceof InterruptedException);
+    }
+
+    @Test
+    public void parallelMap_iteratorReadsSourceLazily() throws Exception {
+        AtomicInteger read = new AtomicInteger();
+        Iterator<Integer> source = Stream.iterate(0, i -> i + 1).peek(i -> read.incrementAndGet()).iterator();
+
+        try (ExceptionalIterator<Integer, IOException> iterator = Exceptions.parallelMap(source, i -> i * 2, 2)) {
+            assertThat(iterator.next(), is(0));
+            assertThat(iterator.next(), is(2));
+            assertThat(iterator.next(), is(4));
+        }
+
+        assertThat(read.get(), is(lessThanOrEqualTo(7)));
+    }
+
+    @Test
+    public void parallelMap_iteratorExhausted() throws Exception {
+        ExceptionalIterator<Integer, IOException> iterator =
+                Exceptions.parallelMap(Arrays.asList(1, 2).iterator(), i -> i, 1);
+
+        assertThat(iterator.next(), is(1));
+        assertThat(iterator.next(), is(2));
+        assertThat(iterator.hasNext(), is(false));
+        try {
+            iterator.next();
+            fail("Expected NoSuchElementException.");
+        } catch (NoSuchElementException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void parallelMap_iteratorClosed() throws Exception {
+        ExceptionalIterator<Integer, IOException> iterator =
+                Exceptions.parallelMap(Arrays.asList(1, 2, 3).iterator(), i -> i, 1);
+
+        iterator.close();
+
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelMap_invalidConcurrency() {
+        Exceptions.parallelMap(Collections.<Integer>emptyIterator(), i -> i, 0);
+    }
+
+    @Test
+    public void virtualThreads() {
+        List<Integer> version = Arrays.stream(System.getProperty("java.specification.version").split("\\."))
+                .map(Integer::valueOf)
+                .collect(toList());
+        boolean expected = version.get(0) >= 21;
+
+        assertThat(VirtualThreads.isAvailable(), is(expected));
+        assertThat(VirtualThreads.factory() != null, is(expected));
+    }
+}
@@ -0,0 +1,155 @@
+package com.impressiveinteractive.synapse.exception;
+
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedIOException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ParallelStreamsTest {
+
+    private static final int SIZE = 100_000;
+
+    @Test
+    public void forEach() throws IOException {
+        LongAdder sum = new LongAdder();
+
+        ParallelStreams.forEach(IntStream.range(0, SIZE).boxed(), i -> sum.add(i));
+
+        assertThat(sum.sum(), is((long) SIZE * (SIZE - 1) / 2));
+    }
+
+    @Test
+    public void forEach_firstFailureWithSuppressed() {
+        AtomicInteger processed = new AtomicInteger();
+        Set<Throwable> thrown = ConcurrentHashMap.newKeySet();
+        try {
+            ParallelStreams.forEach(IntStream.range(0, SIZE).boxed(), i -> {
+                processed.incrementAndGet();
+                IOException e = new IOException("Failed " + i);
+                thrown.add(e);
+                throw e;
+            });
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(thrown, hasItem(sameInstance(e)));
+            assertThat(e.getSuppressed().length, is(processed.get() - 1));
+            assertThat(processed.get(), is(lessThan(SIZE / 10)));
+        }
+    }
+
+    @Test
+    public void forEach_wrappedExceptionIsNotCopied() {
+        Set<Throwable> thrown = ConcurrentHashMap.newKeySet();
+        Consumer<Integer> consumer = Exceptions.wrapExceptionalConsumer(i -> {
+            if (i % 1000 == 999) {
+                throw new IOException("Failed " + i);
+            }
+        }, e -> {
+            WrappedIOException wrapped = new WrappedIOException(e);
+            thrown.add(wrapped);
+            return wrapped;
+        });
+        try {
+            ParallelStreams.forEach(IntStream.range(0, SIZE).boxed(), consumer::accept);
+            fail("Expected WrappedIOException.");
+        } catch (WrappedIOException e) {
+            assertThat(e.getClass(), is(equalTo(WrappedIOException.class)));
+            assertThat(thrown, hasItem(sameInstance(e)));
+            assertThat(e.getCause().getMessage().startsWith("Failed "), is(true));
+        }
+    }
+
+    @Test
+    public void forEach_sameInstanceIsNotSuppressedInItself() {
+        IOException shared = new IOException("Shared.");
+        try {
+            ParallelStreams.forEach(IntStream.range(0, SIZE).boxed(), i -> {
+                throw shared;
+            });
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(shared)));
+            assertThat(e.getSuppressed().length, is(0));
+        }
+    }
+
+    @Test
+    public void forEach_closesStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        ParallelStreams.forEach(Stream.of(1, 2).onClose(() -> closed.set(true)), i -> {
+        });
+
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    public void collect_closesStreamOnFailure() {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        try {
+            ParallelStreams.collect(Stream.of(1, 2).onClose(() -> closed.set(true)), i -> {
+                throw new IOException("Failed.");
+            }, toList());
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(closed.get(), is(true));
+        }
+    }
+
+    @Test
+    public void collect() throws IOException {
+        List<Integer> result = ParallelStreams.collect(IntStream.range(0, SIZE).boxed(), i -> i * 2, toList());
+
+        assertThat(result.size(), is(SIZE));
+        assertThat(result.get(SIZE - 1), is((SIZE - 1) * 2));
+    }
+
+    @Test
+    public void collect_nullResults() throws IOException {
+        List<String> result = ParallelStreams.collect(Stream.of("a", "b"), s -> null, toList());
+
+        assertThat(result, contains(nullValue(), nullValue()));
+    }
+
+    @Test
+    public void collect_failure() {
+        try {
+            ParallelStreams.collect(IntStream.range(0, SIZE).boxed(), i -> {
+                if (i == SIZE / 2) {
+                    throw new IOException("Failed " + i);
+                }
+                return i;
+            }, toList());
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e.getMessage(), is(equalTo("Failed " + SIZE / 2)));
+        }
+    }
+
+    @Test
+    public void collect_empty() throws IOException {
+        assertThat(ParallelStreams.collect(Stream.<String>empty(), String::length, toList()), is(empty()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class RateLimiterTest {
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void rateLimited() throws IOException {
+        ExceptionalFunction<Integer, String, IOException> function = Exceptions.rateLimited(this::describe, 10);
+
+        assertThat(function.apply(1), is(equalTo("#1")));
+    }
+
+    @Test
+    public void burstOfOneSecond() throws IOException {
+        RateLimiter<Integer, String, IOException> limiter = new RateLimiter<>(this::describe, 10, 0, ticker::get);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.apply(i);
+        }
+        expectExceeded(limiter);
+        assertThat(calls.get(), is(10));
+    }
+
+    @Test
+    public void refills() throws IOException {
+        RateLimiter<Integer, String, IOException> limiter = new RateLimiter<>(this::describe, 10, 0, ticker::get);
+        for (int i = 0; i < 10; i++) {
+            limiter.apply(i);
+        }
+
+        ticker.set(TimeUnit.MILLISECONDS.toNanos(99));
+        expectExceeded(limiter);
+        ticker.set(TimeUnit.MILLISECONDS.toNanos(100));
+        limiter.apply(10);
+        expectExceeded(limiter);
+
+        ticker.set(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 10; i++) {
+            limiter.apply(i);
+        }
+        expectExceeded(limiter);
+    }
+
+    @Test
+    public void burstOfAtLeastOnePermit() throws IOException {
+        RateLimiter<Integer, String, IOException> limiter = new RateLimiter<>(this::describe, 0.5, 0, ticker::get);
+
+        limiter.apply(1);
+        expectExceeded(limiter);
+        ticker.set(TimeUnit.SECONDS.toNanos(2));
+        limiter.apply(2);
+    }
+
+    @Test
+    public void waitsForPermit() throws IOException {
+        ExceptionalFunction<Integer, String, IOException> function =
+                Exceptions.rateLimited(this::describe, 100, Duration.ofSeconds(1));
+        for (int i = 0; i < 100; i++) {
+            function.apply(i);
+        }
+
+        long start = System.nanoTime();
+        function.apply(100);
+        function.apply(101);
+
+        assertThat(System.nanoTime() - start, is(greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10))));
+        assertThat(calls.get(), is(102));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rateLimited_invalid() {
+        Exceptions.rateLimited(this::describe, 0);
+    }
+
+    private void expectExceeded(ExceptionalFunction<Integer, String, IOException> limiter) throws IOException {
+        try {
+            limiter.apply(-1);
+            fail("Expected RateLimitExceededException.");
+        } catch (RateLimitExceededException e) {
+            assertThat(e, is(sameInstance(RateLimiter.EXCEEDED)));
+        }
+    }
+
+    private String describe(int key) throws IOException {
+        calls.incrementAndGet();
+        return "#" + key;
+    }
+}
@@ -0,0 +1,141 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ResultTest {
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private final IOException failure = new IOException("Broken.");
+
+    @Test
+    public void success() throws IOException {
+        Result<String, IOException> result = Result.success("value");
+
+        assertThat(result.isSuccess(), is(true));
+        assertThat(result.isFailure(), is(false));
+        assertThat(result.get(), is(equalTo("value")));
+        assertThat(result.getFailure(), is(nullValue()));
+        assertThat(result.orElse("other"), is(equalTo("value")));
+        assertThat(result.orElseGet(e -> "other"), is(equalTo("value")));
+        assertThat(result.toString(), is(equalTo("Success[value]")));
+    }
+
+    @Test
+    public void success_null() throws IOException {
+        Result<String, IOException> result = Result.success(null);
+
+        assertThat(result.isSuccess(), is(true));
+        assertThat(result.get(), is(nullValue()));
+    }
+
+    @Test
+    public void failure() {
+        Result<String, IOException> result = Result.failure(failure);
+
+        assertThat(result.isSuccess(), is(false));
+        assertThat(result.isFailure(), is(true));
+        assertThat(result.getFailure(), is(sameInstance(failure)));
+        assertThat(result.orElse("other"), is(equalTo("other")));
+        assertThat(result.orElseGet(Throwable::getMessage), is(equalTo("Broken.")));
+    }
+
+    @Test
+    public void failure_get() throws IOException {
+        exception.expect(is(failure));
+        Result.failure(failure).get();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void failure_null() {
+        Result.failure(null);
+    }
+
+    @Test
+    public void of() {
+        assertThat(Result.of(() -> "value"), is(equalTo(Result.success("value"))));
+        assertThat(Result.of(() -> {
+            throw failure;
+        }), is(equalTo(Result.failure(failure))));
+    }
+
+    @Test
+    public void of_RuntimeException() {
+        IllegalStateException expected = new IllegalStateException();
+        exception.expect(is(expected));
+
+        Result.of(() -> {
+            throw expected;
+        });
+    }
+
+    @Test
+    public void map() {
+        assertThat(Result.success("value").map(String::length), is(equalTo(Result.success(5))));
+
+        Result<String, IOException> failed = Result.failure(failure);
+        assertThat(failed.map(String::length), is(sameInstance((Object) failed)));
+    }
+
+    @Test
+    public void equality() {
+        assertThat(Result.success("value"), is(equalTo(Result.success("value"))));
+        assertThat(Result.success("value").hashCode(), is(equalTo(Result.success("value").hashCode())));
+        assertThat(Result.success("value"), is(not(equalTo(Result.success("other")))));
+        assertThat(Result.<String, IOException>success(null), is(not(equalTo(Result.failure(failure)))));
+    }
+
+    @Test
+    public void partitioning() {
+        Result.Partition<List<Integer>, List<IOException>> partition = Stream.of("1", "two", "3", "four")
+                .map(Exceptions.attempt(ResultTest::parse))
+                .collect(Result.partitioning());
+
+        assertThat(partition.getSuccesses(), contains(1, 3));
+        assertThat(partition.getFailures(), hasSize(2));
+        assertThat(partition.getFailures().get(0).getMessage(), is(equalTo("Not a number: two")));
+        assertThat(partition.getFailures().get(1).getMessage(), is(equalTo("Not a number: four")));
+    }
+
+    @Test
+    public void partitioning_downstream() {
+        Result.Partition<Long, List<String>> partition = IntStream.range(0, 10_000)
+                .parallel()
+                .mapToObj(i -> i % 1000 == 0 ? "bad" + i : String.valueOf(i))
+                .map(Exceptions.attempt(ResultTest::parse))
+                .collect(Result.partitioning(counting(), mapping(Throwable::getMessage, toList())));
+
+        assertThat(partition.getSuccesses(), is(9990L));
+        assertThat(partition.getFailures(), hasSize(10));
+        assertThat(partition.getFailures().get(0), is(equalTo("Not a number: bad0")));
+        assertThat(partition.getFailures().get(9), is(equalTo("Not a number: bad9000")));
+    }
+
+    private static int parse(String value) throws IOException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Not a number: " + value, e);
+        }
+    }
+}
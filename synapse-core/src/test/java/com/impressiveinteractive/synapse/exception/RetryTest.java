@@ -0,0 +1,221 @@
+package com.impressiveinteractive.synapse.exception;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class RetryTest {
+
+    private static final RetryPolicy FAST = RetryPolicy.defaults().backoff(Duration.ZERO, Duration.ofMillis(1));
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    public void retry_succeedsAfterFailures() throws IOException {
+        ExceptionalSupplier<String, IOException> supplier = Exceptions.retry(failing(2, "Done."), FAST);
+
+        assertThat(supplier.get(), is(equalTo("Done.")));
+        assertThat(attempts.get(), is(3));
+    }
+
+    @Test
+    public void retry_function() throws IOException {
+        ExceptionalFunction<Integer, String, IOException> function = Exceptions.retry(input -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("Failed.");
+            }
+            return "#" + input;
+        }, FAST);
+
+        assertThat(function.apply(1), is(equalTo("#1")));
+        assertThat(attempts.get(), is(2));
+    }
+
+    @Test
+    public void retry_givesUpWithSuppressedFailures() {
+        IOException first = new IOException("First.");
+        IOException second = new IOException("Second.");
+        IOException third = new IOException("Third.");
+        IOException[] failures = {first, second, third};
+        ExceptionalSupplier<String, IOException> supplier = Exceptions.retry(() -> {
+            throw failures[attempts.getAndIncrement()];
+        }, FAST);
+
+        try {
+            supplier.get();
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(third)));
+            assertThat(e.getSuppressed(), is(arrayContaining(first, second)));
+        }
+        assertThat(attempts.get(), is(3));
+    }
+
+    @Test
+    public void retry_sameFailureIsNotSuppressedByItself() {
+        IOException expected = new IOException("Failed.");
+        ExceptionalSupplier<String, IOException> supplier = Exceptions.retry(() -> {
+            attempts.incrementAndGet();
+            throw expected;
+        }, FAST.maxAttempts(2));
+
+        try {
+            supplier.get();
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+            assertThat(e.getSuppressed(), is(emptyArray()));
+        }
+        assertThat(attempts.get(), is(2));
+    }
+
+    @Test
+    public void retryOn_otherFailureIsThrownRightAway() {
+        ExceptionalSupplier<String, Exception> supplier = Exceptions.retry(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("Retried.");
+            }
+            throw new IllegalStateException("Not retried.");
+        }, FAST.maxAttempts(5).retryOn(IOException.class));
+
+        try {
+            supplier.get();
+            fail("Expected IllegalStateException.");
+        } catch (Exception e) {
+            assertThat(e.getClass(), is(equalTo(IllegalStateException.class)));
+            assertThat(e.getSuppressed().length, is(1));
+        }
+        assertThat(attempts.get(), is(2));
+    }
+
+    @Test
+    public void deadline() {
+        RetryPolicy policy = RetryPolicy.defaults()
+                .maxAttempts(100)
+                .backoff(Duration.ofMillis(50), Duration.ofMillis(50))
+                .deadline(Duration.ofMillis(120));
+
+        try {
+            Exceptions.retry(failing(Integer.MAX_VALUE, "Never."), policy).get();
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(attempts.get(), is(3));
+        }
+    }
+
+    @Test
+    public void budget() {
+        RetryBudget budget = RetryBudget.of(0, 2);
+        RetryPolicy policy = FAST.maxAttempts(10).budget(budget);
+
+        try {
+            Exceptions.retry(failing(Integer.MAX_VALUE, "Never."), policy).get();
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(attempts.get(), is(3));
+        }
+        assertThat(budget.getAvailableRetries(), is(0L));
+    }
+
+    @Test
+    public void budget_depositsPerCall() throws IOException {
+        RetryBudget budget = RetryBudget.of(0.5, 1);
+        RetryPolicy policy = FAST.budget(budget);
+        assertThat(budget.getAvailableRetries(), is(1L));
+
+        Exceptions.retry(failing(1, "Done."), policy).get();
+        assertThat(budget.getAvailableRetries(), is(0L));
+        Exceptions.retry(() -> "Done.", policy).get();
+        assertThat(budget.getAvailableRetries(), is(0L));
+        Exceptions.retry(() -> "Done.", policy).get();
+        assertThat(budget.getAvailableRetries(), is(1L));
+    }
+
+    @Test
+    public void retry_interruptedWhileSleeping() {
+        IOException expected = new IOException("Failed.");
+        RetryPolicy policy = RetryPolicy.defaults().backoff(Duration.ofSeconds(10), Duration.ofSeconds(10));
+        Thread.currentThread().interrupt();
+        try {
+            Exceptions.retry(() -> {
+                throw expected;
+            }, policy).get();
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+            assertThat(Thread.interrupted(), is(true));
+        }
+    }
+
+    @Test
+    public void retryAsync() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            CompletableFuture<String> future = Exceptions.retryAsync(failing(2, "Done."), FAST, scheduler);
+
+            assertThat(future.get(10, TimeUnit.SECONDS), is(equalTo("Done.")));
+            assertThat(attempts.get(), is(3));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void retryAsync_givesUp() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            CompletableFuture<String> future =
+                    Exceptions.retryAsync(failing(Integer.MAX_VALUE, "Never."), FAST, scheduler);
+
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                fail("Expected ExecutionException.");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause().getClass(), is(equalTo(IOException.class)));
+                assertThat(e.getCause().getSuppressed().length, is(2));
+            }
+            assertThat(attempts.get(), is(3));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxAttempts_invalid() {
+        RetryPolicy.defaults().maxAttempts(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void backoff_invalid() {
+        RetryPolicy.defaults().backoff(Duration.ofSeconds(2), Duration.ofSeconds(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void budget_invalid() {
+        RetryBudget.of(1.5, 10);
+    }
+
+    private ExceptionalSupplier<String, IOException> failing(int failures, String value) {
+        return () -> {
+            if (attempts.incrementAndGet() <= failures) {
+                throw new IOException("Failed attempt " + attempts.get() + ".");
+            }
+            return value;
+        };
+    }
+}
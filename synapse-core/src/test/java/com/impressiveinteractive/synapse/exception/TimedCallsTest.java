@@ -0,0 +1,164 @@
+package com.impressiveinteractive.synapse.exception;
+
+import com.impressiveinteractive.synapse.exception.runtime.RuntimeTimeoutException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class TimedCallsTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    public void withTimeout() throws IOException {
+        ExceptionalSupplier<String, IOException> supplier =
+                Exceptions.withTimeout(() -> read("Done."), Duration.ofSeconds(10));
+
+        assertThat(supplier.get(), is(equalTo("Done.")));
+    }
+
+    @Test
+    public void withTimeout_failure() {
+        IOException expected = new IOException("Failed.");
+        ExceptionalSupplier<String, IOException> supplier = Exceptions.withTimeout(() -> {
+            throw expected;
+        }, Duration.ofSeconds(10));
+
+        try {
+            supplier.get();
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(expected)));
+        }
+    }
+
+    @Test
+    public void withTimeout_interruptsCall() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ExceptionalSupplier<String, RuntimeException> supplier = Exceptions.withTimeout(() -> {
+            try {
+                Thread.sleep(10_000);
+                return "Too late.";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                return "Interrupted.";
+            }
+        }, Duration.ofMillis(20));
+
+        try {
+            supplier.get();
+            fail("Expected RuntimeTimeoutException.");
+        } catch (RuntimeTimeoutException e) {
+            assertThat(e.getMessage(), is(equalTo("Call did not complete within PT0.02S.")));
+        }
+        assertThat(interrupted.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void withTimeout_callerInterrupted() {
+        ExceptionalSupplier<String, InterruptedException> supplier = Exceptions.withTimeout(() -> {
+            Thread.sleep(10_000);
+            return "Too late.";
+        }, Duration.ofSeconds(10));
+
+        Thread.currentThread().interrupt();
+        try {
+            supplier.get();
+            fail("Expected CancellationException.");
+        } catch (CancellationException | InterruptedException e) {
+            assertThat(e.getClass(), is(equalTo(CancellationException.class)));
+            assertThat(Thread.interrupted(), is(true));
+        }
+    }
+
+    @Test
+    public void hedged_firstAttemptIsFast() throws IOException {
+        ExceptionalSupplier<String, IOException> supplier =
+                Exceptions.hedged(() -> read("Done."), Duration.ofSeconds(10), 3);
+
+        assertThat(supplier.get(), is(equalTo("Done.")));
+        assertThat(attempts.get(), is(1));
+    }
+
+    @Test
+    public void hedged_backupWinsFromSlowAttempt() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ExceptionalSupplier<String, InterruptedException> supplier = Exceptions.hedged(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(10_000);
+                    return "Slow.";
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+            }
+            return "Fast.";
+        }, Duration.ofMillis(20), 2);
+
+        assertThat(supplier.get(), is(equalTo("Fast.")));
+        assertThat(attempts.get(), is(2));
+        assertThat(interrupted.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void hedged_failedAttemptStartsNextRightAway() throws IOException {
+        ExceptionalSupplier<String, IOException> supplier = Exceptions.hedged(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("Failed.");
+            }
+            return "Done.";
+        }, Duration.ofSeconds(10), 2);
+
+        long start = System.nanoTime();
+        assertThat(supplier.get(), is(equalTo("Done.")));
+        assertThat(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), is(true));
+    }
+
+    @Test
+    public void hedged_allAttemptsFail() {
+        IOException first = new IOException("First.");
+        IOException second = new IOException("Second.");
+        IOException[] failures = {first, second};
+        ExceptionalSupplier<String, IOException> supplier = Exceptions.hedged(() -> {
+            throw failures[attempts.getAndIncrement()];
+        }, Duration.ofMillis(1), 2);
+
+        try {
+            supplier.get();
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e.getSuppressed().length, is(1));
+            assertThat(Arrays.asList(e, e.getSuppressed()[0]), containsInAnyOrder(first, second));
+        }
+        assertThat(attempts.get(), is(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withTimeout_invalid() {
+        Exceptions.withTimeout(() -> "Never.", Duration.ZERO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hedged_invalid() {
+        Exceptions.hedged(() -> "Never.", Duration.ZERO, 0);
+    }
+
+    private String read(String value) throws IOException {
+        attempts.incrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,128 @@
+package com.impressiveinteractive.synapse.exception;
+
+import com.impressiveinteractive.synapse.exception.runtime.RuntimeTimeoutException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedIOException;
+import com.impressiveinteractive.synapse.exception.wrapped.WrappedNoSuchMethodException;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class UncheckedWrappersTest {
+
+    @Test
+    public void wrap_registeredType() {
+        IOException cause = new IOException("Failed.");
+
+        RuntimeException wrapped = UncheckedWrappers.wrap(cause);
+
+        assertThat(wrapped.getClass(), is(equalTo(WrappedIOException.class)));
+        assertThat(wrapped.getCause(), is(sameInstance(cause)));
+    }
+
+    @Test
+    public void wrap_closestRegisteredSuperclass() {
+        assertThat(UncheckedWrappers.wrap(new FileNotFoundException()).getClass(),
+                is(equalTo(WrappedIOException.class)));
+        assertThat(UncheckedWrappers.wrap(new NoSuchMethodException()).getClass(),
+                is(equalTo(WrappedNoSuchMethodException.class)));
+    }
+
+    @Test
+    public void wrap_unregisteredType() {
+        assertThat(UncheckedWrappers.wrap(new Exception()).getClass(), is(equalTo(WrappedException.class)));
+        assertThat(UncheckedWrappers.wrap(new CloneNotSupportedException()).getClass(),
+                is(equalTo(WrappedException.class)));
+    }
+
+    @Test
+    public void wrap_runtimeType() {
+        IllegalStateException unchecked = new IllegalStateException();
+
+        assertThat(UncheckedWrappers.wrap(unchecked), is(sameInstance(unchecked)));
+    }
+
+    @Test
+    public void wrap_timeout() {
+        RuntimeException wrapped = UncheckedWrappers.wrap(new TimeoutException("Too late."));
+
+        assertThat(wrapped.getClass(), is(equalTo(RuntimeTimeoutException.class)));
+        assertThat(wrapped.getMessage(), is(equalTo("Too late.")));
+    }
+
+    @Test
+    public void wrap_provider() {
+        ParseException cause = new ParseException("Unparseable.", 3);
+
+        RuntimeException wrapped = UncheckedWrappers.wrap(cause);
+
+        assertThat(wrapped.getClass(), is(equalTo(IllegalArgumentException.class)));
+        assertThat(wrapped.getMessage(), is(equalTo("Unparseable. at 3")));
+        assertThat(wrapped.getCause(), is(sameInstance(cause)));
+    }
+
+    @Test
+    public void unchecked() {
+        Function<String, String> function = Exceptions.unchecked(this::transform);
+
+        assertThat(Stream.of("Apple", "Orange").map(function).collect(Collectors.toList()),
+                contains("APPLE", "ORANGE"));
+        try {
+            function.apply("");
+            fail("Expected WrappedIOException.");
+        } catch (WrappedIOException e) {
+            assertThat(e.getCause().getClass(), is(equalTo(FileNotFoundException.class)));
+        }
+    }
+
+    private String transform(String value) throws IOException {
+        if (value.isEmpty()) {
+            throw new FileNotFoundException("Empty.");
+        }
+        return value.toUpperCase();
+    }
+
+    @Test
+    public void wrap_skipsBrokenProviders() {
+        // MissingProvider does not exist and FailingProvider throws after registering CloneNotSupportedException.
+        assertThat(UncheckedWrappers.wrap(new CloneNotSupportedException()).getClass(),
+                is(equalTo(WrappedException.class)));
+        assertThat(UncheckedWrappers.wrap(new ParseException("Unparseable.", 3)).getClass(),
+                is(equalTo(IllegalArgumentException.class)));
+    }
+
+    /**
+     * Registered in {@code META-INF/services}, after a missing provider and a failing one.
+     */
+    public static class ParseExceptionProvider implements UncheckedWrappers.Provider {
+        @Override
+        public void registerWrappers(UncheckedWrappers.Registry registry) {
+            registry.register(ParseException.class,
+                    e -> new IllegalArgumentException(e.getMessage() + " at " + e.getErrorOffset(), e));
+        }
+    }
+
+    /**
+     * Registered in {@code META-INF/services}. Fails after registering a wrapper, which must not be kept.
+     */
+    public static class FailingProvider implements UncheckedWrappers.Provider {
+        @Override
+        public void registerWrappers(UncheckedWrappers.Registry registry) {
+            registry.register(CloneNotSupportedException.class, IllegalStateException::new);
+            throw new IllegalStateException("Broken provider.");
+        }
+    }
+}
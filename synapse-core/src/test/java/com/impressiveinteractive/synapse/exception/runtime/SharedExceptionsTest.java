@@ -0,0 +1,64 @@
+package com.impressiveinteractive.synapse.exception.runtime;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SharedExceptionsTest {
+
+    @Test
+    public void of_sharedInstance() {
+        RuntimeNoSuchMethodException shared = SharedExceptions.of(RuntimeNoSuchMethodException.class, "No match.");
+
+        assertThat(SharedExceptions.of(RuntimeNoSuchMethodException.class, "No match."), is(sameInstance(shared)));
+        assertThat(SharedExceptions.of(RuntimeNoSuchMethodException.class, "Other."), is(not(sameInstance(shared))));
+        assertThat(shared.getMessage(), is(equalTo("No match.")));
+        assertThat(shared.getCause(), is(nullValue()));
+    }
+
+    @Test
+    public void of_immutable() {
+        RuntimeIOException shared = SharedExceptions.of(RuntimeIOException.class, "Immutable.");
+
+        shared.addSuppressed(new IllegalStateException());
+        shared.setStackTrace(new Throwable().getStackTrace());
+
+        assertThat(shared.getStackTrace(), is(arrayWithSize(0)));
+        assertThat(shared.getSuppressed(), is(arrayWithSize(0)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void of_causeCannotBeInitialized() {
+        SharedExceptions.of(RuntimeIOException.class, "Immutable.").initCause(new IllegalStateException());
+    }
+
+    @Test
+    public void of_allTypesInPackage() {
+        assertThat(SharedExceptions.of(RuntimeClassNotFoundException.class, "Test.").getMessage(), is("Test."));
+        assertThat(SharedExceptions.of(RuntimeIllegalAccessException.class, "Test.").getMessage(), is("Test."));
+        assertThat(SharedExceptions.of(RuntimeInstantiationException.class, "Test.").getMessage(), is("Test."));
+        assertThat(SharedExceptions.of(RuntimeInvocationTargetException.class, "Test.").getMessage(), is("Test."));
+        assertThat(SharedExceptions.of(RuntimeNoSuchFieldException.class, "Test.").getMessage(), is("Test."));
+        assertThat(SharedExceptions.of(RuntimeReflectiveOperationException.class, "Test.").getMessage(), is("Test."));
+        assertThat(SharedExceptions.of(RuntimeTimeoutException.class, "Test.").getMessage(), is("Test."));
+    }
+
+    @Test
+    public void of_boundedCache() {
+        for (int i = 0; i < SharedExceptions.MAX_CACHED_MESSAGES * 2; i++) {
+            assertThat(SharedExceptions.of(RuntimeIOException.class, "Overflow " + i).getMessage(),
+                    is("Overflow " + i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_unsupportedType() {
+        SharedExceptions.of(IllegalStateException.class, "Not supported.");
+    }
+}
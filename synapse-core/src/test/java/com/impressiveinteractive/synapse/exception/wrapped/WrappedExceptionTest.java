@@ -0,0 +1,90 @@
+package com.impressiveinteractive.synapse.exception.wrapped;
+
+import com.impressiveinteractive.synapse.exception.Exceptions;
+import com.impressiveinteractive.synapse.exception.LazyMessage;
+import com.impressiveinteractive.synapse.exception.runtime.RuntimeIOException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class WrappedExceptionTest {
+
+    private final IOException original = new IOException("Disk on fire.");
+
+    @Test
+    public void wrappedException_flattensWrappedException() throws NoSuchMethodException {
+        WrappedException wrapped = new WrappedException(new WrappedException(new WrappedIOException(original)));
+
+        assertThat(wrapped.getCause(), is(sameInstance(original)));
+        assertThat(wrapped.getMessage(), is(equalTo(original.toString())));
+        assertThat(WrappedException.lazy(LazyMessage.of("Nested."), wrapped).getCause(), is(sameInstance(original)));
+        assertThat(Modifier.isSynchronized(WrappedException.class.getMethod("getCause").getModifiers()), is(false));
+        assertThat(Modifier.isSynchronized(WrappedIOException.class.getMethod("getCause").getModifiers()), is(false));
+    }
+
+    @Test
+    public void unwrap_throwsOriginal() {
+        try {
+            new WrappedException(new WrappedIOException(original)).unwrap();
+            fail("Expected IOException.");
+        } catch (Exception e) {
+            assertThat(e, is(sameInstance(original)));
+        }
+    }
+
+    @Test
+    public void originalOf() {
+        assertThat(WrappedException.originalOf(new WrappedIOException(original)), is(sameInstance(original)));
+        assertThat(WrappedException.originalOf(original), is(sameInstance(original)));
+        assertThat(WrappedException.originalOf(null), is(nullValue()));
+    }
+
+    @Test
+    public void runtimeException_flattensWrappedException() {
+        WrappedIOException wrapped = new WrappedIOException(original);
+
+        assertThat(new RuntimeIOException(wrapped).getCause(), is(sameInstance(original)));
+        assertThat(new RuntimeIOException("Failed.", wrapped).getCause(), is(sameInstance(original)));
+        assertThat(RuntimeIOException.lazy(LazyMessage.of("Failed."), wrapped).getCause(), is(sameInstance(original)));
+    }
+
+    @Test
+    public void nestedWrappers_wrapOnce() {
+        Function<String, String> inner = Exceptions.wrapExceptionalFunction(this::read, WrappedIOException::new);
+        Function<String, String> outer = Exceptions.wrapExceptionalFunction(inner::apply, RuntimeIOException::new);
+
+        try {
+            outer.apply("value");
+            fail("Expected WrappedIOException.");
+        } catch (WrappedIOException e) {
+            assertThat(e.getCause(), is(sameInstance(original)));
+        }
+    }
+
+    @Test
+    public void join_unwrapsWrappedException() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(new WrappedIOException(original));
+
+        try {
+            Exceptions.join(future, IOException.class);
+            fail("Expected IOException.");
+        } catch (IOException e) {
+            assertThat(e, is(sameInstance(original)));
+        }
+    }
+
+    private String read(String value) throws IOException {
+        throw original;
+    }
+}
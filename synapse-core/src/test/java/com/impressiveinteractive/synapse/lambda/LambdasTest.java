@@ -2,11 +2,21 @@ package com.impressiveinteractive.synapse.lambda;
 
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.SerializedLambda;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class LambdasTest {
@@ -35,6 +45,59 @@ public class LambdasTest {
         assertThat(types.get(1), is(equalTo(int.class)));
     }
 
+    @Test
+    public void serialized_nonCapturingIsShared() {
+        SerializableFunction<Integer, String> function = Lambdas.serializable(LambdasTest::describe);
+
+        SerializedLambda serialized = function.serialized();
+
+        assertThat(serialized.getImplMethodName(), is("describe"));
+        assertThat(serialized.getCapturedArgCount(), is(0));
+        assertThat(function.serialized(), is(sameInstance(serialized)));
+    }
+
+    @Test
+    public void serialized_capturingIsPerInstance() {
+        SerializableFunction<Integer, String> first = capturing("first");
+        SerializableFunction<Integer, String> second = capturing("second");
+
+        assertThat(first.getClass(), is(equalTo(second.getClass())));
+        assertThat(first.serialized(), is(not(sameInstance(first.serialized()))));
+        assertThat(first.serialized().getCapturedArg(0), is("first"));
+        assertThat(second.serialized().getCapturedArg(0), is("second"));
+        assertThat(second.getResultClass(), is(equalTo(String.class)));
+    }
+
+    @Test
+    public void getRawTypes_serializableLambda() {
+        SerializableBiConsumer<String, Integer> biConsumer = this::consume;
+
+        assertThat(Lambdas.getRawParameterTypes(biConsumer), is(equalTo(Arrays.asList(String.class, int.class))));
+        assertThat(Lambdas.getRawParameterType(biConsumer, 1), is(equalTo(int.class)));
+        assertThat(Lambdas.getRawReturnType(biConsumer), is(equalTo(void.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getRawTypes_resolvedWithClassLoaderOfLambda() throws Exception {
+        ClassLoader pluginLoader = new IsolatingClassLoader(getClass().getClassLoader(),
+                Plugin.class.getName(), PluginType.class.getName());
+        Class<?> pluginType = pluginLoader.loadClass(PluginType.class.getName());
+        SerializableFunction<?, ?> function = ((Supplier<SerializableFunction<?, ?>>) pluginLoader
+                .loadClass(Plugin.class.getName()).newInstance()).get();
+
+        assertThat(pluginType, is(not(equalTo(PluginType.class))));
+        assertThat(Lambdas.getRawReturnType(function), is(equalTo(pluginType)));
+        assertThat(function.getInputClass(), is(equalTo(pluginType)));
+        assertThat(function.getResultClass(), is(equalTo(pluginType)));
+        assertThat(Lambdas.getRawReturnType(function.serialized()), is(equalTo(PluginType.class)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void serialized_notALambda() {
+        new NotALambda().serialized();
+    }
+
     public void consumer(String consumable) {
         // noop
     }
@@ -51,7 +114,76 @@ public class LambdasTest {
         // noop
     }
 
+    private static String describe(Integer value) {
+        return "value " + value;
+    }
+
+    private static SerializableFunction<Integer, String> capturing(String prefix) {
+        return Lambdas.serializable((Integer i) -> prefix + i);
+    }
+
     private interface SerializableBiConsumer<T, U> extends BiConsumer<T, U>, SerializableLambda {
 
     }
-}
\ No newline at end of file
+
+    private static final class NotALambda implements SerializableLambda {
+
+    }
+
+    public static class Plugin implements Supplier<SerializableFunction<PluginType, PluginType>> {
+        @Override
+        public SerializableFunction<PluginType, PluginType> get() {
+            return Lambdas.serializableFunction(PluginType::identity);
+        }
+    }
+
+    public static class PluginType {
+        public static PluginType identity(PluginType type) {
+            return type;
+        }
+    }
+
+    /**
+     * Loads the given classes itself instead of delegating to its parent, like a plugin class loader would.
+     */
+    private static final class IsolatingClassLoader extends ClassLoader {
+        private final Set<String> isolated;
+
+        private IsolatingClassLoader(ClassLoader parent, String... isolated) {
+            super(parent);
+            this.isolated = new HashSet<>(Arrays.asList(isolated));
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!isolated.contains(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    byte[] bytes = readClass(name);
+                    loaded = defineClass(name, bytes, 0, bytes.length);
+                }
+                return loaded;
+            }
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (in == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.impressiveinteractive.synapse.lambda;
+
+import org.junit.Test;
+
+import java.lang.invoke.MethodType;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MethodTypesTest {
+
+    @Test
+    public void resolve() {
+        assertThat(MethodTypes.resolve("(Ljava/lang/String;I)J", Resolve.class),
+                is(equalTo(MethodType.methodType(long.class, String.class, int.class))));
+    }
+
+    @Test
+    public void resolve_cached() {
+        assertThat(MethodTypes.isCached("(Ljava/lang/String;I)J", Cached.class), is(false));
+
+        MethodTypes.resolve("(Ljava/lang/String;I)J", Cached.class);
+
+        assertThat(MethodTypes.isCached("(Ljava/lang/String;I)J", Cached.class), is(true));
+        assertThat(MethodTypes.cachedCount(Cached.class), is(1));
+    }
+
+    @Test
+    public void resolve_bootstrapClassLoader() {
+        assertThat(MethodTypes.resolve("()Ljava/lang/Object;", String.class),
+                is(equalTo(MethodType.methodType(Object.class))));
+    }
+
+    @Test
+    public void resolve_applicationType() {
+        assertThat(MethodTypes.resolve("()Lcom/impressiveinteractive/synapse/lambda/MethodTypesTest;",
+                Resolve.class).returnType(), is(equalTo(MethodTypesTest.class)));
+    }
+
+    @Test(expected = TypeNotPresentException.class)
+    public void resolve_unknownType() {
+        MethodTypes.resolve("()Lcom/impressiveinteractive/DoesNotExist;", Resolve.class);
+    }
+
+    @Test
+    public void resolve_unknownTypeNotCached() {
+        try {
+            MethodTypes.resolve("()Lcom/impressiveinteractive/DoesNotExist;", Unknown.class);
+            fail("Expected TypeNotPresentException.");
+        } catch (TypeNotPresentException e) {
+            assertThat(MethodTypes.cachedCount(Unknown.class), is(0));
+        }
+    }
+
+    @Test
+    public void resolve_evictsLeastRecentlyUsed() {
+        for (int i = 0; i < MethodTypes.MAX_DESCRIPTORS_PER_CLASS; i++) {
+            MethodTypes.resolve(descriptor(i), Bounded.class);
+        }
+        MethodTypes.resolve(descriptor(0), Bounded.class);
+
+        MethodTypes.resolve(descriptor(MethodTypes.MAX_DESCRIPTORS_PER_CLASS), Bounded.class);
+
+        assertThat(MethodTypes.cachedCount(Bounded.class), is(MethodTypes.MAX_DESCRIPTORS_PER_CLASS));
+        assertThat(MethodTypes.isCached(descriptor(0), Bounded.class), is(true));
+        assertThat(MethodTypes.isCached(descriptor(1), Bounded.class), is(false));
+        assertThat(MethodTypes.isCached(descriptor(MethodTypes.MAX_DESCRIPTORS_PER_CLASS), Bounded.class), is(true));
+    }
+
+    private static String descriptor(int i) {
+        // Every binary representation of i gives a unique descriptor, like (JIJ)V for 5.
+        return "(" + Integer.toBinaryString(i).replace('0', 'I').replace('1', 'J') + ")V";
+    }
+
+    // Separate context classes, so the tests do not share cached descriptors.
+    private static final class Resolve {
+    }
+
+    private static final class Cached {
+    }
+
+    private static final class Unknown {
+    }
+
+    private static final class Bounded {
+    }
+}